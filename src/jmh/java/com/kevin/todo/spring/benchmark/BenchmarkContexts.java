@@ -0,0 +1,55 @@
+package com.kevin.todo.spring.benchmark;
+
+import com.kevin.todo.spring.Application;
+import com.kevin.todo.spring.todolist.model.TodoItemDao;
+import com.kevin.todo.spring.todolist.model.TodoItemModel;
+import com.kevin.todo.spring.todolist.service.TodoListService;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+
+public interface BenchmarkContexts {
+
+    int INSERT_SLICE_SIZE = 10_000;
+
+    static ConfigurableApplicationContext start(String databaseName, String... properties) {
+        return new SpringApplicationBuilder(Application.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:" + databaseName + ";DB_CLOSE_DELAY=-1",
+                        "spring.main.banner-mode=off",
+                        "logging.level.root=WARN")
+                .properties(properties)
+                .run();
+    }
+
+    static ConfigurableApplicationContext startWeb(String databaseName, String... properties) {
+        return new SpringApplicationBuilder(Application.class)
+                .web(WebApplicationType.SERVLET)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:" + databaseName + ";DB_CLOSE_DELAY=-1",
+                        "server.port=0",
+                        "spring.main.banner-mode=off",
+                        "logging.level.root=WARN")
+                .properties(properties)
+                .run();
+    }
+
+    static String baseUrl(ConfigurableApplicationContext context) {
+        return "http://localhost:" + context.getEnvironment().getProperty("local.server.port") + "/todos/";
+    }
+
+    static void insertTodos(TodoListService service, int rowCount) {
+        for (var inserted = 0; inserted < rowCount; inserted += INSERT_SLICE_SIZE) {
+            final var sliceSize = Math.min(INSERT_SLICE_SIZE, rowCount - inserted);
+            final var todos = new ArrayList<TodoItemModel>(sliceSize);
+            for (var index = 0; index < sliceSize; index++) {
+                final var order = inserted + index;
+                todos.add(new TodoItemModel("Benchmark task " + order, order % 3 == 0, order));
+            }
+            service.addTodos(TodoItemDao.DEFAULT_LIST_ID, todos);
+        }
+    }
+}
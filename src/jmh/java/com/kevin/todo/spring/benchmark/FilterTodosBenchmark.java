@@ -0,0 +1,69 @@
+package com.kevin.todo.spring.benchmark;
+
+import com.kevin.todo.spring.todolist.model.TodoItemBatchUpdateModel;
+import com.kevin.todo.spring.todolist.model.TodoItemDao;
+import com.kevin.todo.spring.todolist.service.TodoListService;
+import com.kevin.todo.spring.todolist.view.TodoItemView;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class FilterTodosBenchmark {
+
+    private static final int COMPLETED_EVERY = 10_000;
+    private static final Sort BY_ORDER = Sort.by("order");
+
+    @Param({"1000000"})
+    private int rowCount;
+
+    private ConfigurableApplicationContext context;
+    private TodoListService service;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContexts.start("filterTodos" + rowCount);
+        service = context.getBean(TodoListService.class);
+        BenchmarkContexts.insertTodos(service, rowCount);
+        completeEveryNthTodo();
+    }
+
+    private void completeEveryNthTodo() {
+        final var updates = new ArrayList<TodoItemBatchUpdateModel>();
+        service.streamAllTodos(TodoItemDao.DEFAULT_LIST_ID, todo -> {
+            if (todo.getOrder() % COMPLETED_EVERY == 0) {
+                updates.add(new TodoItemBatchUpdateModel(todo.getId(), null, true, null));
+            }
+        });
+        service.updateTodos(TodoItemDao.DEFAULT_LIST_ID, updates);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<TodoItemView> completedSortedByOrder() {
+        return service.retrieveTodos(TodoItemDao.DEFAULT_LIST_ID, true, null, BY_ORDER);
+    }
+
+    @Benchmark
+    public List<TodoItemView> titlePrefix() {
+        return service.retrieveTodos(TodoItemDao.DEFAULT_LIST_ID, null, "Benchmark task 54321", BY_ORDER);
+    }
+
+    @Benchmark
+    public List<TodoItemView> completedWithTitlePrefix() {
+        return service.retrieveTodos(TodoItemDao.DEFAULT_LIST_ID, false, "Benchmark task 12345", BY_ORDER);
+    }
+}
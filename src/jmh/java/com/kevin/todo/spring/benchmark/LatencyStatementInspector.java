@@ -0,0 +1,19 @@
+package com.kevin.todo.spring.benchmark;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.concurrent.locks.LockSupport;
+
+public class LatencyStatementInspector implements StatementInspector {
+
+    public static final String LATENCY_MICROS_PROPERTY = "todos.benchmark.statement-latency-micros";
+    private static final long LATENCY_NANOS = Long.getLong(LATENCY_MICROS_PROPERTY, 0L) * 1000L;
+
+    @Override
+    public String inspect(String sql) {
+        if (LATENCY_NANOS > 0) {
+            LockSupport.parkNanos(LATENCY_NANOS);
+        }
+        return sql;
+    }
+}
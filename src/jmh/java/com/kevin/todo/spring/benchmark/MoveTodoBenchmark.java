@@ -0,0 +1,69 @@
+package com.kevin.todo.spring.benchmark;
+
+import com.kevin.todo.spring.todolist.model.TodoItemBatchUpdateModel;
+import com.kevin.todo.spring.todolist.model.TodoItemDao;
+import com.kevin.todo.spring.todolist.model.TodoMoveModel;
+import com.kevin.todo.spring.todolist.service.TodoListService;
+import com.kevin.todo.spring.todolist.service.TodoOrderRebalancer;
+import com.kevin.todo.spring.todolist.view.TodoBatchResultView;
+import com.kevin.todo.spring.todolist.view.TodoItemView;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MoveTodoBenchmark {
+
+    private static final int ANCHOR_STRIDE = 7_919;
+
+    @Param({"10000", "100000"})
+    private int listSize;
+
+    private ConfigurableApplicationContext context;
+    private TodoListService service;
+    private int[] todoIds;
+    private int movingTodoId;
+    private int anchorIndex;
+    private int renumberOffset;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContexts.start("move" + listSize);
+        service = context.getBean(TodoListService.class);
+        BenchmarkContexts.insertTodos(service, listSize);
+        context.getBean(TodoOrderRebalancer.class).rebalance(TodoItemDao.DEFAULT_LIST_ID);
+        todoIds = service.retrieveAllTodos(TodoItemDao.DEFAULT_LIST_ID).stream().mapToInt(TodoItemView::getId).toArray();
+        movingTodoId = todoIds[0];
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public TodoItemView moveTodo() {
+        anchorIndex = (anchorIndex + ANCHOR_STRIDE) % todoIds.length;
+        final var anchorId = todoIds[anchorIndex] == movingTodoId ? todoIds[(anchorIndex + 1) % todoIds.length] : todoIds[anchorIndex];
+        return service.moveTodo(TodoItemDao.DEFAULT_LIST_ID, movingTodoId, new TodoMoveModel(null, anchorId), null);
+    }
+
+    @Benchmark
+    public List<TodoBatchResultView> renumberTodos() {
+        renumberOffset = renumberOffset == 0 ? 1 : 0;
+        final var renumbered = todoIds.length / 2;
+        final var updates = new ArrayList<TodoItemBatchUpdateModel>(renumbered);
+        for (var index = 0; index < renumbered; index++) {
+            updates.add(new TodoItemBatchUpdateModel(todoIds[index], null, null, 2 * index + renumberOffset));
+        }
+        return service.updateTodos(TodoItemDao.DEFAULT_LIST_ID, updates);
+    }
+}
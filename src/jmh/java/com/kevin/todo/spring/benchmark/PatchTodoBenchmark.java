@@ -0,0 +1,64 @@
+package com.kevin.todo.spring.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kevin.todo.spring.todolist.model.TodoItemDao;
+import com.kevin.todo.spring.todolist.model.TodoItemModel;
+import com.kevin.todo.spring.todolist.service.TodoListService;
+import com.kevin.todo.spring.todolist.view.TodoItemView;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PatchTodoBenchmark {
+
+    private static final String[] OPERATIONS = {
+            "{\"op\":\"replace\",\"path\":\"/title\",\"value\":\"Patched task\"}",
+            "{\"op\":\"replace\",\"path\":\"/completed\",\"value\":true}",
+            "{\"op\":\"replace\",\"path\":\"/orders\",\"value\":101}"
+    };
+
+    @Param({"1", "4", "16"})
+    private int operationCount;
+
+    private ConfigurableApplicationContext context;
+    private TodoListService service;
+    private JsonNode patch;
+    private int todoId;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        context = BenchmarkContexts.start("patch" + operationCount);
+        service = context.getBean(TodoListService.class);
+        todoId = service.addTodo(TodoItemDao.DEFAULT_LIST_ID, new TodoItemModel("Benchmark task", false, 1)).getId();
+        patch = context.getBean(ObjectMapper.class).readTree(patchOf(operationCount));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public TodoItemView patchOneFieldOfTodo() throws Exception {
+        return service.patchOneFieldOfTodo(TodoItemDao.DEFAULT_LIST_ID, todoId, patch, null);
+    }
+
+    private static String patchOf(int operationCount) {
+        final var operations = new StringBuilder("[");
+        for (var index = 0; index < operationCount; index++) {
+            if (index > 0) {
+                operations.append(',');
+            }
+            operations.append(OPERATIONS[index % OPERATIONS.length]);
+        }
+        return operations.append(']').toString();
+    }
+}
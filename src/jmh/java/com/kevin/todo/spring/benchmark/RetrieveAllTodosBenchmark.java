@@ -0,0 +1,42 @@
+package com.kevin.todo.spring.benchmark;
+
+import com.kevin.todo.spring.todolist.model.TodoItemDao;
+import com.kevin.todo.spring.todolist.service.TodoListService;
+import com.kevin.todo.spring.todolist.view.TodoItemView;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class RetrieveAllTodosBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    private int rowCount;
+
+    private ConfigurableApplicationContext context;
+    private TodoListService service;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContexts.start("retrieveAll" + rowCount);
+        service = context.getBean(TodoListService.class);
+        BenchmarkContexts.insertTodos(service, rowCount);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<TodoItemView> retrieveAllTodos() {
+        return service.retrieveAllTodos(TodoItemDao.DEFAULT_LIST_ID);
+    }
+}
@@ -0,0 +1,39 @@
+package com.kevin.todo.spring.benchmark;
+
+import com.kevin.todo.spring.todolist.model.TodoItemDao;
+import com.kevin.todo.spring.todolist.model.TodoItemModel;
+import com.kevin.todo.spring.todolist.utils.TodoHandler;
+import com.kevin.todo.spring.todolist.view.TodoItemView;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TodoHandlerBenchmark {
+
+    private static final String URL = "http://localhost:8080/todos/42";
+
+    private TodoItemDao todoItemDao;
+    private TodoItemModel todoItemModel;
+
+    @Setup
+    public void setUp() {
+        todoItemDao = new TodoItemDao(42, "Benchmark task", false, 7);
+        todoItemModel = new TodoItemModel("Benchmark task", false, 7);
+    }
+
+    @Benchmark
+    public TodoItemView renderViewFromTodoDao() {
+        return TodoHandler.renderViewFromTodoDao(todoItemDao, URL);
+    }
+
+    @Benchmark
+    public TodoItemDao getTodoDaoFromTodoModel() {
+        return TodoHandler.getTodoDaoFromTodoModel(TodoItemDao.DEFAULT_LIST_ID, todoItemModel);
+    }
+}
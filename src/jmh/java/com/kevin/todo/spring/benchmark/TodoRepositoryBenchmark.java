@@ -0,0 +1,104 @@
+package com.kevin.todo.spring.benchmark;
+
+import com.kevin.todo.spring.todolist.model.TodoItemDao;
+import com.kevin.todo.spring.todolist.repository.TodoRepository;
+import com.kevin.todo.spring.todolist.service.TodoListService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class TodoRepositoryBenchmark {
+
+    private static final Sort BY_ORDERS = Sort.by("orders");
+    private static final int PAGE_SIZE = 50;
+    private static final int COMPLETED_EVERY = 100;
+    private static final String SNAPSHOT_FILE = "todos.memory.snapshot-file";
+    private static final String SNAPSHOT_INTERVAL = "todos.memory.snapshot-interval";
+
+    @Param({"jpa", "memory"})
+    private String backend;
+
+    @Param({"100000"})
+    private int rowCount;
+
+    private ConfigurableApplicationContext context;
+    private TodoRepository repository;
+    private TransactionTemplate transactionTemplate;
+    private Path snapshotFile;
+    private int firstId;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        snapshotFile = Files.createTempFile("todos-benchmark", ".snapshot");
+        Files.delete(snapshotFile);
+        System.setProperty(SNAPSHOT_FILE, snapshotFile.toString());
+        System.setProperty(SNAPSHOT_INTERVAL, "0s");
+        context = BenchmarkContexts.start("repository" + rowCount,
+                "spring.profiles.active=" + ("memory".equals(backend) ? "memory" : "default"));
+        repository = context.getBean(TodoRepository.class);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        BenchmarkContexts.insertTodos(context.getBean(TodoListService.class), rowCount);
+        firstId = repository.findByListIdAndIdGreaterThanOrderByIdAsc(TodoItemDao.DEFAULT_LIST_ID, 0, PageRequest.of(0, 1)).get(0).getId();
+        transactionTemplate.executeWithoutResult(status -> {
+            for (var offset = 0; offset < rowCount; offset += COMPLETED_EVERY) {
+                repository.updateAllFieldsByListIdAndIdAndCompleted(TodoItemDao.DEFAULT_LIST_ID, firstId + offset, offset % 3 == 0, "Benchmark task " + offset, true, offset);
+            }
+        });
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        context.close();
+        Files.deleteIfExists(snapshotFile);
+        System.clearProperty(SNAPSHOT_FILE);
+        System.clearProperty(SNAPSHOT_INTERVAL);
+    }
+
+    @Benchmark
+    public Optional<TodoItemDao> findById() {
+        return repository.findByListIdAndId(TodoItemDao.DEFAULT_LIST_ID, randomId());
+    }
+
+    @Benchmark
+    public List<TodoItemDao> findCompletedSortedByOrders() {
+        return repository.findByListIdAndCompleted(TodoItemDao.DEFAULT_LIST_ID, true, BY_ORDERS);
+    }
+
+    @Benchmark
+    public List<TodoItemDao> findPageAfterId() {
+        return repository.findByListIdAndIdGreaterThanOrderByIdAsc(TodoItemDao.DEFAULT_LIST_ID, randomId(), PageRequest.of(0, PAGE_SIZE));
+    }
+
+    @Benchmark
+    public Optional<TodoItemDao> updateAllFieldsById() {
+        final var todoId = randomId();
+        final var completed = isCompleted(todoId - firstId);
+        return transactionTemplate.execute(status -> repository.updateAllFieldsByListIdAndIdAndCompleted(TodoItemDao.DEFAULT_LIST_ID, todoId, completed,
+                "Benchmark task " + todoId, completed, todoId));
+    }
+
+    private static boolean isCompleted(int order) {
+        return order % 3 == 0 || order % COMPLETED_EVERY == 0;
+    }
+
+    private int randomId() {
+        return firstId + ThreadLocalRandom.current().nextInt(rowCount);
+    }
+}
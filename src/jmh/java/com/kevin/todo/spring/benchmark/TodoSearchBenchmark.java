@@ -0,0 +1,87 @@
+package com.kevin.todo.spring.benchmark;
+
+import com.kevin.todo.spring.todolist.service.TodoSearchIndex;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class TodoSearchBenchmark {
+
+    private static final int VOCABULARY_SIZE = 20_000;
+    private static final int PAGE_SIZE = 20;
+    private static final String COMMON_WORD = "word0";
+    private static final String RARE_WORD = "word19999";
+
+    @Param({"1000000"})
+    private int todoCount;
+
+    private TodoSearchIndex index;
+    private String[] titles;
+    private int nextTodoId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        final var random = new SplittableRandom(42);
+        titles = new String[todoCount];
+        index = new TodoSearchIndex();
+        for (var todoId = 0; todoId < todoCount; todoId++) {
+            final var title = new StringBuilder();
+            final var words = 3 + random.nextInt(6);
+            for (var word = 0; word < words; word++) {
+                final var skewed = random.nextDouble();
+                title.append(word == 0 ? "" : " ").append("word").append((int) (skewed * skewed * skewed * VOCABULARY_SIZE));
+            }
+            titles[todoId] = title.toString();
+            index.index(todoId + 1, titles[todoId]);
+        }
+        nextTodoId = todoCount + 1;
+    }
+
+    @Benchmark
+    public List<Integer> searchCommonWord() {
+        return index.search(COMMON_WORD, 0, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<Integer> searchRareWord() {
+        return index.search(RARE_WORD, 0, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<Integer> searchTwoWords() {
+        return index.search("word1 word100", 0, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<Integer> searchThirdPage() {
+        return index.search("word50", 2 * PAGE_SIZE, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<Integer> scanTitlesForRareWord() {
+        final var matches = new ArrayList<Integer>();
+        for (var position = 0; position < titles.length && matches.size() < PAGE_SIZE; position++) {
+            if (TodoSearchIndex.tokenize(titles[position]).contains(RARE_WORD)) {
+                matches.add(position + 1);
+            }
+        }
+        return matches;
+    }
+
+    @Benchmark
+    public int indexAndRemoveTodo() {
+        final var todoId = nextTodoId++;
+        index.index(todoId, titles[todoId % todoCount]);
+        index.remove(todoId);
+        return todoId;
+    }
+}
@@ -0,0 +1,73 @@
+package com.kevin.todo.spring.benchmark;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.kevin.todo.spring.todolist.view.TodoItemView;
+import com.kevin.todo.spring.todolist.view.TodoListView;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TodoSerializationBenchmark {
+
+    private static final String URL_PREFIX = "http://localhost:8080/todos/";
+
+    @Param({"10", "1000", "100000"})
+    private int viewCount;
+
+    private ObjectMapper objectMapper;
+    private ObjectMapper reflectiveObjectMapper;
+    private OutputStream responseBody;
+    private List<TodoItemView> views;
+    private List<TodoItemView> serviceViews;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().featuresToDisable(JsonGenerator.Feature.AUTO_CLOSE_TARGET).build();
+        reflectiveObjectMapper = Jackson2ObjectMapperBuilder.json().featuresToDisable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .mixIn(TodoItemView.class, ReflectiveTodoItemView.class).build();
+        responseBody = OutputStream.nullOutputStream();
+        views = new ArrayList<>(viewCount);
+        serviceViews = new ArrayList<>(viewCount);
+        for (var id = 1; id <= viewCount; id++) {
+            views.add(new TodoItemView(id, "Benchmark task " + id, id % 3 == 0, id, URL_PREFIX + id));
+            serviceViews.add(new TodoItemView(id, "Benchmark task " + id, id % 3 == 0, id, ""));
+        }
+    }
+
+    @Benchmark
+    public byte[] serializeTodoItemViews() throws Exception {
+        return objectMapper.writeValueAsBytes(views);
+    }
+
+    @Benchmark
+    public void serializeReflectiveWithUrlPerView() throws Exception {
+        final var viewsWithUrl = new ArrayList<TodoItemView>(serviceViews.size());
+        for (final var view : serviceViews) {
+            viewsWithUrl.add(new TodoItemView(view.getId(), view.getTitle(), view.isCompleted(), view.getOrder(),
+                    URL_PREFIX + view.getId(), view.getVersion()));
+        }
+        reflectiveObjectMapper.writeValue(responseBody, viewsWithUrl);
+    }
+
+    @Benchmark
+    public void serializeTodoListView() throws Exception {
+        objectMapper.writeValue(responseBody, new TodoListView(serviceViews, URL_PREFIX));
+    }
+
+    @JsonSerialize(using = JsonSerializer.None.class)
+    private interface ReflectiveTodoItemView {
+    }
+}
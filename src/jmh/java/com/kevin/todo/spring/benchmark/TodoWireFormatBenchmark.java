@@ -0,0 +1,90 @@
+package com.kevin.todo.spring.benchmark;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.kevin.todo.spring.todolist.model.TodoItemModel;
+import com.kevin.todo.spring.todolist.view.TodoItemView;
+import com.kevin.todo.spring.todolist.view.TodoListView;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TodoWireFormatBenchmark {
+
+    private static final String URL_PREFIX = "http://localhost:8080/todos/";
+    private static final TypeReference<List<TodoItemModel>> TODO_MODELS = new TypeReference<>() {
+    };
+
+    @Param({"json", "smile", "cbor"})
+    private String format;
+
+    @Param({"10", "1000", "100000"})
+    private int viewCount;
+
+    private ObjectMapper objectMapper;
+    private TodoListView todoListView;
+    private byte[] encodedModels;
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = Jackson2ObjectMapperBuilder.json().factory(factoryOf(format)).build();
+        final var views = new ArrayList<TodoItemView>(viewCount);
+        final var models = new ArrayList<TodoItemModel>(viewCount);
+        for (var id = 1; id <= viewCount; id++) {
+            views.add(new TodoItemView(id, "Benchmark task " + id, id % 3 == 0, id, ""));
+            models.add(new TodoItemModel("Benchmark task " + id, id % 3 == 0, id));
+        }
+        todoListView = new TodoListView(views, URL_PREFIX);
+        encodedModels = objectMapper.writeValueAsBytes(models);
+
+        final var encodedViews = encodeTodoListView();
+        System.out.printf("%s payload for %d todos: %d bytes, %d bytes gzipped%n",
+                format, viewCount, encodedViews.length, gzip(encodedViews).length);
+    }
+
+    @Benchmark
+    public byte[] encodeTodoListView() throws IOException {
+        return objectMapper.writeValueAsBytes(todoListView);
+    }
+
+    @Benchmark
+    public byte[] encodeAndGzipTodoListView() throws IOException {
+        return gzip(objectMapper.writeValueAsBytes(todoListView));
+    }
+
+    @Benchmark
+    public List<TodoItemModel> decodeTodoItemModels() throws IOException {
+        return objectMapper.readValue(encodedModels, TODO_MODELS);
+    }
+
+    private static JsonFactory factoryOf(String format) {
+        return switch (format) {
+            case "smile" -> new SmileFactory();
+            case "cbor" -> new CBORFactory();
+            default -> new JsonFactory();
+        };
+    }
+
+    private static byte[] gzip(byte[] payload) throws IOException {
+        final var compressed = new ByteArrayOutputStream(payload.length / 4 + 64);
+        try (final var output = new GZIPOutputStream(compressed)) {
+            output.write(payload);
+        }
+        return compressed.toByteArray();
+    }
+}
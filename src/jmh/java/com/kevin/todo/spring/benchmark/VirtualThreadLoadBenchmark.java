@@ -0,0 +1,84 @@
+package com.kevin.todo.spring.benchmark;
+
+import com.kevin.todo.spring.todolist.service.TodoListService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx2g", "-D" + LatencyStatementInspector.LATENCY_MICROS_PROPERTY + "=2000"})
+public class VirtualThreadLoadBenchmark {
+
+    private static final int TODO_COUNT = 1_000;
+    private static final int POOL_SIZE = 8;
+    private static final int TOMCAT_THREADS = 64;
+
+    @Param({"false", "true"})
+    private boolean virtualThreads;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private String baseUrl;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContexts.startWeb("load" + virtualThreads,
+                "spring.threads.virtual.enabled=" + virtualThreads,
+                "server.tomcat.threads.max=" + TOMCAT_THREADS,
+                "spring.datasource.hikari.maximum-pool-size=" + POOL_SIZE,
+                "todos.datasource.concurrency-limit=" + POOL_SIZE,
+                "spring.jpa.properties.hibernate.session_factory.statement_inspector=" + LatencyStatementInspector.class.getName());
+        BenchmarkContexts.insertTodos(context.getBean(TodoListService.class), TODO_COUNT);
+        baseUrl = BenchmarkContexts.baseUrl(context);
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        for (var id = 1; id <= TODO_COUNT; id++) {
+            send(HttpRequest.newBuilder(URI.create(baseUrl + id)).GET().build());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(96)
+    public int update() {
+        final var id = ThreadLocalRandom.current().nextInt(1, TODO_COUNT + 1);
+        return send(HttpRequest.newBuilder(URI.create(baseUrl + id))
+                .header("Content-Type", "application/json")
+                .PUT(HttpRequest.BodyPublishers.ofString("{\"title\":\"Load task " + id + "\",\"completed\":true,\"order\":" + id + "}"))
+                .build());
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(32)
+    public int read() {
+        final var id = ThreadLocalRandom.current().nextInt(1, TODO_COUNT + 1);
+        return send(HttpRequest.newBuilder(URI.create(baseUrl + id)).GET().build());
+    }
+
+    private int send(HttpRequest request) {
+        try {
+            return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        } catch (IOException exception) {
+            throw new IllegalStateException(exception);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(exception);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.kevin.todo.spring.todolist.config;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class AdaptiveConcurrencyLimit {
+
+    private static final double LONG_RTT_WINDOW = 600;
+    private static final double RTT_TOLERANCE = 1.5;
+    private static final double MIN_GRADIENT = 0.5;
+    private static final double SMOOTHING = 0.2;
+    private static final double DROP_BACKOFF = 0.9;
+    private static final double LONG_RTT_DRIFT = 2;
+    private static final double LONG_RTT_DECAY = 0.95;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final int minLimit;
+    private final int maxLimit;
+    private volatile double limit;
+    private double longRtt;
+
+    public AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit) {
+        this.minLimit = Math.max(minLimit, 1);
+        this.maxLimit = Math.max(maxLimit, this.minLimit);
+        this.limit = Math.min(Math.max(initialLimit, this.minLimit), this.maxLimit);
+    }
+
+    public boolean tryAcquire() {
+        while (true) {
+            final var current = inFlight.get();
+            if (current >= (int) limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    public void release(long rttNanos, boolean dropped) {
+        final var inFlightAtRelease = inFlight.getAndDecrement();
+        if (rttNanos > 0) {
+            onSample(rttNanos, dropped, inFlightAtRelease);
+        }
+    }
+
+    public void release() {
+        inFlight.decrementAndGet();
+    }
+
+    private synchronized void onSample(long rttNanos, boolean dropped, int inFlightAtRelease) {
+        if (dropped) {
+            limit = Math.max(minLimit, limit * DROP_BACKOFF);
+            return;
+        }
+
+        final double shortRtt = rttNanos;
+        longRtt = longRtt == 0 ? shortRtt : longRtt + (shortRtt - longRtt) / LONG_RTT_WINDOW;
+        if (longRtt / shortRtt > LONG_RTT_DRIFT) {
+            longRtt *= LONG_RTT_DECAY;
+        }
+        final var gradient = Math.max(MIN_GRADIENT, Math.min(1, RTT_TOLERANCE * longRtt / shortRtt));
+        if (gradient == 1 && inFlightAtRelease < limit / 2) {
+            return;
+        }
+
+        final var target = limit * gradient + Math.sqrt(limit);
+        limit = Math.min(maxLimit, Math.max(minLimit, limit * (1 - SMOOTHING) + target * SMOOTHING));
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+}
@@ -0,0 +1,56 @@
+package com.kevin.todo.spring.todolist.config;
+
+import com.kevin.todo.spring.todolist.model.TodoItemDao;
+import com.kevin.todo.spring.todolist.repository.TodoRepository;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+
+@Component
+@ConditionalOnProperty(prefix = "todos.warmup", name = "enabled", havingValue = "true")
+public class DataSourceWarmup implements ApplicationRunner {
+
+    private static final int VALIDATION_TIMEOUT_SECONDS = 1;
+    private final DataSource dataSource;
+    private final TodoRepository repository;
+
+    public DataSourceWarmup(DataSource dataSource, TodoRepository repository) {
+        this.dataSource = dataSource;
+        this.repository = repository;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws SQLException {
+        fillConnectionPool();
+        repository.count();
+        repository.findByListIdAndId(TodoItemDao.DEFAULT_LIST_ID, 0);
+        repository.findByListIdAndIdGreaterThanOrderByIdAsc(TodoItemDao.DEFAULT_LIST_ID, 0, PageRequest.of(0, 1));
+    }
+
+    private void fillConnectionPool() throws SQLException {
+        final var pool = dataSource.isWrapperFor(HikariDataSource.class) ? dataSource.unwrap(HikariDataSource.class) : dataSource;
+        final var connectionCount = pool instanceof HikariDataSource hikariDataSource ? hikariDataSource.getMinimumIdle() : 1;
+        final var connections = new ArrayList<Connection>(connectionCount);
+        try {
+            for (var index = 0; index < connectionCount; index++) {
+                final var connection = pool.getConnection();
+                connections.add(connection);
+                if (!connection.isValid(VALIDATION_TIMEOUT_SECONDS)) {
+                    throw new SQLException("Connection " + index + " of the pool is not valid");
+                }
+            }
+        } finally {
+            for (final var connection : connections) {
+                connection.close();
+            }
+        }
+    }
+}
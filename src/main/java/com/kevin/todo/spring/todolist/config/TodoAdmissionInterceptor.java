@@ -0,0 +1,164 @@
+package com.kevin.todo.spring.todolist.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.kevin.todo.spring.todolist.controller.TodoController;
+import com.kevin.todo.spring.todolist.exceptions.TodoOverloadedException;
+import com.kevin.todo.spring.todolist.exceptions.TodoRateLimitedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@Component
+@Profile("!reactive")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(prefix = "todos.admission", name = "enabled", havingValue = "true")
+public class TodoAdmissionInterceptor implements AsyncHandlerInterceptor {
+
+    public static final String LIMIT_GAUGE = "todos.admission.limit";
+    public static final String IN_FLIGHT_GAUGE = "todos.admission.in.flight";
+    public static final String REJECTED_COUNTER = "todos.admission.rejected";
+    public static final String BUDGET_TAG = "budget";
+    public static final String REASON_TAG = "reason";
+    public static final String RATE_REASON = "rate";
+    public static final String CONCURRENCY_REASON = "concurrency";
+    private static final String DEFAULT_BUDGET = "default";
+    private static final String ADMISSION_ATTRIBUTE = TodoAdmissionInterceptor.class.getName() + ".admission";
+    private static final long OVERLOAD_RETRY_AFTER_SECONDS = 1;
+    private static final long MAX_TRACKED_CLIENTS = 100_000;
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final Budget defaultBudget;
+    private final Map<String, Budget> expensiveBudgets = new HashMap<>();
+    private final Cache<String, TokenBucket> buckets;
+    private final MeterRegistry meterRegistry;
+
+    public TodoAdmissionInterceptor(@Value("${todos.admission.default.rate}") double defaultRate,
+                                    @Value("${todos.admission.default.burst}") int defaultBurst,
+                                    @Value("${todos.admission.default.max-concurrency}") int defaultMaxConcurrency,
+                                    @Value("${todos.admission.expensive.rate}") double expensiveRate,
+                                    @Value("${todos.admission.expensive.burst}") int expensiveBurst,
+                                    @Value("${todos.admission.expensive.max-concurrency}") int expensiveMaxConcurrency,
+                                    @Value("${todos.admission.expensive.handlers}") List<String> expensiveHandlers,
+                                    @Value("${todos.admission.min-concurrency}") int minConcurrency,
+                                    @Value("${todos.admission.client-idle-timeout}") Duration clientIdleTimeout,
+                                    MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.defaultBudget = register(new Budget(DEFAULT_BUDGET, defaultRate, defaultBurst, minConcurrency, defaultMaxConcurrency));
+        expensiveHandlers.forEach(handler -> expensiveBudgets.put(handler,
+                register(new Budget(handler, expensiveRate, expensiveBurst, minConcurrency, expensiveMaxConcurrency))));
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(MAX_TRACKED_CLIENTS)
+                .expireAfterAccess(clientIdleTimeout)
+                .build();
+    }
+
+    private Budget register(Budget budget) {
+        Gauge.builder(LIMIT_GAUGE, budget.concurrencyLimit, AdaptiveConcurrencyLimit::getLimit)
+                .tag(BUDGET_TAG, budget.name)
+                .register(meterRegistry);
+        Gauge.builder(IN_FLIGHT_GAUGE, budget.concurrencyLimit, AdaptiveConcurrencyLimit::getInFlight)
+                .tag(BUDGET_TAG, budget.name)
+                .register(meterRegistry);
+        return budget;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getDispatcherType() != DispatcherType.REQUEST
+                || !(handler instanceof HandlerMethod handlerMethod)
+                || !TodoController.class.isAssignableFrom(handlerMethod.getBeanType())) {
+            return true;
+        }
+
+        final var handlerName = handlerMethod.getMethod().getName();
+        final var budget = expensiveBudgets.getOrDefault(handlerName, defaultBudget);
+        final var now = System.nanoTime();
+        final var waitNanos = buckets.get(request.getRemoteAddr() + ' ' + handlerName,
+                client -> new TokenBucket(budget.rate, budget.burst, now)).tryAcquire(now);
+        if (waitNanos > 0) {
+            reject(budget, RATE_REASON);
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, (waitNanos + NANOS_PER_SECOND - 1) / NANOS_PER_SECOND)));
+            throw new TodoRateLimitedException("Too many requests to " + handlerName + ", retry later");
+        }
+        if (!budget.concurrencyLimit.tryAcquire()) {
+            reject(budget, CONCURRENCY_REASON);
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(OVERLOAD_RETRY_AFTER_SECONDS));
+            throw new TodoOverloadedException("Server is overloaded, retry later");
+        }
+
+        request.setAttribute(ADMISSION_ATTRIBUTE, new Admission(budget, now));
+        return true;
+    }
+
+    private void reject(Budget budget, String reason) {
+        Counter.builder(REJECTED_COUNTER)
+                .tag(BUDGET_TAG, budget.name)
+                .tag(REASON_TAG, reason)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        final var admission = (Admission) request.getAttribute(ADMISSION_ATTRIBUTE);
+        if (admission != null) {
+            request.removeAttribute(ADMISSION_ATTRIBUTE);
+            admission.budget.concurrencyLimit.release();
+        }
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception exception) {
+        final var admission = (Admission) request.getAttribute(ADMISSION_ATTRIBUTE);
+        if (admission != null) {
+            request.removeAttribute(ADMISSION_ATTRIBUTE);
+            admission.budget.concurrencyLimit.release(System.nanoTime() - admission.startNanos,
+                    exception != null || response.getStatus() >= HttpStatus.INTERNAL_SERVER_ERROR.value());
+        }
+    }
+
+    private static final class Budget {
+
+        private final String name;
+        private final double rate;
+        private final int burst;
+        private final AdaptiveConcurrencyLimit concurrencyLimit;
+
+        private Budget(String name, double rate, int burst, int minConcurrency, int maxConcurrency) {
+            this.name = name;
+            this.rate = rate;
+            this.burst = burst;
+            this.concurrencyLimit = new AdaptiveConcurrencyLimit(Math.max(minConcurrency, maxConcurrency / 4), minConcurrency, maxConcurrency);
+        }
+    }
+
+    private static final class Admission {
+
+        private final Budget budget;
+        private final long startNanos;
+
+        private Admission(Budget budget, long startNanos) {
+            this.budget = budget;
+            this.startNanos = startNanos;
+        }
+    }
+}
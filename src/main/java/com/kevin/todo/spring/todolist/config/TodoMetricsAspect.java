@@ -0,0 +1,81 @@
+package com.kevin.todo.spring.todolist.config;
+
+import com.github.fge.jsonpatch.JsonPatchException;
+import com.kevin.todo.spring.todolist.exceptions.TodoInvalidQueryException;
+import com.kevin.todo.spring.todolist.exceptions.TodoNotFoundException;
+import com.kevin.todo.spring.todolist.exceptions.TodoVersionConflictException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class TodoMetricsAspect {
+
+    public static final String SERVICE_TIMER = "todos.service";
+    public static final String REPOSITORY_TIMER = "todos.repository";
+    public static final String METHOD_TAG = "method";
+    public static final String OUTCOME_TAG = "outcome";
+    public static final String EXCEPTION_TAG = "exception";
+    private static final String NO_EXCEPTION = "none";
+
+    private final MeterRegistry meterRegistry;
+
+    public TodoMetricsAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Around("execution(public * com.kevin.todo.spring.todolist.service.TodoListService.*(..))")
+    public Object timeServiceCall(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(SERVICE_TIMER, joinPoint);
+    }
+
+    @Around("target(com.kevin.todo.spring.todolist.repository.TodoRepository)")
+    public Object timeRepositoryCall(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(REPOSITORY_TIMER, joinPoint);
+    }
+
+    private Object time(String timerName, ProceedingJoinPoint joinPoint) throws Throwable {
+        final var sample = Timer.start(meterRegistry);
+        Throwable failure = null;
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable throwable) {
+            failure = throwable;
+            throw throwable;
+        } finally {
+            sample.stop(Timer.builder(timerName)
+                    .tag(METHOD_TAG, joinPoint.getSignature().getName())
+                    .tag(OUTCOME_TAG, Outcome.of(failure).name())
+                    .tag(EXCEPTION_TAG, failure == null ? NO_EXCEPTION : failure.getClass().getSimpleName())
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+        }
+    }
+
+    public enum Outcome {
+        SUCCESS, NOT_FOUND, VERSION_CONFLICT, INVALID, ERROR;
+
+        static Outcome of(Throwable failure) {
+            if (failure == null) {
+                return SUCCESS;
+            }
+            if (failure instanceof TodoNotFoundException) {
+                return NOT_FOUND;
+            }
+            if (failure instanceof TodoVersionConflictException) {
+                return VERSION_CONFLICT;
+            }
+            if (failure instanceof TodoInvalidQueryException || failure instanceof JsonPatchException) {
+                return INVALID;
+            }
+            return ERROR;
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.kevin.todo.spring.todolist.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.filter.ServerHttpObservationFilter;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.PathMatchConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class TodoWebConfiguration implements WebMvcConfigurer {
+
+    private static final String[] TODOS_PATHS = {"/todos", "/todos/**", "/lists/*/todos", "/lists/*/todos/**"};
+    private final ObjectProvider<TodoAdmissionInterceptor> admissionInterceptor;
+
+    public TodoWebConfiguration(ObjectProvider<TodoAdmissionInterceptor> admissionInterceptor) {
+        this.admissionInterceptor = admissionInterceptor;
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    @Override
+    @SuppressWarnings("deprecation")
+    public void configurePathMatch(PathMatchConfigurer configurer) {
+        configurer.setUseTrailingSlashMatch(true);
+    }
+
+    @Override
+    public void extendHandlerExceptionResolvers(List<HandlerExceptionResolver> resolvers) {
+        resolvers.add(0, (request, response, handler, exception) -> {
+            ServerHttpObservationFilter.findObservationContext(request).ifPresent(context -> context.setError(exception));
+            return null;
+        });
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        admissionInterceptor.ifAvailable(interceptor -> registry.addInterceptor(interceptor).addPathPatterns(TODOS_PATHS));
+    }
+}
@@ -0,0 +1,33 @@
+package com.kevin.todo.spring.todolist.config;
+
+import java.util.concurrent.TimeUnit;
+
+public class TokenBucket {
+
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+    private final double tokensPerNano;
+    private final double capacity;
+    private double tokens;
+    private long lastRefillNanos;
+
+    public TokenBucket(double tokensPerSecond, int burst, long nowNanos) {
+        this.tokensPerNano = tokensPerSecond / NANOS_PER_SECOND;
+        this.capacity = Math.max(burst, 1);
+        this.tokens = capacity;
+        this.lastRefillNanos = nowNanos;
+    }
+
+    public synchronized long tryAcquire(long nowNanos) {
+        final var elapsed = nowNanos - lastRefillNanos;
+        if (elapsed > 0) {
+            tokens = Math.min(capacity, tokens + elapsed * tokensPerNano);
+            lastRefillNanos = nowNanos;
+        }
+        if (tokens >= 1) {
+            tokens--;
+            return 0;
+        }
+
+        return (long) Math.ceil((1 - tokens) / tokensPerNano);
+    }
+}
@@ -0,0 +1,234 @@
+package com.kevin.todo.spring.todolist.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.kevin.todo.spring.todolist.model.TodoItemBatchUpdateModel;
+import com.kevin.todo.spring.todolist.model.TodoItemModel;
+import com.kevin.todo.spring.todolist.service.ReactiveTodoListService;
+import com.kevin.todo.spring.todolist.service.TodoChangeListener;
+import com.kevin.todo.spring.todolist.service.TodoChangeLog;
+import com.kevin.todo.spring.todolist.utils.TodoEtags;
+import com.kevin.todo.spring.todolist.view.TodoBatchResultView;
+import com.kevin.todo.spring.todolist.view.TodoChangeView;
+import com.kevin.todo.spring.todolist.view.TodoItemView;
+import com.kevin.todo.spring.todolist.view.TodoListView;
+import com.kevin.todo.spring.todolist.view.TodoPageView;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import jakarta.validation.Valid;
+import java.time.Duration;
+import java.util.List;
+
+import static com.kevin.todo.spring.todolist.controller.TodoController.*;
+import static org.springframework.web.bind.annotation.RequestMethod.*;
+
+@RestController
+@Profile("reactive")
+@RequestMapping(value = "/todos")
+public class ReactiveTodoController {
+
+    private static final String RESET_EVENT_NAME = "reset";
+    private final ReactiveTodoListService todoListService;
+    private final TodoChangeLog changeLog;
+
+    public ReactiveTodoController(ReactiveTodoListService todoListService, TodoChangeLog changeLog) {
+        this.todoListService = todoListService;
+        this.changeLog = changeLog;
+    }
+
+    @PostMapping
+    @CrossOrigin(methods = POST)
+    @ResponseStatus(HttpStatus.CREATED)
+    public Mono<TodoItemView> createTodo(@Valid @RequestBody TodoItemModel todo, UriComponentsBuilder builder) {
+        return todoListService.addTodo(todo)
+                .map(savedTodoItemView -> getTodoItemView(builder, savedTodoItemView, savedTodoItemView.getId()));
+    }
+
+    @PostMapping(BATCH_PATH)
+    @CrossOrigin(methods = POST)
+    public Flux<TodoBatchResultView> createTodos(@RequestBody List<TodoItemModel> todos, UriComponentsBuilder builder) {
+        return withUrls(todoListService.addTodos(todos), builder);
+    }
+
+    @PatchMapping(value = BATCH_PATH, consumes = MediaType.APPLICATION_JSON_VALUE)
+    @CrossOrigin(methods = PATCH)
+    public Flux<TodoBatchResultView> updateTodos(@RequestBody List<TodoItemBatchUpdateModel> todos, UriComponentsBuilder builder) {
+        return withUrls(todoListService.updateTodos(todos), builder);
+    }
+
+    @DeleteMapping(BATCH_PATH)
+    @CrossOrigin(methods = DELETE)
+    public Flux<TodoBatchResultView> deleteTodos(@RequestBody List<Integer> todoIds) {
+        return todoListService.removeTodos(todoIds);
+    }
+
+    private Flux<TodoBatchResultView> withUrls(Flux<TodoBatchResultView> results, UriComponentsBuilder builder) {
+        final var urlPrefix = builder.toUriString().concat(TODOS_BASE_PATH);
+        return results.map(result -> result.getTodo() == null ? result : new TodoBatchResultView(
+                result.getId(),
+                result.getStatus(),
+                result.getMessage(),
+                withUrl(result.getTodo(), urlPrefix)));
+    }
+
+    @GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE, NDJSON_MEDIA_TYPE})
+    @CrossOrigin(methods = GET)
+    public Flux<TodoItemView> getAllTodos(@RequestParam(value = "completed", required = false) Boolean completed,
+                                          @RequestParam(value = "titlePrefix", required = false) String titlePrefix,
+                                          Sort sort,
+                                          UriComponentsBuilder builder) {
+        final var urlPrefix = builder.toUriString().concat(TODOS_BASE_PATH);
+        final var todoItemViews = completed == null && titlePrefix == null && sort.isUnsorted()
+                ? todoListService.retrieveAllTodos()
+                : todoListService.retrieveTodos(completed, titlePrefix, sort);
+
+        return todoItemViews.map(todoItemView -> withUrl(todoItemView, urlPrefix));
+    }
+
+    @GetMapping(params = "limit")
+    @CrossOrigin(methods = GET)
+    public Mono<TodoPageView> getTodosPage(@RequestParam(value = "after", defaultValue = "0") int after,
+                                           @RequestParam("limit") int limit,
+                                           UriComponentsBuilder builder) {
+        final var pageLimit = Math.min(Math.max(limit, 1), MAX_PAGE_LIMIT);
+        final var urlPrefix = builder.toUriString().concat(TODOS_BASE_PATH);
+
+        return todoListService.retrieveTodosAfter(after, pageLimit)
+                .collectList()
+                .map(items -> new TodoPageView(new TodoListView(items, urlPrefix),
+                        items.size() < pageLimit ? null : items.get(items.size() - 1).getId()));
+    }
+
+    @GetMapping(params = {"after", "!limit"})
+    @CrossOrigin(methods = GET)
+    public Mono<TodoPageView> getTodosPageWithDefaultLimit(@RequestParam("after") int after, UriComponentsBuilder builder) {
+        return getTodosPage(after, DEFAULT_PAGE_LIMIT, builder);
+    }
+
+    @GetMapping(value = CHANGES_PATH, produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @CrossOrigin(methods = GET)
+    public Flux<ServerSentEvent<Object>> streamChanges(@RequestHeader(value = LAST_EVENT_ID_HEADER, required = false) Long lastEventId,
+                                                       UriComponentsBuilder builder) {
+        final var urlPrefix = builder.toUriString().concat(TODOS_BASE_PATH);
+        final var changes = Flux.<ServerSentEvent<Object>>create(sink -> {
+            final var subscription = changeLog.subscribe(lastEventId, new TodoChangeListener() {
+                @Override
+                public void onChange(TodoChangeView change) {
+                    sink.next(ServerSentEvent.builder((Object) withUrl(change, urlPrefix))
+                            .id(String.valueOf(change.getSequence()))
+                            .event(change.getType().eventName())
+                            .build());
+                }
+
+                @Override
+                public void onReset(long sequence) {
+                    sink.next(ServerSentEvent.builder((Object) sequence)
+                            .id(String.valueOf(sequence))
+                            .event(RESET_EVENT_NAME)
+                            .build());
+                }
+            });
+            sink.onDispose(subscription::cancel);
+        });
+
+        return changes.startWith(ServerSentEvent.builder().retry(Duration.ofMillis(CHANGES_RECONNECT_MILLIS)).build())
+                .timeout(Duration.ofMillis(CHANGES_TIMEOUT_MILLIS), Flux.empty());
+    }
+
+    private TodoChangeView withUrl(TodoChangeView change, String urlPrefix) {
+        return change.getTodo() == null ? change : new TodoChangeView(
+                change.getSequence(),
+                change.getType(),
+                change.getListId(),
+                change.getId(),
+                withUrl(change.getTodo(), urlPrefix));
+    }
+
+    @GetMapping("/{id}")
+    @CrossOrigin(methods = GET, exposedHeaders = HttpHeaders.ETAG)
+    public Mono<ResponseEntity<TodoItemView>> getOneTodo(@PathVariable("id") int id, UriComponentsBuilder builder) {
+        return todoListService.retrieveOneTodo(id)
+                .map(foundedTodoView -> withEtag(getTodoItemView(builder, foundedTodoView, id)));
+    }
+
+    @PutMapping("/{id}")
+    @CrossOrigin(methods = PUT, exposedHeaders = HttpHeaders.ETAG)
+    public Mono<ResponseEntity<TodoItemView>> updateOneTodo(@Valid @RequestBody TodoItemModel todoItemModel,
+                                                            @PathVariable("id") int todoId,
+                                                            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                            UriComponentsBuilder builder) {
+        return todoListService.updateAllFieldsOfTodo(todoId, todoItemModel.getTitle(), todoItemModel.isCompleted(), todoItemModel.getOrder(),
+                        TodoEtags.parseExpectedVersion(ifMatch))
+                .map(todoUpdatedView -> withEtag(getTodoItemView(builder, todoUpdatedView, todoUpdatedView.getId())));
+    }
+
+    @PatchMapping(value = "/{id}", consumes = JSON_PATCH_MEDIA_TYPE)
+    @CrossOrigin(methods = PATCH, exposedHeaders = HttpHeaders.ETAG)
+    public Mono<ResponseEntity<TodoItemView>> partialUpdateTodo(@PathVariable("id") int todoId,
+                                                                @RequestBody JsonNode jsonPatch,
+                                                                @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                                UriComponentsBuilder builder) {
+        return todoListService.patchOneFieldOfTodo(todoId, jsonPatch, TodoEtags.parseExpectedVersion(ifMatch))
+                .map(todoPatchedView -> withEtag(getTodoItemView(builder, todoPatchedView, todoPatchedView.getId())));
+    }
+
+    @PatchMapping(value = "/{id}", consumes = MERGE_PATCH_MEDIA_TYPE)
+    @CrossOrigin(methods = PATCH, exposedHeaders = HttpHeaders.ETAG)
+    public Mono<ResponseEntity<TodoItemView>> mergePartialUpdateTodo(@PathVariable("id") int todoId,
+                                                                     @RequestBody JsonNode mergePatch,
+                                                                     @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                                     UriComponentsBuilder builder) {
+        return todoListService.mergePatchOneFieldOfTodo(todoId, mergePatch, TodoEtags.parseExpectedVersion(ifMatch))
+                .map(todoPatchedView -> withEtag(getTodoItemView(builder, todoPatchedView, todoPatchedView.getId())));
+    }
+
+    private ResponseEntity<TodoItemView> withEtag(TodoItemView view) {
+        final var etag = TodoEtags.renderEtag(view);
+        return etag == null ? ResponseEntity.ok(view) : ResponseEntity.ok().eTag(etag).body(view);
+    }
+
+    private TodoItemView getTodoItemView(UriComponentsBuilder builder, TodoItemView view, int id) {
+        return new TodoItemView(
+                view.getId(),
+                view.getTitle(),
+                view.isCompleted(),
+                view.getOrder(),
+                builder.path(TODOS_BASE_PATH + id).toUriString(),
+                view.getVersion());
+    }
+
+    private TodoItemView withUrl(TodoItemView view, String urlPrefix) {
+        return new TodoItemView(
+                view.getId(),
+                view.getTitle(),
+                view.isCompleted(),
+                view.getOrder(),
+                urlPrefix + view.getId(),
+                view.getVersion());
+    }
+
+    @DeleteMapping("/{id}")
+    @CrossOrigin(methods = DELETE)
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public Mono<Void> deleteOneTodo(@PathVariable("id") int id,
+                                    @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return todoListService.removeTodo(id, TodoEtags.parseExpectedVersion(ifMatch));
+    }
+
+    @DeleteMapping
+    @CrossOrigin(methods = DELETE)
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public Mono<Void> deleteAllTodos() {
+        return todoListService.removeAllTodos();
+    }
+
+}
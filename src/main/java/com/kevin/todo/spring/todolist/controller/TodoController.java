@@ -1,100 +1,357 @@
 package com.kevin.todo.spring.todolist.controller;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.github.fge.jsonpatch.JsonPatch;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.github.fge.jsonpatch.JsonPatchException;
+import com.kevin.todo.spring.todolist.model.TodoItemBatchUpdateModel;
+import com.kevin.todo.spring.todolist.model.TodoItemDao;
 import com.kevin.todo.spring.todolist.model.TodoItemModel;
+import com.kevin.todo.spring.todolist.model.TodoMoveModel;
+import com.kevin.todo.spring.todolist.service.TodoChangeListener;
+import com.kevin.todo.spring.todolist.service.TodoChangeLog;
 import com.kevin.todo.spring.todolist.service.TodoListService;
+import com.kevin.todo.spring.todolist.utils.TodoEtags;
+import com.kevin.todo.spring.todolist.utils.TodoHandler;
+import com.kevin.todo.spring.todolist.view.TodoBatchResultView;
+import com.kevin.todo.spring.todolist.view.TodoChangeView;
 import com.kevin.todo.spring.todolist.view.TodoItemView;
+import com.kevin.todo.spring.todolist.view.TodoItemViewSerializer;
+import com.kevin.todo.spring.todolist.view.TodoListView;
+import com.kevin.todo.spring.todolist.view.TodoPageView;
+import com.kevin.todo.spring.todolist.view.TodoStatsView;
+import com.kevin.todo.spring.todolist.view.TodoUrlWriter;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.util.UriComponentsBuilder;
 
-import javax.validation.Valid;
+import jakarta.validation.Valid;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 import java.util.stream.Collectors;
 
 import static org.springframework.web.bind.annotation.RequestMethod.*;
 
 @RestController
-@RequestMapping(value = "/todos")
+@Profile("!reactive")
+@RequestMapping(value = {"/todos", "/lists/{listId}/todos"})
 public class TodoController {
 
     public static final String TODOS_BASE_PATH = "/todos/";
+    public static final String LISTS_BASE_PATH = "/lists/";
+    public static final String LIST_ID_VARIABLE = "listId";
+    public static final String BATCH_PATH = "/batch";
+    public static final String CHANGES_PATH = "/changes";
+    public static final String SEARCH_PATH = "/search";
+    public static final String MOVE_PATH = "/move";
+    public static final String STATS_PATH = "/stats";
+    public static final String LAST_EVENT_ID_HEADER = "Last-Event-ID";
+    public static final long CHANGES_TIMEOUT_MILLIS = 30 * 60 * 1000L;
+    public static final long CHANGES_RECONNECT_MILLIS = 1000L;
+    private static final String RESET_EVENT_NAME = "reset";
+    public static final String NDJSON_MEDIA_TYPE = "application/x-ndjson";
+    public static final String JSON_PATCH_MEDIA_TYPE = "application/json-patch+json";
+    public static final String MERGE_PATCH_MEDIA_TYPE = "application/merge-patch+json";
+    public static final int DEFAULT_PAGE_LIMIT = 50;
+    public static final int MAX_PAGE_LIMIT = 1000;
+    public static final int DEFAULT_STATS_DAYS = 30;
+    public static final int MAX_STATS_DAYS = 366;
+    private static final char NDJSON_LINE_SEPARATOR = '\n';
     private final TodoListService todoListService;
+    private final ObjectMapper objectMapper;
+    private final TodoChangeLog changeLog;
 
-    public TodoController(TodoListService todoListService) {
+    public TodoController(TodoListService todoListService, ObjectMapper objectMapper, TodoChangeLog changeLog) {
         this.todoListService = todoListService;
+        this.objectMapper = objectMapper;
+        this.changeLog = changeLog;
     }
 
     @PostMapping
     @CrossOrigin(methods = POST)
     @ResponseStatus(HttpStatus.CREATED)
-    public TodoItemView createTodo(@Valid @RequestBody TodoItemModel todo, UriComponentsBuilder builder) {
-        final var savedTodoItemView = todoListService.addTodo(todo);
-        return getTodoItemView(builder, savedTodoItemView, savedTodoItemView.getId());
+    public TodoItemView createTodo(@PathVariable(value = LIST_ID_VARIABLE, required = false) String listId, @Valid @RequestBody TodoItemModel todo, UriComponentsBuilder builder) {
+        final var todoListId = TodoHandler.toListId(listId);
+        final var savedTodoItemView = todoListService.addTodo(todoListId, todo);
+        return getTodoItemView(builder, todoListId, savedTodoItemView, savedTodoItemView.getId());
+    }
+
+    @PostMapping(BATCH_PATH)
+    @CrossOrigin(methods = POST)
+    public List<TodoBatchResultView> createTodos(@PathVariable(value = LIST_ID_VARIABLE, required = false) String listId, @RequestBody List<TodoItemModel> todos, UriComponentsBuilder builder) {
+        final var todoListId = TodoHandler.toListId(listId);
+        return withUrls(todoListService.addTodos(todoListId, todos), builder, todoListId);
+    }
+
+    @PatchMapping(value = BATCH_PATH, consumes = MediaType.APPLICATION_JSON_VALUE)
+    @CrossOrigin(methods = PATCH)
+    public List<TodoBatchResultView> updateTodos(@PathVariable(value = LIST_ID_VARIABLE, required = false) String listId, @RequestBody List<TodoItemBatchUpdateModel> todos,
+                                                 UriComponentsBuilder builder) {
+        final var todoListId = TodoHandler.toListId(listId);
+        return withUrls(todoListService.updateTodos(todoListId, todos), builder, todoListId);
+    }
+
+    @DeleteMapping(BATCH_PATH)
+    @CrossOrigin(methods = DELETE)
+    public List<TodoBatchResultView> deleteTodos(@PathVariable(value = LIST_ID_VARIABLE, required = false) String listId, @RequestBody List<Integer> todoIds) {
+        return todoListService.removeTodos(TodoHandler.toListId(listId), todoIds);
+    }
+
+    private List<TodoBatchResultView> withUrls(List<TodoBatchResultView> results, UriComponentsBuilder builder, String listId) {
+        final var urlPrefix = builder.toUriString().concat(todosPath(listId));
+        return results.stream()
+                .map(result -> result.getTodo() == null ? result : new TodoBatchResultView(
+                        result.getId(),
+                        result.getStatus(),
+                        result.getMessage(),
+                        withUrl(result.getTodo(), urlPrefix)))
+                .collect(Collectors.toList());
     }
 
     @GetMapping
+    @CrossOrigin(methods = GET, exposedHeaders = HttpHeaders.ETAG)
+    public TodoListView getAllTodos(@PathVariable(value = LIST_ID_VARIABLE, required = false) String listId,
+                                    @RequestParam(value = "completed", required = false) Boolean completed,
+                                    @RequestParam(value = "titlePrefix", required = false) String titlePrefix,
+                                    Sort sort,
+                                    UriComponentsBuilder builder,
+                                    WebRequest webRequest) {
+        final var todoListId = TodoHandler.toListId(listId);
+        final var todoItemViews = completed == null && titlePrefix == null && sort.isUnsorted()
+                ? todoListService.retrieveAllTodos(todoListId)
+                : todoListService.retrieveTodos(todoListId, completed, titlePrefix, sort);
+        if (isNotModified(webRequest, TodoEtags.renderEtag(todoItemViews))) {
+            return null;
+        }
+        return new TodoListView(todoItemViews, builder.toUriString().concat(todosPath(todoListId)));
+    }
+
+    @GetMapping(params = "limit")
     @CrossOrigin(methods = GET)
-    public List<TodoItemView> getAllTodos(UriComponentsBuilder builder) {
-        return todoListService.retrieveAllTodos()
-                .stream()
-                .map(todoItemView -> new TodoItemView(
-                        todoItemView.getId(),
-                        todoItemView.getTitle(),
-                        todoItemView.isCompleted(),
-                        todoItemView.getOrder(),
-                        builder.toUriString().concat(TODOS_BASE_PATH + todoItemView.getId())))
-                .collect(Collectors.toList());
+    public TodoPageView getTodosPage(@PathVariable(value = LIST_ID_VARIABLE, required = false) String listId,
+                                     @RequestParam(value = "after", defaultValue = "0") int after,
+                                     @RequestParam("limit") int limit,
+                                     UriComponentsBuilder builder) {
+        final var todoListId = TodoHandler.toListId(listId);
+        final var pageLimit = Math.min(Math.max(limit, 1), MAX_PAGE_LIMIT);
+        final var items = todoListService.retrieveTodosAfter(todoListId, after, pageLimit);
+        final var nextCursor = items.size() < pageLimit ? null : items.get(items.size() - 1).getId();
+
+        return new TodoPageView(new TodoListView(items, builder.toUriString().concat(todosPath(todoListId))), nextCursor);
     }
 
-    @GetMapping("/{id}")
+    @GetMapping(params = {"after", "!limit"})
+    @CrossOrigin(methods = GET)
+    public TodoPageView getTodosPageWithDefaultLimit(@PathVariable(value = LIST_ID_VARIABLE, required = false) String listId, @RequestParam("after") int after,
+                                                     UriComponentsBuilder builder) {
+        return getTodosPage(listId, after, DEFAULT_PAGE_LIMIT, builder);
+    }
+
+    @GetMapping(SEARCH_PATH)
+    @CrossOrigin(methods = GET)
+    public TodoPageView searchTodos(@PathVariable(value = LIST_ID_VARIABLE, required = false) String listId,
+                                    @RequestParam("q") String query,
+                                    @RequestParam(value = "offset", defaultValue = "0") int offset,
+                                    @RequestParam(value = "limit", defaultValue = "" + DEFAULT_PAGE_LIMIT) int limit,
+                                    UriComponentsBuilder builder) {
+        final var todoListId = TodoHandler.toListId(listId);
+        final var pageOffset = Math.max(offset, 0);
+        final var pageLimit = Math.min(Math.max(limit, 1), MAX_PAGE_LIMIT);
+        final var items = todoListService.searchTodos(todoListId, query, pageOffset, pageLimit);
+        final var nextCursor = items.size() < pageLimit ? null : pageOffset + pageLimit;
+
+        return new TodoPageView(new TodoListView(items, builder.toUriString().concat(todosPath(todoListId))), nextCursor);
+    }
+
+    @GetMapping(STATS_PATH)
+    @CrossOrigin(methods = GET)
+    public TodoStatsView getTodoStats(@PathVariable(value = LIST_ID_VARIABLE, required = false) String listId,
+                                      @RequestParam(value = "days", defaultValue = "" + DEFAULT_STATS_DAYS) int days) {
+        return todoListService.retrieveStats(TodoHandler.toListId(listId), Math.min(Math.max(days, 1), MAX_STATS_DAYS));
+    }
+
+    @GetMapping(produces = NDJSON_MEDIA_TYPE)
+    @CrossOrigin(methods = GET)
+    public StreamingResponseBody streamAllTodos(@PathVariable(value = LIST_ID_VARIABLE, required = false) String listId, UriComponentsBuilder builder) {
+        final var todoListId = TodoHandler.toListId(listId);
+        final var urlWriter = new TodoUrlWriter(builder.toUriString().concat(todosPath(todoListId)));
+
+        return outputStream -> {
+            try (final var generator = objectMapper.createGenerator(outputStream).setRootValueSeparator(null)) {
+                todoListService.streamAllTodos(todoListId, todoItemView -> {
+                    try {
+                        TodoItemViewSerializer.writeTodo(generator, todoItemView, urlWriter);
+                        generator.writeRaw(NDJSON_LINE_SEPARATOR);
+                    } catch (IOException exception) {
+                        throw new UncheckedIOException(exception);
+                    }
+                });
+            }
+        };
+    }
+
+    @GetMapping(value = CHANGES_PATH, produces = MediaType.TEXT_EVENT_STREAM_VALUE)
     @CrossOrigin(methods = GET)
-    public TodoItemView getOneTodo(@PathVariable("id") int id, UriComponentsBuilder builder) {
-        final var foundedTodoView = todoListService.retrieveOneTodo(id);
-        return getTodoItemView(builder, foundedTodoView, id);
+    public SseEmitter streamChanges(@PathVariable(value = LIST_ID_VARIABLE, required = false) String listId,
+                                    @RequestHeader(value = LAST_EVENT_ID_HEADER, required = false) Long lastEventId,
+                                    UriComponentsBuilder builder) throws IOException {
+        final var todoListId = TodoHandler.toListId(listId);
+        final var urlPrefix = builder.toUriString().concat(todosPath(todoListId));
+        final var emitter = new SseEmitter(CHANGES_TIMEOUT_MILLIS);
+        emitter.send(SseEmitter.event().reconnectTime(CHANGES_RECONNECT_MILLIS));
+        final var subscription = changeLog.subscribe(lastEventId, new TodoChangeListener() {
+            @Override
+            public void onChange(TodoChangeView change) throws IOException {
+                if (!todoListId.equals(change.getListId())) {
+                    return;
+                }
+                emitter.send(SseEmitter.event()
+                        .id(String.valueOf(change.getSequence()))
+                        .name(change.getType().eventName())
+                        .data(withUrl(change, urlPrefix), MediaType.APPLICATION_JSON));
+            }
+
+            @Override
+            public void onReset(long sequence) throws IOException {
+                emitter.send(SseEmitter.event()
+                        .id(String.valueOf(sequence))
+                        .name(RESET_EVENT_NAME)
+                        .data(sequence));
+            }
+        });
+        emitter.onCompletion(subscription::cancel);
+        emitter.onTimeout(subscription::cancel);
+        emitter.onError(exception -> subscription.cancel());
+
+        return emitter;
+    }
+
+    private TodoChangeView withUrl(TodoChangeView change, String urlPrefix) {
+        return change.getTodo() == null ? change : new TodoChangeView(
+                change.getSequence(),
+                change.getType(),
+                change.getListId(),
+                change.getId(),
+                withUrl(change.getTodo(), urlPrefix));
+    }
+
+    @GetMapping("/{id}")
+    @CrossOrigin(methods = GET, exposedHeaders = HttpHeaders.ETAG)
+    public TodoItemView getOneTodo(@PathVariable(value = LIST_ID_VARIABLE, required = false) String listId, @PathVariable("id") int id, UriComponentsBuilder builder,
+                                   WebRequest webRequest) {
+        final var todoListId = TodoHandler.toListId(listId);
+        final var foundedTodoView = todoListService.retrieveOneTodo(todoListId, id);
+        if (isNotModified(webRequest, TodoEtags.renderEtag(foundedTodoView))) {
+            return null;
+        }
+        return getTodoItemView(builder, todoListId, foundedTodoView, id);
+    }
+
+    private boolean isNotModified(WebRequest webRequest, String etag) {
+        return etag != null && webRequest.checkNotModified(etag);
     }
 
     @PutMapping("/{id}")
-    @CrossOrigin(methods = PUT)
-    public TodoItemView updateOneTodo(@Valid @RequestBody TodoItemModel todoItemModel,
-                                      @PathVariable("id") int todoId,
-                                      UriComponentsBuilder builder) {
-        final var todoUpdatedView = todoListService.updateAllFieldsOfTodo(todoId, todoItemModel.getTitle(), todoItemModel.isCompleted(), todoItemModel.getOrder());
-        return getTodoItemView(builder, todoUpdatedView, todoUpdatedView.getId());
+    @CrossOrigin(methods = PUT, exposedHeaders = HttpHeaders.ETAG)
+    public ResponseEntity<TodoItemView> updateOneTodo(@PathVariable(value = LIST_ID_VARIABLE, required = false) String listId,
+                                                      @Valid @RequestBody TodoItemModel todoItemModel,
+                                                      @PathVariable("id") int todoId,
+                                                      @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                      UriComponentsBuilder builder) {
+        final var todoListId = TodoHandler.toListId(listId);
+        final var todoUpdatedView = todoListService.updateAllFieldsOfTodo(todoListId, todoId, todoItemModel.getTitle(), todoItemModel.isCompleted(),
+                todoItemModel.getOrder(), TodoEtags.parseExpectedVersion(ifMatch));
+        return withEtag(getTodoItemView(builder, todoListId, todoUpdatedView, todoUpdatedView.getId()));
     }
 
-    @PatchMapping(value = "/{id}", consumes = "application/json-patch+json")
-    @CrossOrigin(methods = PATCH)
-    public TodoItemView partialUpdateTodo(@PathVariable("id") int todoId,
-                                          @RequestBody JsonPatch jsonPatch,
-                                          UriComponentsBuilder builder) throws JsonPatchException, JsonProcessingException {
-        final var todoPatchedView = todoListService.patchOneFieldOfTodo(todoId, jsonPatch);
-        return getTodoItemView(builder, todoPatchedView, todoPatchedView.getId());
+    @PatchMapping(value = "/{id}", consumes = JSON_PATCH_MEDIA_TYPE)
+    @CrossOrigin(methods = PATCH, exposedHeaders = HttpHeaders.ETAG)
+    public ResponseEntity<TodoItemView> partialUpdateTodo(@PathVariable(value = LIST_ID_VARIABLE, required = false) String listId,
+                                                          @PathVariable("id") int todoId,
+                                                          @RequestBody JsonNode jsonPatch,
+                                                          @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                          UriComponentsBuilder builder) throws JsonPatchException, JsonProcessingException {
+        final var todoListId = TodoHandler.toListId(listId);
+        final var todoPatchedView = todoListService.patchOneFieldOfTodo(todoListId, todoId, jsonPatch, TodoEtags.parseExpectedVersion(ifMatch));
+        return withEtag(getTodoItemView(builder, todoListId, todoPatchedView, todoPatchedView.getId()));
+    }
+
+    @PatchMapping(value = "/{id}", consumes = MERGE_PATCH_MEDIA_TYPE)
+    @CrossOrigin(methods = PATCH, exposedHeaders = HttpHeaders.ETAG)
+    public ResponseEntity<TodoItemView> mergePartialUpdateTodo(@PathVariable(value = LIST_ID_VARIABLE, required = false) String listId,
+                                                               @PathVariable("id") int todoId,
+                                                               @RequestBody JsonNode mergePatch,
+                                                               @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                               UriComponentsBuilder builder) throws JsonPatchException, JsonProcessingException {
+        final var todoListId = TodoHandler.toListId(listId);
+        final var todoPatchedView = todoListService.mergePatchOneFieldOfTodo(todoListId, todoId, mergePatch, TodoEtags.parseExpectedVersion(ifMatch));
+        return withEtag(getTodoItemView(builder, todoListId, todoPatchedView, todoPatchedView.getId()));
+    }
+
+    @PostMapping(value = "/{id}" + MOVE_PATH, consumes = MediaType.APPLICATION_JSON_VALUE)
+    @CrossOrigin(methods = POST, exposedHeaders = HttpHeaders.ETAG)
+    public ResponseEntity<TodoItemView> moveTodo(@PathVariable(value = LIST_ID_VARIABLE, required = false) String listId,
+                                                 @PathVariable("id") int todoId,
+                                                 @RequestBody TodoMoveModel move,
+                                                 @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                 UriComponentsBuilder builder) {
+        final var todoListId = TodoHandler.toListId(listId);
+        final var todoMovedView = todoListService.moveTodo(todoListId, todoId, move, TodoEtags.parseExpectedVersion(ifMatch));
+        return withEtag(getTodoItemView(builder, todoListId, todoMovedView, todoMovedView.getId()));
+    }
+
+    private ResponseEntity<TodoItemView> withEtag(TodoItemView view) {
+        final var etag = TodoEtags.renderEtag(view);
+        return etag == null ? ResponseEntity.ok(view) : ResponseEntity.ok().eTag(etag).body(view);
+    }
+
+    private TodoItemView getTodoItemView(UriComponentsBuilder builder, String listId, TodoItemView view, int id) {
+        return new TodoItemView(
+                view.getId(),
+                view.getTitle(),
+                view.isCompleted(),
+                view.getOrder(),
+                builder.path(todosPath(listId) + id).toUriString(),
+                view.getVersion());
+    }
+
+    private static String todosPath(String listId) {
+        return TodoItemDao.DEFAULT_LIST_ID.equals(listId) ? TODOS_BASE_PATH : LISTS_BASE_PATH + listId + TODOS_BASE_PATH;
     }
 
-    private TodoItemView getTodoItemView(UriComponentsBuilder builder, TodoItemView view, int id) {
+    private TodoItemView withUrl(TodoItemView view, String urlPrefix) {
         return new TodoItemView(
                 view.getId(),
                 view.getTitle(),
                 view.isCompleted(),
                 view.getOrder(),
-                builder.path(TODOS_BASE_PATH + id).toUriString());
+                urlPrefix + view.getId(),
+                view.getVersion());
     }
 
     @DeleteMapping("/{id}")
     @CrossOrigin(methods = DELETE)
     @ResponseStatus(HttpStatus.NO_CONTENT)
-    public void deleteOneTodo(@PathVariable("id") int id) {
-        todoListService.removeTodo(id);
+    public void deleteOneTodo(@PathVariable(value = LIST_ID_VARIABLE, required = false) String listId,
+                              @PathVariable("id") int id,
+                              @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        todoListService.removeTodo(TodoHandler.toListId(listId), id, TodoEtags.parseExpectedVersion(ifMatch));
     }
 
     @DeleteMapping
     @CrossOrigin(methods = DELETE)
     @ResponseStatus(HttpStatus.NO_CONTENT)
-    public void deleteAllTodos() {
-        todoListService.removeAllTodos();
+    public void deleteAllTodos(@PathVariable(value = LIST_ID_VARIABLE, required = false) String listId) {
+        todoListService.removeAllTodos(TodoHandler.toListId(listId));
     }
 
 }
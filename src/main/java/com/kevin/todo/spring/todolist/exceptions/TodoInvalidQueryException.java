@@ -0,0 +1,11 @@
+package com.kevin.todo.spring.todolist.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(value= HttpStatus.BAD_REQUEST)
+public class TodoInvalidQueryException extends RuntimeException {
+    public TodoInvalidQueryException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,11 @@
+package com.kevin.todo.spring.todolist.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(value= HttpStatus.SERVICE_UNAVAILABLE)
+public class TodoOverloadedException extends RuntimeException {
+    public TodoOverloadedException(String message) {
+        super(message);
+    }
+}
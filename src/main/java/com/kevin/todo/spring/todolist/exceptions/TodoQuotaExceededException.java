@@ -0,0 +1,11 @@
+package com.kevin.todo.spring.todolist.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(value= HttpStatus.CONFLICT)
+public class TodoQuotaExceededException extends RuntimeException {
+    public TodoQuotaExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,11 @@
+package com.kevin.todo.spring.todolist.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(value= HttpStatus.TOO_MANY_REQUESTS)
+public class TodoRateLimitedException extends RuntimeException {
+    public TodoRateLimitedException(String message) {
+        super(message);
+    }
+}
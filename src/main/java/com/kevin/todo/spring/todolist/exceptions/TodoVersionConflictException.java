@@ -0,0 +1,11 @@
+package com.kevin.todo.spring.todolist.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(value= HttpStatus.PRECONDITION_FAILED)
+public class TodoVersionConflictException extends RuntimeException {
+    public TodoVersionConflictException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,57 @@
+package com.kevin.todo.spring.todolist.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDateTime;
+
+@Table("TODOS")
+public class ReactiveTodoItemDao {
+
+    @Id
+    private final int id;
+    private final String title;
+    private final boolean completed;
+    private final int orders;
+    private final LocalDateTime creationDate;
+    @Version
+    private final long version;
+
+    public ReactiveTodoItemDao(int id, String title, boolean completed, int orders, LocalDateTime creationDate, long version) {
+        this.id = id;
+        this.title = title;
+        this.completed = completed;
+        this.orders = orders;
+        this.creationDate = creationDate;
+        this.version = version;
+    }
+
+    public ReactiveTodoItemDao withVersion(long version) {
+        return new ReactiveTodoItemDao(id, title, completed, orders, creationDate, version);
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public boolean isCompleted() {
+        return completed;
+    }
+
+    public int getOrders() {
+        return orders;
+    }
+
+    public LocalDateTime getCreationDate() {
+        return creationDate;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+}
@@ -0,0 +1,22 @@
+package com.kevin.todo.spring.todolist.model;
+
+import java.time.LocalDate;
+
+public class TodoDailyCount {
+
+    private final LocalDate day;
+    private final long todos;
+
+    public TodoDailyCount(LocalDate day, long todos) {
+        this.day = day;
+        this.todos = todos;
+    }
+
+    public LocalDate getDay() {
+        return day;
+    }
+
+    public long getTodos() {
+        return todos;
+    }
+}
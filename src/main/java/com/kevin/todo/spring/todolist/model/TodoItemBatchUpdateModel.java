@@ -0,0 +1,41 @@
+package com.kevin.todo.spring.todolist.model;
+
+import jakarta.validation.constraints.NotNull;
+
+public class TodoItemBatchUpdateModel {
+
+    @NotNull(message = "Id cannot be null")
+    private Integer id;
+
+    private String title;
+
+    private Boolean completed;
+
+    private Integer order;
+
+    public TodoItemBatchUpdateModel() {
+    }
+
+    public TodoItemBatchUpdateModel(Integer id, String title, Boolean completed, Integer order) {
+        this.id = id;
+        this.title = title;
+        this.completed = completed;
+        this.order = order;
+    }
+
+    public Integer getId() {
+        return id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public Boolean getCompleted() {
+        return completed;
+    }
+
+    public Integer getOrder() {
+        return order;
+    }
+}
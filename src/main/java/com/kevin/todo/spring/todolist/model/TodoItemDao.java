@@ -1,19 +1,43 @@
 package com.kevin.todo.spring.todolist.model;
 
-import javax.persistence.*;
+import jakarta.persistence.*;
+import org.hibernate.annotations.SQLRestriction;
+
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "TODOS")
+@Table(name = "TODOS", indexes = {
+        @Index(name = "IDX_TODOS_LIST_ID", columnList = "list_id, deleted_at, id"),
+        @Index(name = "IDX_TODOS_LIST_COMPLETED_ORDERS", columnList = "list_id, deleted_at, completed, orders"),
+        @Index(name = "IDX_TODOS_LIST_ORDERS", columnList = "list_id, deleted_at, orders, id"),
+        @Index(name = "IDX_TODOS_LIST_TITLE", columnList = "list_id, deleted_at, title"),
+        @Index(name = "IDX_TODOS_LIST_COMPLETED_TITLE", columnList = "list_id, deleted_at, completed, title"),
+        @Index(name = "IDX_TODOS_DELETED_AT", columnList = "deleted_at")
+})
+@SQLRestriction(TodoItemDao.NOT_DELETED)
 public class TodoItemDao {
 
-    private final LocalDateTime creationDate = LocalDateTime.now();
+    public static final String ID_SEQUENCE = "TODOS_SEQ";
+    public static final int ID_ALLOCATION_SIZE = 50;
+    public static final String DEFAULT_LIST_ID = "default";
+    public static final int MAX_LIST_ID_LENGTH = 64;
+    public static final String NOT_DELETED = "deleted_at is null";
+    private static final String ID_GENERATOR = "todos_id_generator";
+
+    private LocalDateTime creationDate = LocalDateTime.now();
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = ID_GENERATOR)
+    @SequenceGenerator(name = ID_GENERATOR, sequenceName = ID_SEQUENCE, allocationSize = ID_ALLOCATION_SIZE)
     private int id;
+    @Column(name = "list_id", nullable = false, length = MAX_LIST_ID_LENGTH)
+    private String listId = DEFAULT_LIST_ID;
     private String title;
     private boolean completed;
     private int orders;
+    @Version
+    private long version;
+    @Column(name = "deleted_at")
+    private LocalDateTime deletedAt;
 
 
     public TodoItemDao(String title, int order) {
@@ -21,6 +45,21 @@ public class TodoItemDao {
         this.orders = order;
     }
 
+    public TodoItemDao(String listId, String title, int order) {
+        this(title, order);
+        this.listId = listId;
+    }
+
+    public TodoItemDao(int id, String listId, String title, boolean completed, int orders) {
+        this(id, title, completed, orders);
+        this.listId = listId;
+    }
+
+    public TodoItemDao(int id, String listId, String title, boolean completed, int orders, long version, LocalDateTime creationDate) {
+        this(id, title, completed, orders, version, creationDate);
+        this.listId = listId;
+    }
+
     public TodoItemDao(int id, String title, boolean completed, int orders) {
         this.id = id;
         this.title = title;
@@ -28,6 +67,16 @@ public class TodoItemDao {
         this.orders = orders;
     }
 
+    public TodoItemDao(int id, String title, boolean completed, int orders, long version) {
+        this(id, title, completed, orders);
+        this.version = version;
+    }
+
+    public TodoItemDao(int id, String title, boolean completed, int orders, long version, LocalDateTime creationDate) {
+        this(id, title, completed, orders, version);
+        this.creationDate = creationDate;
+    }
+
     public TodoItemDao() {
     }
 
@@ -35,14 +84,26 @@ public class TodoItemDao {
         return id;
     }
 
+    public String getListId() {
+        return listId;
+    }
+
     public String getTitle() {
         return title;
     }
 
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
     public boolean isCompleted() {
         return completed;
     }
 
+    public void setCompleted(boolean completed) {
+        this.completed = completed;
+    }
+
     public LocalDateTime getCreationDate() {
         return creationDate;
     }
@@ -50,4 +111,16 @@ public class TodoItemDao {
     public int getOrders() {
         return orders;
     }
+
+    public void setOrders(int orders) {
+        this.orders = orders;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public LocalDateTime getDeletedAt() {
+        return deletedAt;
+    }
 }
@@ -1,6 +1,6 @@
 package com.kevin.todo.spring.todolist.model;
 
-import javax.validation.constraints.NotNull;
+import jakarta.validation.constraints.NotNull;
 
 public class TodoItemModel {
 
@@ -11,6 +11,15 @@ public class TodoItemModel {
 
     private int order;
 
+    public TodoItemModel() {
+    }
+
+    public TodoItemModel(String title, boolean completed, int order) {
+        this.title = title;
+        this.completed = completed;
+        this.order = order;
+    }
+
     public String getTitle() {
         return title;
     }
@@ -0,0 +1,24 @@
+package com.kevin.todo.spring.todolist.model;
+
+public class TodoMoveModel {
+
+    private Integer before;
+
+    private Integer after;
+
+    public TodoMoveModel() {
+    }
+
+    public TodoMoveModel(Integer before, Integer after) {
+        this.before = before;
+        this.after = after;
+    }
+
+    public Integer getBefore() {
+        return before;
+    }
+
+    public Integer getAfter() {
+        return after;
+    }
+}
@@ -0,0 +1,31 @@
+package com.kevin.todo.spring.todolist.model;
+
+import jakarta.persistence.*;
+
+@Entity
+@Table(name = TodoWriteBehindCheckpointDao.TABLE)
+public class TodoWriteBehindCheckpointDao {
+
+    public static final String TABLE = "TODOS_WRITE_BEHIND";
+
+    @Id
+    private long epoch;
+    @Column(name = "flushed_position", nullable = false)
+    private long flushedPosition;
+
+    public TodoWriteBehindCheckpointDao(long epoch, long flushedPosition) {
+        this.epoch = epoch;
+        this.flushedPosition = flushedPosition;
+    }
+
+    public TodoWriteBehindCheckpointDao() {
+    }
+
+    public long getEpoch() {
+        return epoch;
+    }
+
+    public long getFlushedPosition() {
+        return flushedPosition;
+    }
+}
@@ -0,0 +1,845 @@
+package com.kevin.todo.spring.todolist.repository;
+
+import com.kevin.todo.spring.todolist.model.TodoDailyCount;
+import com.kevin.todo.spring.todolist.model.TodoItemDao;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mapping.PropertyReferenceException;
+import org.springframework.data.util.TypeInformation;
+import org.springframework.stereotype.Repository;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@Repository
+@Profile("memory")
+public class InMemoryTodoRepository implements TodoRepository {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(InMemoryTodoRepository.class);
+    private static final String STALE_TODO = "Todo was updated or deleted concurrently, id : ";
+    private static final String INVALID_SNAPSHOT = "Not a todo snapshot : ";
+    private static final int STRIPE_BITS = 4;
+    private static final int STRIPE_COUNT = 1 << STRIPE_BITS;
+    private static final int SNAPSHOT_MAGIC = 0x544F444F;
+    private static final int SNAPSHOT_FORMAT = 2;
+    private static final int SINGLE_LIST_SNAPSHOT_FORMAT = 1;
+    private static final int NULL_TITLE = -1;
+    private static final String ID = "id";
+    private static final String TITLE = "title";
+    private static final String COMPLETED = "completed";
+    private static final String ORDERS = "orders";
+    private static final String CREATION_DATE = "creationDate";
+    private static final String VERSION = "version";
+    private static final Sort BY_ORDERS = Sort.by(ORDERS);
+    private static final Sort BY_ORDERS_DESCENDING = Sort.by(Sort.Direction.DESC, ORDERS);
+    private static final Sort BY_ID = Sort.by(ID);
+    private static final Comparator<TodoItemDao> ID_ORDER = Comparator.comparingInt(TodoItemDao::getId);
+
+    private final Stripe[] stripes = new Stripe[STRIPE_COUNT];
+    private final Map<String, Partition> partitions = new ConcurrentHashMap<>();
+    private final AtomicInteger lastId = new AtomicInteger();
+    private final Path snapshotFile;
+    private final ScheduledExecutorService snapshotWriter;
+
+    public InMemoryTodoRepository(@Value("${todos.memory.snapshot-file}") Path snapshotFile,
+                                  @Value("${todos.memory.snapshot-interval}") Duration snapshotInterval) {
+        for (var index = 0; index < STRIPE_COUNT; index++) {
+            stripes[index] = new Stripe();
+        }
+        this.snapshotFile = snapshotFile;
+        readSnapshot();
+
+        if (snapshotInterval.isZero() || snapshotInterval.isNegative()) {
+            this.snapshotWriter = null;
+            return;
+        }
+        this.snapshotWriter = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().daemon().name("todos-memory-snapshot").factory());
+        this.snapshotWriter.scheduleWithFixedDelay(this::writeSnapshotQuietly,
+                snapshotInterval.toMillis(), snapshotInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <S extends TodoItemDao> S save(S todo) {
+        if (todo.getId() == 0) {
+            final var created = new TodoItemDao(lastId.incrementAndGet(), todo.getListId(), todo.getTitle(), todo.isCompleted(),
+                    todo.getOrders(), 0L, todo.getCreationDate());
+            insert(created);
+            return (S) copyOf(created);
+        }
+
+        final var saved = update(todo.getId(), current -> {
+            if (current.getVersion() != todo.getVersion()) {
+                throw new OptimisticLockingFailureException(STALE_TODO + todo.getId());
+            }
+            return sameFields(current, todo.getTitle(), todo.isCompleted(), todo.getOrders())
+                    ? current
+                    : new TodoItemDao(current.getId(), current.getListId(), todo.getTitle(), todo.isCompleted(), todo.getOrders(),
+                    current.getVersion() + 1, current.getCreationDate());
+        });
+        if (saved == null) {
+            throw new OptimisticLockingFailureException(STALE_TODO + todo.getId());
+        }
+        return (S) copyOf(saved);
+    }
+
+    @Override
+    public <S extends TodoItemDao> Iterable<S> saveAll(Iterable<S> todos) {
+        final var saved = new ArrayList<S>();
+        for (final var todo : todos) {
+            saved.add(save(todo));
+        }
+
+        return saved;
+    }
+
+    @Override
+    public void flush() {
+    }
+
+    @Override
+    public Optional<TodoItemDao> findById(Integer todoId) {
+        return Optional.ofNullable(find(todoId));
+    }
+
+    @Override
+    public boolean existsById(Integer todoId) {
+        return read(todoId) != null;
+    }
+
+    @Override
+    public Optional<TodoItemDao> findByListIdAndId(String listId, int id) {
+        return findById(id).filter(todo -> listId.equals(todo.getListId()));
+    }
+
+    @Override
+    public boolean existsByListIdAndId(String listId, int id) {
+        final var todo = read(id);
+        return todo != null && listId.equals(todo.getListId());
+    }
+
+    @Override
+    public long countByListId(String listId) {
+        final var partition = partitions.get(listId);
+        return partition == null ? 0 : partition.size.get();
+    }
+
+    @Override
+    public long countByListIdAndCompleted(String listId, boolean completed) {
+        final var partition = partitions.get(listId);
+        return partition == null ? 0 : (completed ? partition.completedOrderIndex : partition.openOrderIndex).size();
+    }
+
+    @Override
+    public List<TodoDailyCount> countCreatedPerDayByListId(String listId) {
+        final var partition = partitions.get(listId);
+        if (partition == null) {
+            return new ArrayList<>();
+        }
+
+        final var todosPerDay = new TreeMap<LocalDate, Long>();
+        for (final var todoId : partition.idIndex) {
+            final var todo = read(todoId);
+            if (todo != null && todo.getCreationDate() != null && listId.equals(todo.getListId())) {
+                todosPerDay.merge(todo.getCreationDate().toLocalDate(), 1L, Long::sum);
+            }
+        }
+
+        return todosPerDay.entrySet().stream()
+                .map(day -> new TodoDailyCount(day.getKey(), day.getValue()))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public Iterable<TodoItemDao> findAll() {
+        final var todos = new ArrayList<TodoItemDao>();
+        for (final var stripe : stripes) {
+            final var stamp = stripe.lock.readLock();
+            try {
+                stripe.todos.forEach(todo -> todos.add(copyOf(todo)));
+            } finally {
+                stripe.lock.unlockRead(stamp);
+            }
+        }
+        todos.sort(ID_ORDER);
+
+        return todos;
+    }
+
+    @Override
+    public Iterable<TodoItemDao> findAllById(Iterable<Integer> todoIds) {
+        final var todos = new ArrayList<TodoItemDao>();
+        for (final var todoId : todoIds) {
+            final var todo = find(todoId);
+            if (todo != null) {
+                todos.add(todo);
+            }
+        }
+
+        return todos;
+    }
+
+    @Override
+    public long count() {
+        var count = 0L;
+        for (final var stripe : stripes) {
+            final var stamp = stripe.lock.readLock();
+            try {
+                count += stripe.todos.size();
+            } finally {
+                stripe.lock.unlockRead(stamp);
+            }
+        }
+
+        return count;
+    }
+
+    @Override
+    public void deleteById(Integer todoId) {
+        removeIf(todoId, todo -> true);
+    }
+
+    @Override
+    public void delete(TodoItemDao todo) {
+        deleteById(todo.getId());
+    }
+
+    @Override
+    public void deleteAllById(Iterable<? extends Integer> todoIds) {
+        todoIds.forEach(this::deleteById);
+    }
+
+    @Override
+    public void deleteAll(Iterable<? extends TodoItemDao> todos) {
+        todos.forEach(this::delete);
+    }
+
+    @Override
+    public void deleteAll() {
+        final var stamps = new long[STRIPE_COUNT];
+        for (var index = 0; index < STRIPE_COUNT; index++) {
+            stamps[index] = stripes[index].lock.writeLock();
+        }
+        try {
+            for (final var stripe : stripes) {
+                stripe.todos.clear();
+            }
+            partitions.clear();
+        } finally {
+            for (var index = STRIPE_COUNT - 1; index >= 0; index--) {
+                stripes[index].lock.unlockWrite(stamps[index]);
+            }
+        }
+    }
+
+    @Override
+    public Iterable<TodoItemDao> findAll(Sort sort) {
+        if (sort.isUnsorted() || BY_ID.equals(sort)) {
+            return findAll();
+        }
+
+        return sorted((List<TodoItemDao>) findAll(), sort);
+    }
+
+    @Override
+    public Page<TodoItemDao> findAll(Pageable pageable) {
+        final var todos = (List<TodoItemDao>) findAll(pageable.getSort());
+        if (pageable.isUnpaged()) {
+            return new PageImpl<>(todos);
+        }
+
+        final var fromIndex = (int) Math.min(pageable.getOffset(), todos.size());
+        final var toIndex = Math.min(fromIndex + pageable.getPageSize(), todos.size());
+        return new PageImpl<>(new ArrayList<>(todos.subList(fromIndex, toIndex)), pageable, todos.size());
+    }
+
+    @Override
+    public List<TodoItemDao> findByListId(String listId, Sort sort) {
+        final var partition = partitions.get(listId);
+        if (partition == null) {
+            return new ArrayList<>();
+        }
+
+        final var todos = collect(partition.idIndex, todo -> listId.equals(todo.getListId()));
+        return sort.isUnsorted() || BY_ID.equals(sort) ? todos : sorted(todos, sort);
+    }
+
+    @Override
+    public List<TodoItemDao> findByListIdAndIdIn(String listId, Collection<Integer> ids) {
+        return collect(ids, todo -> listId.equals(todo.getListId()));
+    }
+
+    @Override
+    public List<TodoItemDao> findByListIdAndIdGreaterThanOrderByIdAsc(String listId, int id, Pageable pageable) {
+        final var todos = new ArrayList<TodoItemDao>(pageable.isPaged() ? pageable.getPageSize() : 16);
+        final var partition = partitions.get(listId);
+        if (partition == null) {
+            return todos;
+        }
+
+        var toSkip = pageable.isPaged() ? pageable.getOffset() : 0;
+        for (final var todoId : partition.idIndex.tailSet(id, false)) {
+            if (pageable.isPaged() && todos.size() == pageable.getPageSize()) {
+                break;
+            }
+            final var todo = find(todoId);
+            if (todo != null && listId.equals(todo.getListId()) && toSkip-- <= 0) {
+                todos.add(todo);
+            }
+        }
+
+        return todos;
+    }
+
+    @Override
+    public List<TodoItemDao> findByListIdAndCompleted(String listId, boolean completed, Sort sort) {
+        final var todos = new ArrayList<TodoItemDao>();
+        final var partition = partitions.get(listId);
+        if (partition == null) {
+            return todos;
+        }
+
+        final var orderIndex = completed ? partition.completedOrderIndex : partition.openOrderIndex;
+        final var descending = BY_ORDERS_DESCENDING.equals(sort);
+        for (final var packedOrder : descending ? orderIndex.descendingSet() : orderIndex) {
+            final var todo = read((int) packedOrder.longValue());
+            if (todo != null && todo.isCompleted() == completed && listId.equals(todo.getListId())) {
+                todos.add(copyOf(todo));
+            }
+        }
+
+        return descending || BY_ORDERS.equals(sort) ? todos : sorted(todos, sort);
+    }
+
+    @Override
+    public List<TodoItemDao> findByListIdAndTitleStartingWith(String listId, String titlePrefix, Sort sort) {
+        return sorted(collectByTitlePrefix(listId, titlePrefix, todo -> true), sort);
+    }
+
+    @Override
+    public List<TodoItemDao> findByListIdAndCompletedAndTitleStartingWith(String listId, boolean completed, String titlePrefix, Sort sort) {
+        return sorted(collectByTitlePrefix(listId, titlePrefix, todo -> todo.isCompleted() == completed), sort);
+    }
+
+    @Override
+    public List<TodoItemDao> findPrecedingByListIdInOrder(String listId, int orders, int id, int excludedId, Pageable pageable) {
+        return findNeighboursInOrder(listId, packOrder(orders, id), excludedId, pageable, true);
+    }
+
+    @Override
+    public List<TodoItemDao> findFollowingByListIdInOrder(String listId, int orders, int id, int excludedId, Pageable pageable) {
+        return findNeighboursInOrder(listId, packOrder(orders, id), excludedId, pageable, false);
+    }
+
+    private List<TodoItemDao> findNeighboursInOrder(String listId, long packedOrder, int excludedId, Pageable pageable, boolean preceding) {
+        final var todos = new ArrayList<TodoItemDao>(pageable.isPaged() ? pageable.getPageSize() : 16);
+        final var partition = partitions.get(listId);
+        if (partition == null) {
+            return todos;
+        }
+
+        final var open = neighbourOrders(partition.openOrderIndex, packedOrder, preceding);
+        final var completed = neighbourOrders(partition.completedOrderIndex, packedOrder, preceding);
+        var nextOpen = nextOrNull(open);
+        var nextCompleted = nextOrNull(completed);
+        var toSkip = pageable.isPaged() ? pageable.getOffset() : 0;
+        while ((nextOpen != null || nextCompleted != null) && (pageable.isUnpaged() || todos.size() < pageable.getPageSize())) {
+            final var takeOpen = nextCompleted == null
+                    || nextOpen != null && (preceding ? nextOpen > nextCompleted : nextOpen < nextCompleted);
+            final long packedNeighbour = takeOpen ? nextOpen : nextCompleted;
+            if (takeOpen) {
+                nextOpen = nextOrNull(open);
+            } else {
+                nextCompleted = nextOrNull(completed);
+            }
+            final var todo = read((int) packedNeighbour);
+            if (todo != null && todo.getId() != excludedId && listId.equals(todo.getListId()) && packOrder(todo) == packedNeighbour
+                    && toSkip-- <= 0) {
+                todos.add(copyOf(todo));
+            }
+        }
+
+        return todos;
+    }
+
+    private static Iterator<Long> neighbourOrders(ConcurrentSkipListSet<Long> orderIndex, long packedOrder, boolean preceding) {
+        return preceding
+                ? orderIndex.headSet(packedOrder, false).descendingIterator()
+                : orderIndex.tailSet(packedOrder, false).iterator();
+    }
+
+    private static Long nextOrNull(Iterator<Long> orders) {
+        return orders.hasNext() ? orders.next() : null;
+    }
+
+    @Override
+    public Stream<TodoItemDao> streamByListIdOrderByIdAsc(String listId) {
+        final var partition = partitions.get(listId);
+        if (partition == null) {
+            return Stream.empty();
+        }
+
+        return partition.idIndex.stream()
+                .map(this::find)
+                .filter(todo -> todo != null && listId.equals(todo.getListId()));
+    }
+
+    @Override
+    public Stream<TodoItemDao> streamAllByOrderByIdAsc() {
+        return ((List<TodoItemDao>) findAll()).stream();
+    }
+
+    @Override
+    public Optional<TodoItemDao> updateAllFieldsByListIdAndIdAndCompleted(String listId, int id, boolean wasCompleted, String title, boolean completed,
+                                                                          int orders) {
+        return Optional.ofNullable(update(id, current -> !listId.equals(current.getListId()) || current.isCompleted() != wasCompleted
+                ? null
+                : new TodoItemDao(id, listId, title, completed, orders, current.getVersion() + 1, current.getCreationDate())))
+                .map(InMemoryTodoRepository::copyOf);
+    }
+
+    @Override
+    public int updateAllFieldsByListIdAndIdAndVersion(String listId, int id, long version, String title, boolean completed, int orders) {
+        return update(id, current -> !listId.equals(current.getListId()) || current.getVersion() != version
+                ? null
+                : new TodoItemDao(id, listId, title, completed, orders, version + 1, current.getCreationDate())) == null ? 0 : 1;
+    }
+
+    @Override
+    public int updateAllFieldsByListIdAndIdAndVersionAndCompleted(String listId, int id, long version, boolean wasCompleted, String title,
+                                                                  boolean completed, int orders) {
+        return update(id, current -> !listId.equals(current.getListId()) || current.getVersion() != version || current.isCompleted() != wasCompleted
+                ? null
+                : new TodoItemDao(id, listId, title, completed, orders, version + 1, current.getCreationDate())) == null ? 0 : 1;
+    }
+
+    @Override
+    public int updateOrdersByListIdAndId(String listId, int id, int orders) {
+        return update(id, current -> !listId.equals(current.getListId())
+                ? null
+                : new TodoItemDao(id, listId, current.getTitle(), current.isCompleted(), orders, current.getVersion() + 1,
+                current.getCreationDate())) == null ? 0 : 1;
+    }
+
+    @Override
+    public Optional<TodoItemDao> softDeleteTodoByListIdAndId(String listId, int id, LocalDateTime deletedAt) {
+        return Optional.ofNullable(removeIf(id, todo -> listId.equals(todo.getListId())));
+    }
+
+    @Override
+    public Optional<TodoItemDao> softDeleteTodoByListIdAndIdAndVersion(String listId, int id, long version, LocalDateTime deletedAt) {
+        return Optional.ofNullable(removeIf(id, todo -> listId.equals(todo.getListId()) && todo.getVersion() == version));
+    }
+
+    @Override
+    public int softDeleteTodosByListIdAndIdIn(String listId, Collection<Integer> ids, LocalDateTime deletedAt) {
+        var deleted = 0;
+        for (final var todoId : ids) {
+            if (removeIf(todoId, todo -> listId.equals(todo.getListId())) != null) {
+                deleted++;
+            }
+        }
+        return deleted;
+    }
+
+    @Override
+    public List<Integer> findTombstoneIds(LocalDateTime deletedBefore, int limit) {
+        return List.of();
+    }
+
+    @Override
+    public int purgeTombstonesByIdIn(Collection<Integer> ids) {
+        return 0;
+    }
+
+    @Override
+    public long countTombstones() {
+        return 0;
+    }
+
+    @Override
+    public int softDeleteTodosByListId(String listId, LocalDateTime deletedAt) {
+        final var partition = partitions.get(listId);
+        if (partition == null) {
+            return 0;
+        }
+
+        var deleted = 0;
+        for (final var todoId : partition.idIndex) {
+            if (removeIf(todoId, todo -> listId.equals(todo.getListId())) != null) {
+                deleted++;
+            }
+        }
+        return deleted;
+    }
+
+    private Stripe stripeOf(int todoId) {
+        return stripes[IntTodoMap.hash(todoId) >>> (Integer.SIZE - STRIPE_BITS)];
+    }
+
+    private TodoItemDao find(Integer todoId) {
+        final var todo = todoId == null ? null : read(todoId);
+        return todo == null ? null : copyOf(todo);
+    }
+
+    private TodoItemDao read(int todoId) {
+        final var stripe = stripeOf(todoId);
+        final var optimisticStamp = stripe.lock.tryOptimisticRead();
+        final var todo = stripe.todos.get(todoId);
+        if (stripe.lock.validate(optimisticStamp)) {
+            return todo;
+        }
+
+        final var stamp = stripe.lock.readLock();
+        try {
+            return stripe.todos.get(todoId);
+        } finally {
+            stripe.lock.unlockRead(stamp);
+        }
+    }
+
+    private void insert(TodoItemDao todo) {
+        final var stripe = stripeOf(todo.getId());
+        final var stamp = stripe.lock.writeLock();
+        try {
+            reindex(stripe.todos.put(todo.getId(), todo), todo);
+        } finally {
+            stripe.lock.unlockWrite(stamp);
+        }
+    }
+
+    private TodoItemDao update(int todoId, UnaryOperator<TodoItemDao> update) {
+        final var stripe = stripeOf(todoId);
+        final var stamp = stripe.lock.writeLock();
+        try {
+            final var current = stripe.todos.get(todoId);
+            final var updated = current == null ? null : update.apply(current);
+            if (updated != null && updated != current) {
+                stripe.todos.put(todoId, updated);
+                reindex(current, updated);
+            }
+            return updated;
+        } finally {
+            stripe.lock.unlockWrite(stamp);
+        }
+    }
+
+    private TodoItemDao removeIf(int todoId, Predicate<TodoItemDao> condition) {
+        final var stripe = stripeOf(todoId);
+        final var stamp = stripe.lock.writeLock();
+        try {
+            final var current = stripe.todos.get(todoId);
+            if (current == null || !condition.test(current)) {
+                return null;
+            }
+            stripe.todos.remove(todoId);
+            reindex(current, null);
+            return current;
+        } finally {
+            stripe.lock.unlockWrite(stamp);
+        }
+    }
+
+    private void reindex(TodoItemDao previous, TodoItemDao next) {
+        final var partition = partitions.computeIfAbsent((next == null ? previous : next).getListId(), listId -> new Partition());
+        if (previous == null) {
+            partition.idIndex.add(next.getId());
+            partition.size.incrementAndGet();
+        } else if (next == null) {
+            partition.idIndex.remove(previous.getId());
+            partition.size.decrementAndGet();
+        }
+
+        if (previous == null || next == null || previous.isCompleted() != next.isCompleted() || previous.getOrders() != next.getOrders()) {
+            if (previous != null) {
+                partition.orderIndexOf(previous).remove(packOrder(previous));
+            }
+            if (next != null) {
+                partition.orderIndexOf(next).add(packOrder(next));
+            }
+        }
+
+        if (previous == null || next == null || !Objects.equals(previous.getTitle(), next.getTitle())) {
+            if (previous != null && previous.getTitle() != null) {
+                partition.titleIndex.remove(new TitleKey(previous.getTitle(), previous.getId()));
+            }
+            if (next != null && next.getTitle() != null) {
+                partition.titleIndex.add(new TitleKey(next.getTitle(), next.getId()));
+            }
+        }
+    }
+
+    private static long packOrder(TodoItemDao todo) {
+        return packOrder(todo.getOrders(), todo.getId());
+    }
+
+    private static long packOrder(int orders, int id) {
+        return ((long) orders << Integer.SIZE) | (id & 0xFFFFFFFFL);
+    }
+
+    private List<TodoItemDao> collect(Iterable<Integer> todoIds, Predicate<TodoItemDao> filter) {
+        final var todos = new ArrayList<TodoItemDao>();
+        for (final var todoId : todoIds) {
+            final var todo = read(todoId);
+            if (todo != null && filter.test(todo)) {
+                todos.add(copyOf(todo));
+            }
+        }
+
+        return todos;
+    }
+
+    private List<TodoItemDao> collectByTitlePrefix(String listId, String titlePrefix, Predicate<TodoItemDao> filter) {
+        final var todos = new ArrayList<TodoItemDao>();
+        final var partition = partitions.get(listId);
+        if (partition == null) {
+            return todos;
+        }
+
+        for (final var titleKey : partition.titleIndex.tailSet(new TitleKey(titlePrefix, Integer.MIN_VALUE))) {
+            if (!titleKey.title.startsWith(titlePrefix)) {
+                break;
+            }
+            final var todo = read(titleKey.id);
+            if (todo != null && listId.equals(todo.getListId()) && todo.getTitle() != null && todo.getTitle().startsWith(titlePrefix)
+                    && filter.test(todo)) {
+                todos.add(copyOf(todo));
+            }
+        }
+
+        return todos;
+    }
+
+    private static List<TodoItemDao> sorted(List<TodoItemDao> todos, Sort sort) {
+        todos.sort(comparatorOf(sort));
+        return todos;
+    }
+
+    private static Comparator<TodoItemDao> comparatorOf(Sort sort) {
+        Comparator<TodoItemDao> comparator = null;
+        for (final var order : sort) {
+            final var property = propertyComparator(order.getProperty());
+            final var next = order.isAscending() ? property : property.reversed();
+            comparator = comparator == null ? next : comparator.thenComparing(next);
+        }
+
+        return comparator == null ? ID_ORDER : comparator.thenComparing(ID_ORDER);
+    }
+
+    private static Comparator<TodoItemDao> propertyComparator(String property) {
+        switch (property) {
+            case ID:
+                return ID_ORDER;
+            case TITLE:
+                return Comparator.comparing(TodoItemDao::getTitle, Comparator.nullsFirst(Comparator.naturalOrder()));
+            case COMPLETED:
+                return (first, second) -> Boolean.compare(first.isCompleted(), second.isCompleted());
+            case ORDERS:
+                return Comparator.comparingInt(TodoItemDao::getOrders);
+            case CREATION_DATE:
+                return Comparator.comparing(TodoItemDao::getCreationDate, Comparator.nullsFirst(Comparator.naturalOrder()));
+            case VERSION:
+                return Comparator.comparingLong(TodoItemDao::getVersion);
+            default:
+                throw new PropertyReferenceException(property, TypeInformation.of(TodoItemDao.class), List.of());
+        }
+    }
+
+    private static boolean sameFields(TodoItemDao todo, String title, boolean completed, int orders) {
+        return Objects.equals(todo.getTitle(), title) && todo.isCompleted() == completed && todo.getOrders() == orders;
+    }
+
+    private static TodoItemDao copyOf(TodoItemDao todo) {
+        return new TodoItemDao(todo.getId(), todo.getListId(), todo.getTitle(), todo.isCompleted(), todo.getOrders(), todo.getVersion(),
+                todo.getCreationDate());
+    }
+
+    public void writeSnapshot() {
+        final var todos = new ArrayList<TodoItemDao>();
+        for (final var stripe : stripes) {
+            final var stamp = stripe.lock.readLock();
+            try {
+                stripe.todos.forEach(todos::add);
+            } finally {
+                stripe.lock.unlockRead(stamp);
+            }
+        }
+
+        final var temporaryFile = snapshotFile.resolveSibling(snapshotFile.getFileName() + ".tmp");
+        try {
+            final var directory = snapshotFile.toAbsolutePath().getParent();
+            if (directory != null) {
+                Files.createDirectories(directory);
+            }
+            try (final var output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporaryFile)))) {
+                output.writeInt(SNAPSHOT_MAGIC);
+                output.writeInt(SNAPSHOT_FORMAT);
+                output.writeInt(lastId.get());
+                output.writeInt(todos.size());
+                for (final var todo : todos) {
+                    writeTodo(output, todo);
+                }
+            }
+            Files.move(temporaryFile, snapshotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void writeTodo(DataOutputStream output, TodoItemDao todo) throws IOException {
+        output.writeInt(todo.getId());
+        output.writeLong(todo.getVersion());
+        output.writeBoolean(todo.isCompleted());
+        output.writeInt(todo.getOrders());
+        output.writeLong(todo.getCreationDate().toEpochSecond(ZoneOffset.UTC));
+        output.writeInt(todo.getCreationDate().getNano());
+        if (todo.getTitle() == null) {
+            output.writeInt(NULL_TITLE);
+        } else {
+            final var title = todo.getTitle().getBytes(StandardCharsets.UTF_8);
+            output.writeInt(title.length);
+            output.write(title);
+        }
+        output.writeUTF(todo.getListId());
+    }
+
+    private void readSnapshot() {
+        if (!Files.exists(snapshotFile)) {
+            return;
+        }
+
+        try (final var input = new DataInputStream(new BufferedInputStream(Files.newInputStream(snapshotFile)))) {
+            if (input.readInt() != SNAPSHOT_MAGIC) {
+                throw new IllegalStateException(INVALID_SNAPSHOT + snapshotFile);
+            }
+            final var format = input.readInt();
+            if (format != SNAPSHOT_FORMAT && format != SINGLE_LIST_SNAPSHOT_FORMAT) {
+                throw new IllegalStateException(INVALID_SNAPSHOT + snapshotFile);
+            }
+            lastId.set(input.readInt());
+            final var count = input.readInt();
+            for (var index = 0; index < count; index++) {
+                insert(readTodo(input, format));
+            }
+            LOGGER.info("Loaded {} todos from snapshot {}", count, snapshotFile);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static TodoItemDao readTodo(DataInputStream input, int format) throws IOException {
+        final var id = input.readInt();
+        final var version = input.readLong();
+        final var completed = input.readBoolean();
+        final var orders = input.readInt();
+        final var creationDate = LocalDateTime.ofEpochSecond(input.readLong(), input.readInt(), ZoneOffset.UTC);
+        final var titleLength = input.readInt();
+        final var title = titleLength == NULL_TITLE ? null : new String(input.readNBytes(titleLength), StandardCharsets.UTF_8);
+        final var listId = format == SINGLE_LIST_SNAPSHOT_FORMAT ? TodoItemDao.DEFAULT_LIST_ID : input.readUTF();
+
+        return new TodoItemDao(id, listId, title, completed, orders, version, creationDate);
+    }
+
+    private void writeSnapshotQuietly() {
+        try {
+            writeSnapshot();
+        } catch (RuntimeException e) {
+            LOGGER.warn("Writing the todo snapshot to {} failed", snapshotFile, e);
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        if (snapshotWriter != null) {
+            snapshotWriter.shutdown();
+        }
+        writeSnapshotQuietly();
+    }
+
+    private static final class Stripe {
+
+        private final StampedLock lock = new StampedLock();
+        private final IntTodoMap todos = new IntTodoMap();
+    }
+
+    private static final class Partition {
+
+        private final ConcurrentSkipListSet<Integer> idIndex = new ConcurrentSkipListSet<>();
+        private final ConcurrentSkipListSet<Long> openOrderIndex = new ConcurrentSkipListSet<>();
+        private final ConcurrentSkipListSet<Long> completedOrderIndex = new ConcurrentSkipListSet<>();
+        private final ConcurrentSkipListSet<TitleKey> titleIndex = new ConcurrentSkipListSet<>();
+        private final AtomicLong size = new AtomicLong();
+
+        private ConcurrentSkipListSet<Long> orderIndexOf(TodoItemDao todo) {
+            return todo.isCompleted() ? completedOrderIndex : openOrderIndex;
+        }
+    }
+
+    private static final class TitleKey implements Comparable<TitleKey> {
+
+        private final String title;
+        private final int id;
+
+        private TitleKey(String title, int id) {
+            this.title = title;
+            this.id = id;
+        }
+
+        @Override
+        public int compareTo(TitleKey other) {
+            final var byTitle = title.compareTo(other.title);
+            return byTitle != 0 ? byTitle : Integer.compare(id, other.id);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof TitleKey titleKey && compareTo(titleKey) == 0;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * title.hashCode() + id;
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.kevin.todo.spring.todolist.repository;
+
+import com.kevin.todo.spring.todolist.model.TodoItemDao;
+
+import java.util.function.Consumer;
+
+final class IntTodoMap {
+
+    private static final int MIN_CAPACITY = 16;
+    private static final int GOLDEN_RATIO = 0x9E3779B9;
+
+    private int[] keys;
+    private TodoItemDao[] values;
+    private int size;
+    private int resizeThreshold;
+
+    IntTodoMap() {
+        allocate(MIN_CAPACITY);
+    }
+
+    static int hash(int key) {
+        final var hash = key * GOLDEN_RATIO;
+        return hash ^ (hash >>> 16);
+    }
+
+    TodoItemDao get(int key) {
+        final var currentValues = values;
+        final var currentKeys = keys;
+        if (currentKeys.length != currentValues.length) {
+            return null;
+        }
+        final var mask = currentValues.length - 1;
+        var slot = hash(key) & mask;
+        for (var probes = 0; probes <= mask; probes++) {
+            final var value = currentValues[slot];
+            if (value == null) {
+                return null;
+            }
+            if (currentKeys[slot] == key) {
+                return value;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        return null;
+    }
+
+    TodoItemDao put(int key, TodoItemDao value) {
+        final var mask = values.length - 1;
+        var slot = hash(key) & mask;
+        while (values[slot] != null) {
+            if (keys[slot] == key) {
+                final var previous = values[slot];
+                values[slot] = value;
+                return previous;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        keys[slot] = key;
+        values[slot] = value;
+        if (++size > resizeThreshold) {
+            resize(values.length << 1);
+        }
+        return null;
+    }
+
+    TodoItemDao remove(int key) {
+        final var mask = values.length - 1;
+        var slot = hash(key) & mask;
+        while (values[slot] != null) {
+            if (keys[slot] == key) {
+                final var previous = values[slot];
+                shiftBack(slot, mask);
+                size--;
+                return previous;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        return null;
+    }
+
+    private void shiftBack(int freedSlot, int mask) {
+        var gap = freedSlot;
+        var slot = (gap + 1) & mask;
+        while (values[slot] != null) {
+            final var home = hash(keys[slot]) & mask;
+            if (((slot - home) & mask) >= ((slot - gap) & mask)) {
+                keys[gap] = keys[slot];
+                values[gap] = values[slot];
+                gap = slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        values[gap] = null;
+    }
+
+    int size() {
+        return size;
+    }
+
+    void forEach(Consumer<TodoItemDao> consumer) {
+        for (final var value : values) {
+            if (value != null) {
+                consumer.accept(value);
+            }
+        }
+    }
+
+    void clear() {
+        allocate(MIN_CAPACITY);
+        size = 0;
+    }
+
+    private void resize(int capacity) {
+        final var oldKeys = keys;
+        final var oldValues = values;
+        allocate(capacity);
+        final var mask = capacity - 1;
+        for (var index = 0; index < oldValues.length; index++) {
+            if (oldValues[index] != null) {
+                var slot = hash(oldKeys[index]) & mask;
+                while (values[slot] != null) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[index];
+                values[slot] = oldValues[index];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        values = new TodoItemDao[capacity];
+        resizeThreshold = capacity / 2;
+    }
+}
@@ -0,0 +1,53 @@
+package com.kevin.todo.spring.todolist.repository;
+
+import com.kevin.todo.spring.todolist.model.ReactiveTodoItemDao;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import org.springframework.data.repository.reactive.ReactiveSortingRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveTodoRepository extends ReactiveCrudRepository<ReactiveTodoItemDao, Integer>,
+        ReactiveSortingRepository<ReactiveTodoItemDao, Integer> {
+
+    @Query("select next value for TODOS_SEQ")
+    Mono<Long> nextIdBlock();
+
+    Flux<ReactiveTodoItemDao> findByIdGreaterThanOrderByIdAsc(int id, Pageable pageable);
+
+    Flux<ReactiveTodoItemDao> findByCompleted(boolean completed, Sort sort);
+
+    Flux<ReactiveTodoItemDao> findByTitleStartingWith(String titlePrefix, Sort sort);
+
+    Flux<ReactiveTodoItemDao> findByCompletedAndTitleStartingWith(boolean completed, String titlePrefix, Sort sort);
+
+    @Modifying
+    @Query("update TODOS set title = :title, completed = :completed, orders = :orders, " +
+            "version = version + 1 where id = :id")
+    Mono<Integer> updateAllFieldsById(@Param("id") int id,
+                                      @Param("title") String title,
+                                      @Param("completed") boolean completed,
+                                      @Param("orders") int orders);
+
+    @Modifying
+    @Query("update TODOS set title = :title, completed = :completed, orders = :orders, " +
+            "version = version + 1 where id = :id and version = :version")
+    Mono<Integer> updateAllFieldsByIdAndVersion(@Param("id") int id,
+                                                @Param("version") long version,
+                                                @Param("title") String title,
+                                                @Param("completed") boolean completed,
+                                                @Param("orders") int orders);
+
+    @Modifying
+    @Query("delete from TODOS where id = :id")
+    Mono<Integer> deleteTodoById(@Param("id") int id);
+
+    @Modifying
+    @Query("delete from TODOS where id = :id and version = :version")
+    Mono<Integer> deleteTodoByIdAndVersion(@Param("id") int id, @Param("version") long version);
+
+}
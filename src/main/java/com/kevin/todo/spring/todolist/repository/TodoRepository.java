@@ -1,8 +1,122 @@
 package com.kevin.todo.spring.todolist.repository;
 
+import com.kevin.todo.spring.todolist.model.TodoDailyCount;
 import com.kevin.todo.spring.todolist.model.TodoItemDao;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.PagingAndSortingRepository;
+import org.springframework.data.repository.query.Param;
 
-public interface TodoRepository extends CrudRepository<TodoItemDao, Integer> {
+import jakarta.persistence.QueryHint;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+public interface TodoRepository extends CrudRepository<TodoItemDao, Integer>, PagingAndSortingRepository<TodoItemDao, Integer>, TodoRowWrites {
+
+    String STREAM_FETCH_SIZE = "500";
+
+    Optional<TodoItemDao> findByListIdAndId(String listId, int id);
+
+    boolean existsByListIdAndId(String listId, int id);
+
+    long countByListId(String listId);
+
+    long countByListIdAndCompleted(String listId, boolean completed);
+
+    @Query("select new com.kevin.todo.spring.todolist.model.TodoDailyCount(cast(t.creationDate as LocalDate), count(t)) " +
+            "from TodoItemDao t where t.listId = :listId and t.creationDate is not null group by cast(t.creationDate as LocalDate)")
+    List<TodoDailyCount> countCreatedPerDayByListId(@Param("listId") String listId);
+
+    List<TodoItemDao> findByListId(String listId, Sort sort);
+
+    List<TodoItemDao> findByListIdAndIdIn(String listId, Collection<Integer> ids);
+
+    List<TodoItemDao> findByListIdAndIdGreaterThanOrderByIdAsc(String listId, int id, Pageable pageable);
+
+    List<TodoItemDao> findByListIdAndCompleted(String listId, boolean completed, Sort sort);
+
+    List<TodoItemDao> findByListIdAndTitleStartingWith(String listId, String titlePrefix, Sort sort);
+
+    List<TodoItemDao> findByListIdAndCompletedAndTitleStartingWith(String listId, boolean completed, String titlePrefix, Sort sort);
+
+    @Query("select t from TodoItemDao t where t.listId = :listId and t.id <> :excludedId " +
+            "and (t.orders < :orders or (t.orders = :orders and t.id < :id)) order by t.orders desc, t.id desc")
+    List<TodoItemDao> findPrecedingByListIdInOrder(@Param("listId") String listId,
+                                                   @Param("orders") int orders,
+                                                   @Param("id") int id,
+                                                   @Param("excludedId") int excludedId,
+                                                   Pageable pageable);
+
+    @Query("select t from TodoItemDao t where t.listId = :listId and t.id <> :excludedId " +
+            "and (t.orders > :orders or (t.orders = :orders and t.id > :id)) order by t.orders, t.id")
+    List<TodoItemDao> findFollowingByListIdInOrder(@Param("listId") String listId,
+                                                   @Param("orders") int orders,
+                                                   @Param("id") int id,
+                                                   @Param("excludedId") int excludedId,
+                                                   Pageable pageable);
+
+    @Query("select new com.kevin.todo.spring.todolist.model.TodoItemDao(t.id, t.listId, t.title, t.completed, t.orders, t.version, t.creationDate) " +
+            "from TodoItemDao t where t.listId = :listId order by t.id")
+    @QueryHints(@QueryHint(name = org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE))
+    Stream<TodoItemDao> streamByListIdOrderByIdAsc(@Param("listId") String listId);
+
+    @Query("select new com.kevin.todo.spring.todolist.model.TodoItemDao(t.id, t.listId, t.title, t.completed, t.orders, t.version, t.creationDate) " +
+            "from TodoItemDao t order by t.id")
+    @QueryHints(@QueryHint(name = org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE))
+    Stream<TodoItemDao> streamAllByOrderByIdAsc();
+
+    @Modifying
+    @Query("update TodoItemDao t set t.title = :title, t.completed = :completed, t.orders = :orders, " +
+            "t.version = t.version + 1 where t.listId = :listId and t.id = :id and t.version = :version and t.completed = :wasCompleted")
+    int updateAllFieldsByListIdAndIdAndVersionAndCompleted(@Param("listId") String listId,
+                                                           @Param("id") int id,
+                                                           @Param("version") long version,
+                                                           @Param("wasCompleted") boolean wasCompleted,
+                                                           @Param("title") String title,
+                                                           @Param("completed") boolean completed,
+                                                           @Param("orders") int orders);
+
+    @Modifying
+    @Query("update TodoItemDao t set t.title = :title, t.completed = :completed, t.orders = :orders, " +
+            "t.version = t.version + 1 where t.listId = :listId and t.id = :id and t.version = :version")
+    int updateAllFieldsByListIdAndIdAndVersion(@Param("listId") String listId,
+                                               @Param("id") int id,
+                                               @Param("version") long version,
+                                               @Param("title") String title,
+                                               @Param("completed") boolean completed,
+                                               @Param("orders") int orders);
+
+    @Modifying
+    @Query("update TodoItemDao t set t.orders = :orders, t.version = t.version + 1 where t.listId = :listId and t.id = :id")
+    int updateOrdersByListIdAndId(@Param("listId") String listId, @Param("id") int id, @Param("orders") int orders);
+
+    @Modifying
+    @Query("update TodoItemDao t set t.deletedAt = :deletedAt, t.version = t.version + 1 where t.listId = :listId and t.id in :ids")
+    int softDeleteTodosByListIdAndIdIn(@Param("listId") String listId,
+                                       @Param("ids") Collection<Integer> ids,
+                                       @Param("deletedAt") LocalDateTime deletedAt);
+
+    @Modifying
+    @Query("update TodoItemDao t set t.deletedAt = :deletedAt, t.version = t.version + 1 where t.listId = :listId")
+    int softDeleteTodosByListId(@Param("listId") String listId, @Param("deletedAt") LocalDateTime deletedAt);
+
+    @Query(value = "select id from TODOS where deleted_at < :deletedBefore order by deleted_at, id limit :limit", nativeQuery = true)
+    List<Integer> findTombstoneIds(@Param("deletedBefore") LocalDateTime deletedBefore, @Param("limit") int limit);
+
+    @Modifying
+    @Query(value = "delete from TODOS where id in (:ids) and deleted_at is not null", nativeQuery = true)
+    int purgeTombstonesByIdIn(@Param("ids") Collection<Integer> ids);
+
+    @Query(value = "select count(*) from TODOS where deleted_at is not null", nativeQuery = true)
+    long countTombstones();
+
+    void flush();
 
 }
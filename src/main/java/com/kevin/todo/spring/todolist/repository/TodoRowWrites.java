@@ -0,0 +1,16 @@
+package com.kevin.todo.spring.todolist.repository;
+
+import com.kevin.todo.spring.todolist.model.TodoItemDao;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+public interface TodoRowWrites {
+
+    Optional<TodoItemDao> updateAllFieldsByListIdAndIdAndCompleted(String listId, int id, boolean wasCompleted, String title, boolean completed,
+                                                                   int orders);
+
+    Optional<TodoItemDao> softDeleteTodoByListIdAndId(String listId, int id, LocalDateTime deletedAt);
+
+    Optional<TodoItemDao> softDeleteTodoByListIdAndIdAndVersion(String listId, int id, long version, LocalDateTime deletedAt);
+}
@@ -0,0 +1,61 @@
+package com.kevin.todo.spring.todolist.repository;
+
+import com.kevin.todo.spring.todolist.model.TodoItemDao;
+import org.springframework.jdbc.core.ArgumentPreparedStatementSetter;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+class TodoRowWritesImpl implements TodoRowWrites {
+
+    private static final String[] WRITTEN_COLUMNS = {"id", "list_id", "title", "completed", "orders", "version", "creation_date"};
+    private static final String UPDATE_ALL_FIELDS = "update TODOS set title = ?, completed = ?, orders = ?, version = version + 1 " +
+            "where list_id = ? and id = ? and completed = ? and deleted_at is null";
+    private static final String SOFT_DELETE = "update TODOS set deleted_at = ?, version = version + 1 where list_id = ? and id = ? and deleted_at is null";
+    private static final String SOFT_DELETE_AT_VERSION = SOFT_DELETE + " and version = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    TodoRowWritesImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public Optional<TodoItemDao> updateAllFieldsByListIdAndIdAndCompleted(String listId, int id, boolean wasCompleted, String title, boolean completed,
+                                                                          int orders) {
+        return updateReturning(UPDATE_ALL_FIELDS, title, completed, orders, listId, id, wasCompleted);
+    }
+
+    @Override
+    public Optional<TodoItemDao> softDeleteTodoByListIdAndId(String listId, int id, LocalDateTime deletedAt) {
+        return updateReturning(SOFT_DELETE, deletedAt, listId, id);
+    }
+
+    @Override
+    public Optional<TodoItemDao> softDeleteTodoByListIdAndIdAndVersion(String listId, int id, long version, LocalDateTime deletedAt) {
+        return updateReturning(SOFT_DELETE_AT_VERSION, deletedAt, listId, id, version);
+    }
+
+    private Optional<TodoItemDao> updateReturning(String sql, Object... args) {
+        return Optional.ofNullable(jdbcTemplate.execute((ConnectionCallback<TodoItemDao>) connection -> {
+            try (final var statement = connection.prepareStatement(sql, WRITTEN_COLUMNS)) {
+                new ArgumentPreparedStatementSetter(args).setValues(statement);
+                if (statement.executeUpdate() == 0) {
+                    return null;
+                }
+                try (final var written = statement.getGeneratedKeys()) {
+                    return written.next() ? toTodo(written) : null;
+                }
+            }
+        }));
+    }
+
+    private static TodoItemDao toTodo(ResultSet written) throws SQLException {
+        return new TodoItemDao(written.getInt("id"), written.getString("list_id"), written.getString("title"), written.getBoolean("completed"),
+                written.getInt("orders"), written.getLong("version"), written.getObject("creation_date", LocalDateTime.class));
+    }
+}
@@ -0,0 +1,26 @@
+package com.kevin.todo.spring.todolist.service;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+@Component
+@ConditionalOnProperty(prefix = "todos.cluster", name = "bus", havingValue = "loopback")
+public class LoopbackTodoClusterBus implements TodoClusterBus {
+
+    private static final List<Consumer<TodoClusterEvent>> LISTENERS = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(TodoClusterEvent event) {
+        LISTENERS.forEach(listener -> listener.accept(event));
+    }
+
+    @Override
+    public TodoChangeLog.Subscription subscribe(Consumer<TodoClusterEvent> listener) {
+        LISTENERS.add(listener);
+        return () -> LISTENERS.remove(listener);
+    }
+}
@@ -0,0 +1,312 @@
+package com.kevin.todo.spring.todolist.service;
+
+import java.util.Arrays;
+
+final class PostingList {
+
+    static final int NO_MORE_IDS = Integer.MAX_VALUE;
+    private static final int BLOCK_SIZE = 128;
+    private static final int MAX_BLOCK_SIZE = 2 * BLOCK_SIZE;
+    private static final int MIN_TAIL_CAPACITY = 2;
+    private static final int MAX_PAYLOAD_VALUE = 0xFF;
+    private static final int MAX_VARINT_BYTES = 5;
+    private static final int PAYLOAD_BYTES = 2;
+
+    private final String token;
+    private int[] firstIds = new int[0];
+    private int[] lastIds = new int[0];
+    private int[] counts = new int[0];
+    private byte[][] blocks = new byte[0][];
+    private int blockCount;
+    private int[] tail = new int[MIN_TAIL_CAPACITY];
+    private int[] tailPayloads = new int[MIN_TAIL_CAPACITY];
+    private int tailSize;
+    private int size;
+
+    PostingList(String token) {
+        this.token = token;
+    }
+
+    static int payload(int frequency, int length) {
+        return Math.min(frequency, MAX_PAYLOAD_VALUE) << 8 | Math.min(length, MAX_PAYLOAD_VALUE);
+    }
+
+    static int frequency(int payload) {
+        return payload >>> 8;
+    }
+
+    static int length(int payload) {
+        return payload & MAX_PAYLOAD_VALUE;
+    }
+
+    String token() {
+        return token;
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    void add(int id, int payload) {
+        if (blockCount == 0 || id > lastIds[blockCount - 1]) {
+            addToTail(id, payload);
+            return;
+        }
+
+        final var block = findBlock(id);
+        final var count = counts[block];
+        final var ids = new int[count + 1];
+        final var payloads = new int[count + 1];
+        decode(block, ids, payloads);
+        final var position = Arrays.binarySearch(ids, 0, count, id);
+        if (position >= 0) {
+            payloads[position] = payload;
+            encode(block, ids, payloads, 0, count);
+            return;
+        }
+        final var insertion = -position - 1;
+        System.arraycopy(ids, insertion, ids, insertion + 1, count - insertion);
+        System.arraycopy(payloads, insertion, payloads, insertion + 1, count - insertion);
+        ids[insertion] = id;
+        payloads[insertion] = payload;
+        size++;
+        if (count + 1 > MAX_BLOCK_SIZE) {
+            final var half = (count + 1) / 2;
+            insertBlock(block + 1);
+            encode(block, ids, payloads, 0, half);
+            encode(block + 1, ids, payloads, half, count + 1);
+        } else {
+            encode(block, ids, payloads, 0, count + 1);
+        }
+    }
+
+    private void addToTail(int id, int payload) {
+        final var position = Arrays.binarySearch(tail, 0, tailSize, id);
+        if (position >= 0) {
+            tailPayloads[position] = payload;
+            return;
+        }
+        final var insertion = -position - 1;
+        if (tailSize == tail.length) {
+            tail = Arrays.copyOf(tail, Math.min(tail.length << 1, BLOCK_SIZE));
+            tailPayloads = Arrays.copyOf(tailPayloads, tail.length);
+        }
+        System.arraycopy(tail, insertion, tail, insertion + 1, tailSize - insertion);
+        System.arraycopy(tailPayloads, insertion, tailPayloads, insertion + 1, tailSize - insertion);
+        tail[insertion] = id;
+        tailPayloads[insertion] = payload;
+        tailSize++;
+        size++;
+        if (tailSize == BLOCK_SIZE) {
+            insertBlock(blockCount);
+            encode(blockCount - 1, tail, tailPayloads, 0, tailSize);
+            tail = new int[MIN_TAIL_CAPACITY];
+            tailPayloads = new int[MIN_TAIL_CAPACITY];
+            tailSize = 0;
+        }
+    }
+
+    void remove(int id) {
+        if (blockCount == 0 || id > lastIds[blockCount - 1]) {
+            final var position = Arrays.binarySearch(tail, 0, tailSize, id);
+            if (position >= 0) {
+                System.arraycopy(tail, position + 1, tail, position, tailSize - position - 1);
+                System.arraycopy(tailPayloads, position + 1, tailPayloads, position, tailSize - position - 1);
+                tailSize--;
+                size--;
+            }
+            return;
+        }
+
+        final var block = findBlock(id);
+        final var count = counts[block];
+        final var ids = new int[count];
+        final var payloads = new int[count];
+        decode(block, ids, payloads);
+        final var position = Arrays.binarySearch(ids, id);
+        if (position < 0) {
+            return;
+        }
+        size--;
+        if (count == 1) {
+            deleteBlock(block);
+            return;
+        }
+        System.arraycopy(ids, position + 1, ids, position, count - position - 1);
+        System.arraycopy(payloads, position + 1, payloads, position, count - position - 1);
+        encode(block, ids, payloads, 0, count - 1);
+    }
+
+    Cursor cursor() {
+        return new Cursor();
+    }
+
+    private int findBlock(int id) {
+        var low = 0;
+        var high = blockCount - 1;
+        while (low < high) {
+            final var middle = (low + high) >>> 1;
+            if (lastIds[middle] < id) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private void insertBlock(int block) {
+        if (blockCount == blocks.length) {
+            final var capacity = Math.max(4, blockCount << 1);
+            firstIds = Arrays.copyOf(firstIds, capacity);
+            lastIds = Arrays.copyOf(lastIds, capacity);
+            counts = Arrays.copyOf(counts, capacity);
+            blocks = Arrays.copyOf(blocks, capacity);
+        }
+        final var moved = blockCount - block;
+        System.arraycopy(firstIds, block, firstIds, block + 1, moved);
+        System.arraycopy(lastIds, block, lastIds, block + 1, moved);
+        System.arraycopy(counts, block, counts, block + 1, moved);
+        System.arraycopy(blocks, block, blocks, block + 1, moved);
+        blockCount++;
+    }
+
+    private void deleteBlock(int block) {
+        final var moved = blockCount - block - 1;
+        System.arraycopy(firstIds, block + 1, firstIds, block, moved);
+        System.arraycopy(lastIds, block + 1, lastIds, block, moved);
+        System.arraycopy(counts, block + 1, counts, block, moved);
+        System.arraycopy(blocks, block + 1, blocks, block, moved);
+        blocks[--blockCount] = null;
+    }
+
+    private void encode(int block, int[] ids, int[] payloads, int from, int to) {
+        final var bytes = new byte[(to - from) * (MAX_VARINT_BYTES + PAYLOAD_BYTES)];
+        var length = 0;
+        for (var index = from; index < to; index++) {
+            if (index > from) {
+                var delta = ids[index] - ids[index - 1];
+                while ((delta & ~0x7F) != 0) {
+                    bytes[length++] = (byte) ((delta & 0x7F) | 0x80);
+                    delta >>>= 7;
+                }
+                bytes[length++] = (byte) delta;
+            }
+            bytes[length++] = (byte) frequency(payloads[index]);
+            bytes[length++] = (byte) length(payloads[index]);
+        }
+        firstIds[block] = ids[from];
+        lastIds[block] = ids[to - 1];
+        counts[block] = to - from;
+        blocks[block] = Arrays.copyOf(bytes, length);
+    }
+
+    private void decode(int block, int[] ids, int[] payloads) {
+        final var bytes = blocks[block];
+        var id = firstIds[block];
+        var offset = 0;
+        for (var index = 0; index < counts[block]; index++) {
+            if (index > 0) {
+                var delta = 0;
+                var shift = 0;
+                byte next;
+                do {
+                    next = bytes[offset++];
+                    delta |= (next & 0x7F) << shift;
+                    shift += 7;
+                } while (next < 0);
+                id += delta;
+            }
+            ids[index] = id;
+            payloads[index] = (bytes[offset] & MAX_PAYLOAD_VALUE) << 8 | (bytes[offset + 1] & MAX_PAYLOAD_VALUE);
+            offset += PAYLOAD_BYTES;
+        }
+    }
+
+    final class Cursor {
+
+        private final int[] decodedIds = new int[MAX_BLOCK_SIZE];
+        private final int[] decodedPayloads = new int[MAX_BLOCK_SIZE];
+        private int block = -1;
+        private int[] currentIds = decodedIds;
+        private int[] currentPayloads = decodedPayloads;
+        private int currentSize;
+        private int position;
+        private int doc = -1;
+
+        int next() {
+            doc = nextId();
+            return doc;
+        }
+
+        int advanceTo(int target) {
+            if (doc < target) {
+                doc = seek(target);
+            }
+            return doc;
+        }
+
+        int payload() {
+            return currentPayloads[position - 1];
+        }
+
+        private int nextId() {
+            if (position < currentSize) {
+                return currentIds[position++];
+            }
+            if (!load(block + 1)) {
+                return NO_MORE_IDS;
+            }
+            return currentIds[position++];
+        }
+
+        private int seek(int target) {
+            if (currentSize == 0 || currentIds[currentSize - 1] < target) {
+                var nextBlock = block + 1;
+                while (nextBlock < blockCount && lastIds[nextBlock] < target) {
+                    nextBlock++;
+                }
+                if (!load(nextBlock)) {
+                    return NO_MORE_IDS;
+                }
+            }
+            var low = position;
+            var high = currentSize;
+            while (low < high) {
+                final var middle = (low + high) >>> 1;
+                if (currentIds[middle] < target) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            position = low;
+            return position < currentSize ? currentIds[position++] : nextId();
+        }
+
+        private boolean load(int nextBlock) {
+            position = 0;
+            block = nextBlock;
+            if (nextBlock < blockCount) {
+                decode(nextBlock, decodedIds, decodedPayloads);
+                currentIds = decodedIds;
+                currentPayloads = decodedPayloads;
+                currentSize = counts[nextBlock];
+                return true;
+            }
+            if (nextBlock == blockCount && tailSize > 0) {
+                currentIds = tail;
+                currentPayloads = tailPayloads;
+                currentSize = tailSize;
+                return true;
+            }
+            block = blockCount;
+            currentSize = 0;
+            return false;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.kevin.todo.spring.todolist.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.kevin.todo.spring.todolist.model.TodoItemBatchUpdateModel;
+import com.kevin.todo.spring.todolist.model.TodoItemModel;
+import com.kevin.todo.spring.todolist.view.TodoBatchResultView;
+import com.kevin.todo.spring.todolist.view.TodoItemView;
+import org.springframework.data.domain.Sort;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+public interface ReactiveTodoItemService {
+
+    Mono<TodoItemView> addTodo(TodoItemModel todo);
+
+    Mono<TodoItemView> retrieveOneTodo(int todoId);
+
+    Flux<TodoItemView> retrieveAllTodos();
+
+    Flux<TodoItemView> retrieveTodosAfter(int afterId, int limit);
+
+    Flux<TodoItemView> retrieveTodos(Boolean completed, String titlePrefix, Sort sort);
+
+    Mono<Void> removeTodo(int todoId, Long expectedVersion);
+
+    Mono<Void> removeAllTodos();
+
+    Mono<TodoItemView> updateAllFieldsOfTodo(int id, String title, boolean completed, int orders, Long expectedVersion);
+
+    Mono<TodoItemView> patchOneFieldOfTodo(int id, JsonNode patch, Long expectedVersion);
+
+    Mono<TodoItemView> mergePatchOneFieldOfTodo(int id, JsonNode mergePatch, Long expectedVersion);
+
+    Flux<TodoBatchResultView> addTodos(List<TodoItemModel> todos);
+
+    Flux<TodoBatchResultView> updateTodos(List<TodoItemBatchUpdateModel> todos);
+
+    Flux<TodoBatchResultView> removeTodos(List<Integer> todoIds);
+}
@@ -0,0 +1,325 @@
+package com.kevin.todo.spring.todolist.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.fge.jsonpatch.JsonPatch;
+import com.github.fge.jsonpatch.JsonPatchException;
+import com.github.fge.jsonpatch.mergepatch.JsonMergePatch;
+import com.kevin.todo.spring.todolist.exceptions.TodoNotFoundException;
+import com.kevin.todo.spring.todolist.exceptions.TodoVersionConflictException;
+import com.kevin.todo.spring.todolist.model.ReactiveTodoItemDao;
+import com.kevin.todo.spring.todolist.model.TodoItemBatchUpdateModel;
+import com.kevin.todo.spring.todolist.model.TodoItemDao;
+import com.kevin.todo.spring.todolist.model.TodoItemModel;
+import com.kevin.todo.spring.todolist.repository.ReactiveTodoRepository;
+import com.kevin.todo.spring.todolist.utils.TodoHandler;
+import com.kevin.todo.spring.todolist.utils.TodoPatch;
+import com.kevin.todo.spring.todolist.view.TodoBatchResultView;
+import com.kevin.todo.spring.todolist.view.TodoChangeView;
+import com.kevin.todo.spring.todolist.view.TodoItemView;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.ReactiveTransactionManager;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@Profile("reactive")
+public class ReactiveTodoListService implements ReactiveTodoItemService {
+
+    private static final String TODO_NOT_FOUND = "Sorry, Todo Not founded with id : ";
+    private static final String TODO_VERSION_CONFLICT = "Sorry, Todo was modified concurrently, id : ";
+    private static final String TITLE_CANNOT_BE_NULL = "Title cannot be null";
+    private static final String ID_CANNOT_BE_NULL = "Id cannot be null";
+    private static final String EMPTY_STRING = "";
+    private static final int BATCH_CHUNK_SIZE = 500;
+    private final ReactiveTodoRepository repository;
+    private final ObjectMapper objectMapper;
+    private final TransactionalOperator transactionalOperator;
+    private final TodoChangeLog changeLog;
+    private final Object idBlockLock = new Object();
+    private int nextId;
+    private int idBlockEnd;
+
+    public ReactiveTodoListService(ReactiveTodoRepository repository, ObjectMapper objectMapper,
+                                   ReactiveTransactionManager transactionManager, TodoChangeLog changeLog) {
+        this.repository = repository;
+        this.objectMapper = objectMapper;
+        this.transactionalOperator = TransactionalOperator.create(transactionManager);
+        this.changeLog = changeLog;
+    }
+
+    @Override
+    public Mono<TodoItemView> addTodo(TodoItemModel todoItemModel) {
+        return saveNewTodo(todoItemModel)
+                .map(todoSaved -> recordChange(TodoChangeView.Type.CREATED, TodoHandler.renderViewFromTodoDao(todoSaved, EMPTY_STRING)));
+    }
+
+    private Mono<ReactiveTodoItemDao> saveNewTodo(TodoItemModel todoItemModel) {
+        return nextTodoId().flatMap(todoId -> repository.save(new ReactiveTodoItemDao(
+                todoId, todoItemModel.getTitle(), false, todoItemModel.getOrder(), LocalDateTime.now(), 0)));
+    }
+
+    private Mono<Integer> nextTodoId() {
+        synchronized (idBlockLock) {
+            if (nextId < idBlockEnd) {
+                return Mono.just(nextId++);
+            }
+        }
+
+        return repository.nextIdBlock().map(blockStart -> {
+            synchronized (idBlockLock) {
+                nextId = blockStart.intValue() + 1;
+                idBlockEnd = blockStart.intValue() + TodoItemDao.ID_ALLOCATION_SIZE;
+            }
+            return blockStart.intValue();
+        });
+    }
+
+    private TodoItemView recordChange(TodoChangeView.Type type, TodoItemView todoItemView) {
+        changeLog.record(type, TodoItemDao.DEFAULT_LIST_ID, todoItemView.getId(), todoItemView);
+        return todoItemView;
+    }
+
+    @Override
+    public Mono<TodoItemView> retrieveOneTodo(int todoId) {
+        return repository.findById(todoId)
+                .switchIfEmpty(Mono.error(() -> todoNotFoundException(todoId)))
+                .map(searchedTodo -> TodoHandler.renderViewFromTodoDao(searchedTodo, EMPTY_STRING));
+    }
+
+    private TodoNotFoundException todoNotFoundException(int todoId) {
+        return new TodoNotFoundException(TODO_NOT_FOUND + todoId);
+    }
+
+    private TodoVersionConflictException todoVersionConflictException(int todoId) {
+        return new TodoVersionConflictException(TODO_VERSION_CONFLICT + todoId);
+    }
+
+    private <T> Mono<T> notFoundOrVersionConflict(int todoId) {
+        return repository.existsById(todoId)
+                .flatMap(exists -> Mono.error(exists ? todoVersionConflictException(todoId) : todoNotFoundException(todoId)));
+    }
+
+    @Override
+    public Mono<TodoItemView> updateAllFieldsOfTodo(int todoId, String todoTitle, boolean todoIsCompleted, int order, Long expectedVersion) {
+        if (expectedVersion == null) {
+            return repository.updateAllFieldsById(todoId, todoTitle, todoIsCompleted, order)
+                    .flatMap(updated -> updated == 0
+                            ? Mono.error(todoNotFoundException(todoId))
+                            : Mono.just(recordChange(TodoChangeView.Type.UPDATED, new TodoItemView(todoId, todoTitle, todoIsCompleted, order, EMPTY_STRING))));
+        }
+
+        return repository.updateAllFieldsByIdAndVersion(todoId, expectedVersion, todoTitle, todoIsCompleted, order)
+                .flatMap(updated -> updated == 0
+                        ? notFoundOrVersionConflict(todoId)
+                        : Mono.just(recordChange(TodoChangeView.Type.UPDATED, new TodoItemView(todoId, todoTitle, todoIsCompleted, order, EMPTY_STRING, expectedVersion + 1))));
+    }
+
+    @Override
+    public Mono<TodoItemView> patchOneFieldOfTodo(int todoId, JsonNode patch, Long expectedVersion) {
+        return findTodoToPatch(todoId, expectedVersion).flatMap(todoToPatch -> savePatchedTodo(todoToPatch, Mono.fromCallable(() -> {
+            final var compiledPatch = TodoPatch.compileJsonPatch(patch);
+            if (compiledPatch.isPresent()) {
+                return compiledPatch.get().applyTo(todoToPatch);
+            }
+
+            final var jsonPatch = objectMapper.treeToValue(patch, JsonPatch.class);
+            return applyTreePatch(todoToPatch, jsonPatch::apply);
+        })));
+    }
+
+    @Override
+    public Mono<TodoItemView> mergePatchOneFieldOfTodo(int todoId, JsonNode mergePatch, Long expectedVersion) {
+        return findTodoToPatch(todoId, expectedVersion).flatMap(todoToPatch -> savePatchedTodo(todoToPatch, Mono.fromCallable(() -> {
+            final var compiledPatch = TodoPatch.compileMergePatch(mergePatch);
+            if (compiledPatch.isPresent()) {
+                return compiledPatch.get().applyTo(todoToPatch);
+            }
+
+            final var jsonMergePatch = objectMapper.treeToValue(mergePatch, JsonMergePatch.class);
+            return applyTreePatch(todoToPatch, jsonMergePatch::apply);
+        })));
+    }
+
+    private Mono<TodoItemDao> findTodoToPatch(int todoId, Long expectedVersion) {
+        return repository.findById(todoId)
+                .switchIfEmpty(Mono.error(() -> todoNotFoundException(todoId)))
+                .flatMap(todoToPatch -> expectedVersion != null && todoToPatch.getVersion() != expectedVersion
+                        ? Mono.error(todoVersionConflictException(todoId))
+                        : Mono.just(new TodoItemDao(todoToPatch.getId(), todoToPatch.getTitle(), todoToPatch.isCompleted(),
+                        todoToPatch.getOrders(), todoToPatch.getVersion())));
+    }
+
+    private TodoItemDao applyTreePatch(TodoItemDao todoToPatch, TreePatch patch) throws JsonPatchException, JsonProcessingException {
+        final var patchedTodoItem = patch.apply(objectMapper.convertValue(todoToPatch, JsonNode.class));
+
+        return objectMapper.treeToValue(patchedTodoItem, TodoItemDao.class);
+    }
+
+    private Mono<TodoItemView> savePatchedTodo(TodoItemDao todoToPatch, Mono<TodoItemDao> patchedTodo) {
+        final var todoId = todoToPatch.getId();
+        final var version = todoToPatch.getVersion();
+
+        return patchedTodo.flatMap(patched -> repository.updateAllFieldsByIdAndVersion(todoId, version, patched.getTitle(), patched.isCompleted(), patched.getOrders())
+                .flatMap(updated -> updated == 0
+                        ? Mono.error(todoVersionConflictException(todoId))
+                        : Mono.just(recordChange(TodoChangeView.Type.UPDATED,
+                        new TodoItemView(todoId, patched.getTitle(), patched.isCompleted(), patched.getOrders(), EMPTY_STRING, version + 1)))));
+    }
+
+    private interface TreePatch {
+        JsonNode apply(JsonNode node) throws JsonPatchException;
+    }
+
+    @Override
+    public Flux<TodoItemView> retrieveAllTodos() {
+        return repository.findAll(TodoHandler.DEFAULT_SORT)
+                .map(todoItemData -> TodoHandler.renderViewFromTodoDao(todoItemData, EMPTY_STRING));
+    }
+
+    @Override
+    public Flux<TodoItemView> retrieveTodosAfter(int afterId, int limit) {
+        return repository.findByIdGreaterThanOrderByIdAsc(afterId, PageRequest.of(0, limit))
+                .map(todoItemData -> TodoHandler.renderViewFromTodoDao(todoItemData, EMPTY_STRING));
+    }
+
+    @Override
+    public Flux<TodoItemView> retrieveTodos(Boolean completed, String titlePrefix, Sort sort) {
+        return Flux.defer(() -> {
+            final var todoSort = TodoHandler.toTodoSort(sort);
+            if (completed != null && titlePrefix != null) {
+                return repository.findByCompletedAndTitleStartingWith(completed, titlePrefix, todoSort);
+            } else if (completed != null) {
+                return repository.findByCompleted(completed, todoSort);
+            } else if (titlePrefix != null) {
+                return repository.findByTitleStartingWith(titlePrefix, todoSort);
+            }
+            return repository.findAll(todoSort);
+        }).map(todoItemData -> TodoHandler.renderViewFromTodoDao(todoItemData, EMPTY_STRING));
+    }
+
+    @Override
+    public Mono<Void> removeTodo(int todoId, Long expectedVersion) {
+        final var deleted = expectedVersion == null
+                ? repository.deleteTodoById(todoId).flatMap(count -> count == 0 ? Mono.error(todoNotFoundException(todoId)) : Mono.just(count))
+                : repository.deleteTodoByIdAndVersion(todoId, expectedVersion).flatMap(count -> count == 0 ? notFoundOrVersionConflict(todoId) : Mono.just(count));
+
+        return deleted.doOnNext(count -> changeLog.record(TodoChangeView.Type.DELETED, TodoItemDao.DEFAULT_LIST_ID, todoId, null)).then();
+    }
+
+    @Override
+    public Mono<Void> removeAllTodos() {
+        return repository.deleteAll().then(Mono.fromRunnable(() -> changeLog.record(TodoChangeView.Type.CLEARED, TodoItemDao.DEFAULT_LIST_ID, null, null)));
+    }
+
+    @Override
+    public Flux<TodoBatchResultView> addTodos(List<TodoItemModel> todoItemModels) {
+        return executeInChunks(todoItemModels, TodoChangeView.Type.CREATED, this::addTodoChunk);
+    }
+
+    private Flux<TodoBatchResultView> addTodoChunk(List<TodoItemModel> todoItemModels) {
+        return Flux.range(0, todoItemModels.size()).concatMap(position -> {
+            final var todoItemModel = todoItemModels.get(position);
+            if (todoItemModel == null || todoItemModel.getTitle() == null) {
+                return Mono.just(new TodoBatchResultView(null, HttpStatus.BAD_REQUEST.value(), TITLE_CANNOT_BE_NULL, null));
+            }
+            return saveNewTodo(todoItemModel).map(savedTodo -> new TodoBatchResultView(savedTodo.getId(), HttpStatus.CREATED.value(), null,
+                    TodoHandler.renderViewFromTodoDao(savedTodo, EMPTY_STRING)));
+        });
+    }
+
+    @Override
+    public Flux<TodoBatchResultView> updateTodos(List<TodoItemBatchUpdateModel> todoItemUpdates) {
+        return executeInChunks(todoItemUpdates, TodoChangeView.Type.UPDATED, this::updateTodoChunk);
+    }
+
+    private Flux<TodoBatchResultView> updateTodoChunk(List<TodoItemBatchUpdateModel> todoItemUpdates) {
+        return findAllByIdIn(todoItemUpdates.stream()
+                .filter(Objects::nonNull)
+                .map(TodoItemBatchUpdateModel::getId)
+                .collect(Collectors.toList()))
+                .flatMapMany(todosById -> Flux.range(0, todoItemUpdates.size()).concatMap(position -> {
+                    final var todoItemUpdate = todoItemUpdates.get(position);
+                    if (todoItemUpdate == null || todoItemUpdate.getId() == null) {
+                        return Mono.just(new TodoBatchResultView(null, HttpStatus.BAD_REQUEST.value(), ID_CANNOT_BE_NULL, null));
+                    }
+                    final var todo = todosById.get(todoItemUpdate.getId());
+                    if (todo == null) {
+                        return Mono.just(notFoundResult(todoItemUpdate.getId()));
+                    }
+                    final var updatedTodo = new ReactiveTodoItemDao(
+                            todo.getId(),
+                            Optional.ofNullable(todoItemUpdate.getTitle()).orElse(todo.getTitle()),
+                            Optional.ofNullable(todoItemUpdate.getCompleted()).orElse(todo.isCompleted()),
+                            Optional.ofNullable(todoItemUpdate.getOrder()).orElse(todo.getOrders()),
+                            todo.getCreationDate(),
+                            todo.getVersion());
+                    todosById.put(todo.getId(), updatedTodo);
+                    return repository.save(updatedTodo).map(savedTodo -> new TodoBatchResultView(savedTodo.getId(), HttpStatus.OK.value(), null,
+                            TodoHandler.renderViewFromTodoDao(savedTodo, EMPTY_STRING)));
+                }));
+    }
+
+    @Override
+    public Flux<TodoBatchResultView> removeTodos(List<Integer> todoIds) {
+        return executeInChunks(todoIds, TodoChangeView.Type.DELETED, this::removeTodoChunk);
+    }
+
+    private Flux<TodoBatchResultView> removeTodoChunk(List<Integer> todoIds) {
+        return findAllByIdIn(todoIds).flatMapMany(todosById -> repository.deleteAllById(todosById.keySet())
+                .thenMany(Flux.range(0, todoIds.size()).map(position -> {
+                    final var todoId = todoIds.get(position);
+                    return todoId == null
+                            ? new TodoBatchResultView(null, HttpStatus.BAD_REQUEST.value(), ID_CANNOT_BE_NULL, null)
+                            : todosById.containsKey(todoId)
+                            ? new TodoBatchResultView(todoId, HttpStatus.NO_CONTENT.value(), null, null)
+                            : notFoundResult(todoId);
+                })));
+    }
+
+    private Mono<Map<Integer, ReactiveTodoItemDao>> findAllByIdIn(List<Integer> todoIds) {
+        final var requestedIds = todoIds.stream().filter(Objects::nonNull).collect(Collectors.toSet());
+        if (requestedIds.isEmpty()) {
+            return Mono.just(Map.of());
+        }
+
+        return repository.findAllById(requestedIds).collectMap(ReactiveTodoItemDao::getId, Function.identity());
+    }
+
+    private TodoBatchResultView notFoundResult(Integer todoId) {
+        return new TodoBatchResultView(todoId, HttpStatus.NOT_FOUND.value(), TODO_NOT_FOUND + todoId, null);
+    }
+
+    private <T> Flux<TodoBatchResultView> executeInChunks(List<T> items, TodoChangeView.Type changeType,
+                                                          Function<List<T>, Flux<TodoBatchResultView>> chunkOperation) {
+        final var chunks = new ArrayList<List<T>>();
+        for (var chunkStart = 0; chunkStart < items.size(); chunkStart += BATCH_CHUNK_SIZE) {
+            chunks.add(items.subList(chunkStart, Math.min(chunkStart + BATCH_CHUNK_SIZE, items.size())));
+        }
+
+        return Flux.fromIterable(chunks)
+                .concatMap(chunk -> chunkOperation.apply(chunk).collectList().as(transactionalOperator::transactional))
+                .concatMapIterable(results -> {
+                    results.stream()
+                            .filter(result -> result.getId() != null && HttpStatus.valueOf(result.getStatus()).is2xxSuccessful())
+                            .forEach(result -> changeLog.record(changeType, TodoItemDao.DEFAULT_LIST_ID, result.getId(), result.getTodo()));
+                    return results;
+                });
+    }
+
+}
@@ -0,0 +1,12 @@
+package com.kevin.todo.spring.todolist.service;
+
+import com.kevin.todo.spring.todolist.view.TodoChangeView;
+
+import java.io.IOException;
+
+public interface TodoChangeListener {
+
+    void onChange(TodoChangeView change) throws IOException;
+
+    void onReset(long sequence) throws IOException;
+}
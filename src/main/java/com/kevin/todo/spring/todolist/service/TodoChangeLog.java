@@ -0,0 +1,170 @@
+package com.kevin.todo.spring.todolist.service;
+
+import com.kevin.todo.spring.todolist.view.TodoChangeView;
+import com.kevin.todo.spring.todolist.view.TodoItemView;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Component
+public class TodoChangeLog {
+
+    public static final int CAPACITY = 4096;
+    public static final int MAX_CLIENT_LAG = 1024;
+    private static final int MAX_CHANGES_PER_READ = 256;
+
+    private final TodoChangeView[] changes = new TodoChangeView[CAPACITY];
+    private final List<ListenerSubscription> subscriptions = new CopyOnWriteArrayList<>();
+    private final Executor listenerExecutor;
+    private final Executor clientExecutor;
+    private final long clientBudgetNanos;
+    private long lastSequence;
+
+    @Autowired
+    public TodoChangeLog(@Value("${todos.changes.client-threads}") int clientThreads,
+                         @Value("${todos.changes.client-budget}") Duration clientBudget) {
+        this(Executors.newSingleThreadExecutor(Thread.ofPlatform().daemon().name("todos-change-listeners").factory()),
+                Executors.newFixedThreadPool(clientThreads, Thread.ofPlatform().daemon().name("todos-change-feed-", 0).factory()),
+                clientBudget);
+    }
+
+    public TodoChangeLog(Executor listenerExecutor, Executor clientExecutor, Duration clientBudget) {
+        this.listenerExecutor = listenerExecutor;
+        this.clientExecutor = clientExecutor;
+        this.clientBudgetNanos = clientBudget.toNanos();
+    }
+
+    public void record(TodoChangeView.Type type, String listId, Integer todoId, TodoItemView todo) {
+        TodoTransactions.afterCommit(() -> append(type, listId, todoId, todo));
+    }
+
+    private void append(TodoChangeView.Type type, String listId, Integer todoId, TodoItemView todo) {
+        synchronized (changes) {
+            lastSequence++;
+            changes[(int) (lastSequence % CAPACITY)] = new TodoChangeView(lastSequence, type, listId, todoId, todo);
+        }
+        subscriptions.forEach(this::scheduleDelivery);
+    }
+
+    public long lastSequence() {
+        synchronized (changes) {
+            return lastSequence;
+        }
+    }
+
+    public List<TodoChangeView> readAfter(long sequence) {
+        synchronized (changes) {
+            if (sequence > lastSequence || sequence < lastSequence - CAPACITY) {
+                return null;
+            }
+            final var count = (int) Math.min(lastSequence - sequence, MAX_CHANGES_PER_READ);
+            final var result = new ArrayList<TodoChangeView>(count);
+            for (var next = sequence + 1; next <= sequence + count; next++) {
+                result.add(changes[(int) (next % CAPACITY)]);
+            }
+            return result;
+        }
+    }
+
+    public Subscription listen(TodoChangeListener listener) {
+        return register(new ListenerSubscription(lastSequence(), listener, false));
+    }
+
+    public Subscription subscribe(Long lastEventId, TodoChangeListener listener) {
+        return register(new ListenerSubscription(lastEventId == null ? lastSequence() : lastEventId, listener, true));
+    }
+
+    private Subscription register(ListenerSubscription subscription) {
+        subscriptions.add(subscription);
+        scheduleDelivery(subscription);
+
+        return subscription;
+    }
+
+    private void scheduleDelivery(ListenerSubscription subscription) {
+        if (subscription.delivering.compareAndSet(false, true)) {
+            (subscription.client ? clientExecutor : listenerExecutor).execute(() -> deliver(subscription));
+        }
+    }
+
+    private void deliver(ListenerSubscription subscription) {
+        final var deadline = System.nanoTime() + clientBudgetNanos;
+        var withinBudget = true;
+        try {
+            while (withinBudget && !subscription.cancelled) {
+                final var pending = subscription.client && lastSequence() - subscription.cursor > MAX_CLIENT_LAG ? null : readAfter(subscription.cursor);
+                if (pending == null) {
+                    subscription.cursor = lastSequence();
+                    subscription.listener.onReset(subscription.cursor);
+                    continue;
+                }
+                if (pending.isEmpty()) {
+                    break;
+                }
+                for (final var change : pending) {
+                    subscription.listener.onChange(change);
+                    subscription.cursor = change.getSequence();
+                    withinBudget = !subscription.client || System.nanoTime() - deadline < 0;
+                    if (!withinBudget) {
+                        break;
+                    }
+                }
+            }
+        } catch (IOException | RuntimeException exception) {
+            subscription.cancel();
+        } finally {
+            subscription.delivering.set(false);
+        }
+
+        if (!subscription.cancelled && subscription.cursor != lastSequence()) {
+            scheduleDelivery(subscription);
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        if (listenerExecutor instanceof ExecutorService executorService) {
+            executorService.shutdownNow();
+        }
+        if (clientExecutor instanceof ExecutorService executorService) {
+            executorService.shutdownNow();
+        }
+    }
+
+    public interface Subscription {
+
+        void cancel();
+    }
+
+    private final class ListenerSubscription implements Subscription {
+
+        private final TodoChangeListener listener;
+        private final boolean client;
+        private final AtomicBoolean delivering = new AtomicBoolean();
+        private volatile boolean cancelled;
+        private long cursor;
+
+        private ListenerSubscription(long cursor, TodoChangeListener listener, boolean client) {
+            this.cursor = cursor;
+            this.listener = listener;
+            this.client = client;
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            subscriptions.remove(this);
+        }
+    }
+}
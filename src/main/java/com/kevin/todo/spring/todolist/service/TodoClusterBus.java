@@ -0,0 +1,10 @@
+package com.kevin.todo.spring.todolist.service;
+
+import java.util.function.Consumer;
+
+public interface TodoClusterBus {
+
+    void publish(TodoClusterEvent event);
+
+    TodoChangeLog.Subscription subscribe(Consumer<TodoClusterEvent> listener);
+}
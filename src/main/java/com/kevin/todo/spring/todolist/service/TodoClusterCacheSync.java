@@ -0,0 +1,69 @@
+package com.kevin.todo.spring.todolist.service;
+
+import com.kevin.todo.spring.todolist.view.TodoChangeView;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConditionalOnProperty(prefix = "todos.cluster", name = "enabled", havingValue = "true")
+public class TodoClusterCacheSync implements TodoChangeListener {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TodoClusterCacheSync.class);
+
+    private final String nodeId;
+    private final TodoClusterBus clusterBus;
+    private final Cache todosCache;
+    private final TodoChangeLog.Subscription changeSubscription;
+    private final TodoChangeLog.Subscription clusterSubscription;
+
+    public TodoClusterCacheSync(@Value("${todos.cluster.node-id}") String nodeId, TodoClusterBus clusterBus,
+                                TodoChangeLog changeLog, CacheManager cacheManager) {
+        this.nodeId = nodeId;
+        this.clusterBus = clusterBus;
+        this.todosCache = cacheManager.getCache(TodoListService.TODOS_CACHE);
+        this.clusterSubscription = clusterBus.subscribe(this::onClusterEvent);
+        this.changeSubscription = changeLog.listen(this);
+    }
+
+    @Override
+    public void onChange(TodoChangeView change) {
+        publish(new TodoClusterEvent(nodeId, change.getType(), change.getListId(), change.getId(),
+                change.getTodo() == null ? null : change.getTodo().getTitle()));
+    }
+
+    @Override
+    public void onReset(long sequence) {
+        publish(new TodoClusterEvent(nodeId, TodoChangeView.Type.CLEARED, null, null, null));
+    }
+
+    private void publish(TodoClusterEvent event) {
+        try {
+            clusterBus.publish(event);
+        } catch (RuntimeException e) {
+            LOGGER.warn("Publishing the {} invalidation of todo {} to the cluster failed", event.getType(), event.getTodoId(), e);
+        }
+    }
+
+    private void onClusterEvent(TodoClusterEvent event) {
+        if (nodeId.equals(event.getNodeId())) {
+            return;
+        }
+        if (event.getTodoId() == null) {
+            todosCache.clear();
+        } else {
+            todosCache.evict(TodoListService.cacheKey(event.getListId(), event.getTodoId()));
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        changeSubscription.cancel();
+        clusterSubscription.cancel();
+    }
+}
@@ -0,0 +1,40 @@
+package com.kevin.todo.spring.todolist.service;
+
+import com.kevin.todo.spring.todolist.view.TodoChangeView;
+
+public class TodoClusterEvent {
+
+    private final String nodeId;
+    private final TodoChangeView.Type type;
+    private final String listId;
+    private final Integer todoId;
+    private final String title;
+
+    public TodoClusterEvent(String nodeId, TodoChangeView.Type type, String listId, Integer todoId, String title) {
+        this.nodeId = nodeId;
+        this.type = type;
+        this.listId = listId;
+        this.todoId = todoId;
+        this.title = title;
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public TodoChangeView.Type getType() {
+        return type;
+    }
+
+    public String getListId() {
+        return listId;
+    }
+
+    public Integer getTodoId() {
+        return todoId;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+}
@@ -0,0 +1,52 @@
+package com.kevin.todo.spring.todolist.service;
+
+import com.kevin.todo.spring.todolist.view.TodoChangeView;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+@Component
+@Profile("!reactive")
+@ConditionalOnProperty(prefix = "todos.cluster", name = "enabled", havingValue = "true")
+public class TodoClusterStateSync {
+
+    private final String nodeId;
+    private final TodoSearchIndexer searchIndexer;
+    private final TodoListStats stats;
+    private final TodoListQuotas quotas;
+    private final TodoChangeLog.Subscription clusterSubscription;
+
+    public TodoClusterStateSync(@Value("${todos.cluster.node-id}") String nodeId, TodoClusterBus clusterBus,
+                                TodoSearchIndexer searchIndexer, TodoListStats stats, TodoListQuotas quotas) {
+        this.nodeId = nodeId;
+        this.searchIndexer = searchIndexer;
+        this.stats = stats;
+        this.quotas = quotas;
+        this.clusterSubscription = clusterBus.subscribe(this::onClusterEvent);
+    }
+
+    private void onClusterEvent(TodoClusterEvent event) {
+        if (nodeId.equals(event.getNodeId())) {
+            return;
+        }
+        if (event.getListId() == null) {
+            stats.invalidateAll();
+            quotas.resetAll();
+            searchIndexer.rebuild();
+            return;
+        }
+
+        searchIndexer.apply(event.getType(), event.getListId(), event.getTodoId(), event.getTitle());
+        stats.invalidate(event.getListId());
+        if (event.getType() != TodoChangeView.Type.UPDATED) {
+            quotas.reset(event.getListId());
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        clusterSubscription.cancel();
+    }
+}
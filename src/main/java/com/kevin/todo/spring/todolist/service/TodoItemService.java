@@ -1,27 +1,53 @@
 package com.kevin.todo.spring.todolist.service;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.github.fge.jsonpatch.JsonPatch;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.github.fge.jsonpatch.JsonPatchException;
 import com.kevin.todo.spring.todolist.exceptions.TodoNotFoundException;
+import com.kevin.todo.spring.todolist.model.TodoItemBatchUpdateModel;
 import com.kevin.todo.spring.todolist.model.TodoItemModel;
+import com.kevin.todo.spring.todolist.model.TodoMoveModel;
+import com.kevin.todo.spring.todolist.view.TodoBatchResultView;
 import com.kevin.todo.spring.todolist.view.TodoItemView;
+import com.kevin.todo.spring.todolist.view.TodoStatsView;
+import org.springframework.data.domain.Sort;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface TodoItemService {
 
-    TodoItemView addTodo(TodoItemModel todo);
+    TodoItemView addTodo(String listId, TodoItemModel todo);
 
-    TodoItemView retrieveOneTodo(int todoId) throws TodoNotFoundException;
+    TodoItemView retrieveOneTodo(String listId, int todoId) throws TodoNotFoundException;
 
-    List<TodoItemView> retrieveAllTodos();
+    List<TodoItemView> retrieveAllTodos(String listId);
 
-    void removeTodo(int todoId);
+    List<TodoItemView> retrieveTodosAfter(String listId, int afterId, int limit);
 
-    void removeAllTodos();
+    List<TodoItemView> retrieveTodos(String listId, Boolean completed, String titlePrefix, Sort sort);
 
-    TodoItemView updateAllFieldsOfTodo(int id, String title, boolean completed, int orders);
+    List<TodoItemView> searchTodos(String listId, String query, int offset, int limit);
 
-    TodoItemView patchOneFieldOfTodo(int id, JsonPatch patch) throws JsonPatchException, JsonProcessingException;
+    TodoStatsView retrieveStats(String listId, int days);
+
+    void streamAllTodos(String listId, Consumer<TodoItemView> consumer);
+
+    void removeTodo(String listId, int todoId, Long expectedVersion);
+
+    void removeAllTodos(String listId);
+
+    TodoItemView updateAllFieldsOfTodo(String listId, int id, String title, boolean completed, int orders, Long expectedVersion);
+
+    TodoItemView patchOneFieldOfTodo(String listId, int id, JsonNode patch, Long expectedVersion) throws JsonPatchException, JsonProcessingException;
+
+    TodoItemView mergePatchOneFieldOfTodo(String listId, int id, JsonNode mergePatch, Long expectedVersion) throws JsonPatchException, JsonProcessingException;
+
+    TodoItemView moveTodo(String listId, int id, TodoMoveModel move, Long expectedVersion);
+
+    List<TodoBatchResultView> addTodos(String listId, List<TodoItemModel> todos);
+
+    List<TodoBatchResultView> updateTodos(String listId, List<TodoItemBatchUpdateModel> todos);
+
+    List<TodoBatchResultView> removeTodos(String listId, List<Integer> todoIds);
 }
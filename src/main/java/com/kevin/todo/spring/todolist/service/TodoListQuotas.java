@@ -0,0 +1,101 @@
+package com.kevin.todo.spring.todolist.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.kevin.todo.spring.todolist.exceptions.TodoQuotaExceededException;
+import com.kevin.todo.spring.todolist.repository.TodoRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+@Profile("!reactive")
+public class TodoListQuotas {
+
+    private static final String QUOTA_EXCEEDED = "Sorry, the todo list is full, it cannot hold more than %d todos : %s";
+    private static final long MAX_TRACKED_LISTS = 100_000;
+
+    private final boolean enabled;
+    private final long maxTodosPerList;
+    private final TodoRepository repository;
+    private final Cache<String, AtomicLong> counters;
+
+    public TodoListQuotas(@Value("${todos.lists.quota.enabled}") boolean enabled,
+                          @Value("${todos.lists.quota.max-todos}") long maxTodosPerList,
+                          @Value("${todos.lists.quota.counter-refresh}") Duration counterRefresh,
+                          TodoRepository repository) {
+        this.enabled = enabled;
+        this.maxTodosPerList = maxTodosPerList;
+        this.repository = repository;
+        this.counters = Caffeine.newBuilder()
+                .maximumSize(MAX_TRACKED_LISTS)
+                .expireAfterWrite(counterRefresh)
+                .build();
+    }
+
+    public void reserve(String listId, int todoCount) {
+        if (enabled && todoCount > 0) {
+            reserve(listId, todoCount, false);
+        }
+    }
+
+    public int reserveAvailable(String listId, int todoCount) {
+        if (!enabled || todoCount <= 0) {
+            return todoCount;
+        }
+
+        return reserve(listId, todoCount, true);
+    }
+
+    private int reserve(String listId, int todoCount, boolean partial) {
+        final var counter = counters.get(listId, key -> new AtomicLong(repository.countByListId(key)));
+        while (true) {
+            final var current = counter.get();
+            final var granted = (int) Math.max(Math.min(todoCount, maxTodosPerList - current), 0);
+            if (granted < todoCount && !partial) {
+                throw new TodoQuotaExceededException(exceededMessage(listId));
+            }
+            if (granted == 0) {
+                return 0;
+            }
+            if (counter.compareAndSet(current, current + granted)) {
+                TodoTransactions.afterRollback(() -> decrement(listId, granted));
+                return granted;
+            }
+        }
+    }
+
+    public String exceededMessage(String listId) {
+        return String.format(QUOTA_EXCEEDED, maxTodosPerList, listId);
+    }
+
+    public void release(String listId, int todoCount) {
+        if (!enabled || todoCount <= 0) {
+            return;
+        }
+
+        TodoTransactions.afterCommit(() -> decrement(listId, todoCount));
+    }
+
+    private void decrement(String listId, int todoCount) {
+        final var counter = counters.getIfPresent(listId);
+        if (counter != null) {
+            counter.updateAndGet(current -> Math.max(current - todoCount, 0));
+        }
+    }
+
+    public void reset(String listId) {
+        if (enabled) {
+            TodoTransactions.afterCommit(() -> counters.invalidate(listId));
+        }
+    }
+
+    public void resetAll() {
+        if (enabled) {
+            TodoTransactions.afterCommit(counters::invalidateAll);
+        }
+    }
+}
@@ -5,86 +5,620 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.github.fge.jsonpatch.JsonPatch;
 import com.github.fge.jsonpatch.JsonPatchException;
+import com.github.fge.jsonpatch.mergepatch.JsonMergePatch;
+import com.kevin.todo.spring.todolist.exceptions.TodoInvalidQueryException;
 import com.kevin.todo.spring.todolist.exceptions.TodoNotFoundException;
+import com.kevin.todo.spring.todolist.exceptions.TodoVersionConflictException;
+import com.kevin.todo.spring.todolist.model.TodoItemBatchUpdateModel;
 import com.kevin.todo.spring.todolist.model.TodoItemDao;
 import com.kevin.todo.spring.todolist.model.TodoItemModel;
+import com.kevin.todo.spring.todolist.model.TodoMoveModel;
 import com.kevin.todo.spring.todolist.repository.TodoRepository;
 import com.kevin.todo.spring.todolist.utils.TodoHandler;
+import com.kevin.todo.spring.todolist.utils.TodoPatch;
+import com.kevin.todo.spring.todolist.view.TodoBatchResultView;
+import com.kevin.todo.spring.todolist.view.TodoChangeView;
 import com.kevin.todo.spring.todolist.view.TodoItemView;
+import com.kevin.todo.spring.todolist.view.TodoStatsView;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
-import java.util.stream.StreamSupport;
 
 @Service
+@Profile("!reactive")
 public class TodoListService implements TodoItemService {
 
+    public static final String TODOS_CACHE = "todos";
     private static final String TODO_NOT_FOUND = "Sorry, Todo Not founded with id : ";
+    private static final String TODO_VERSION_CONFLICT = "Sorry, Todo was modified concurrently, id : ";
+    private static final String TITLE_CANNOT_BE_NULL = "Title cannot be null";
+    private static final String ID_CANNOT_BE_NULL = "Id cannot be null";
+    private static final String INVALID_MOVE = "Sorry, a todo moves before or after exactly one other todo, id : ";
     private static final String EMPTY_STRING = "";
+    private static final String RETRIEVE_ONE_TODO = "retrieveOneTodo";
+    private static final String RETRIEVE_ALL_TODOS = "retrieveAllTodos";
+    private static final String RETRIEVE_TODOS = "retrieveTodos";
+    private static final String TODO_CACHE_KEY = "T(com.kevin.todo.spring.todolist.service.TodoListService).cacheKey(#listId, #todoId)";
+    private static final String RESULT_CACHE_KEY = "T(com.kevin.todo.spring.todolist.service.TodoListService).cacheKey(#listId, #result.id)";
+    private static final char CACHE_KEY_SEPARATOR = '/';
+    private static final int BATCH_CHUNK_SIZE = 500;
+    private static final int MAX_WRITE_ATTEMPTS = 3;
     private final TodoRepository repository;
     private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final TodoChangeLog changeLog;
+    private final TodoWriteBehindLog writeBehindLog;
+    private final TodoReadCoalescer readCoalescer;
+    private final TodoSearchIndexer searchIndexer;
+    private final TodoListQuotas quotas;
+    private final TodoOrderRebalancer orderRebalancer;
+    private final TodoListStats stats;
 
-    public TodoListService(TodoRepository repository, ObjectMapper objectMapper) {
+    public TodoListService(TodoRepository repository, ObjectMapper objectMapper, PlatformTransactionManager transactionManager,
+                           TodoChangeLog changeLog, TodoWriteBehindLog writeBehindLog, TodoReadCoalescer readCoalescer,
+                           TodoSearchIndexer searchIndexer, TodoListQuotas quotas, TodoOrderRebalancer orderRebalancer,
+                           TodoListStats stats) {
         this.repository = repository;
         this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.changeLog = changeLog;
+        this.writeBehindLog = writeBehindLog;
+        this.readCoalescer = readCoalescer;
+        this.searchIndexer = searchIndexer;
+        this.quotas = quotas;
+        this.orderRebalancer = orderRebalancer;
+        this.stats = stats;
+    }
+
+    public static String cacheKey(String listId, int todoId) {
+        return listId + CACHE_KEY_SEPARATOR + todoId;
     }
 
     @Override
-    public TodoItemView addTodo(TodoItemModel todoItemModel) {
-        final var todo = TodoHandler.getTodoDaoFromTodoModel(todoItemModel);
-        final var todoSaved = repository.save(todo);
+    @CachePut(cacheNames = TODOS_CACHE, key = RESULT_CACHE_KEY)
+    public TodoItemView addTodo(String listId, TodoItemModel todoItemModel) {
+        quotas.reserve(listId, 1);
+        try {
+            if (writeBehindLog.isEnabled()) {
+                final var pendingTodo = writeBehindLog.appendCreate(listId, todoItemModel.getTitle(), todoItemModel.getOrder());
+                stats.created(listId, pendingTodo.isCompleted(), LocalDateTime.now());
+                return recordChange(TodoChangeView.Type.CREATED, listId, pendingTodo);
+            }
+
+            final var todo = TodoHandler.getTodoDaoFromTodoModel(listId, todoItemModel);
+            final var todoSaved = repository.save(todo);
+            stats.created(listId, todoSaved.isCompleted(), todoSaved.getCreationDate());
+
+            return recordChange(TodoChangeView.Type.CREATED, listId, TodoHandler.renderViewFromTodoDao(todoSaved, EMPTY_STRING));
+        } catch (RuntimeException e) {
+            quotas.release(listId, 1);
+            throw e;
+        }
+    }
 
-        return TodoHandler.renderViewFromTodoDao(todoSaved, EMPTY_STRING);
+    private TodoItemView recordChange(TodoChangeView.Type type, String listId, TodoItemView todoItemView) {
+        changeLog.record(type, listId, todoItemView.getId(), todoItemView);
+        return todoItemView;
     }
 
     @Override
-    public TodoItemView retrieveOneTodo(int todoId) {
-        final var searchedTodo = repository.findById(todoId).orElseThrow(() -> triggerTodoNotFoundException(todoId));
+    @Cacheable(cacheNames = TODOS_CACHE, key = TODO_CACHE_KEY, sync = true)
+    public TodoItemView retrieveOneTodo(String listId, int todoId) {
+        final var pendingTodo = writeBehindLog.pending(listId, todoId);
+        if (pendingTodo != null) {
+            return pendingTodo;
+        }
+
+        return readCoalescer.coalesce(RETRIEVE_ONE_TODO, () -> {
+            final var searchedTodo = repository.findByListIdAndId(listId, todoId).orElseThrow(() -> triggerTodoNotFoundException(todoId));
 
-        return TodoHandler.renderViewFromTodoDao(searchedTodo, EMPTY_STRING);
+            return TodoHandler.renderViewFromTodoDao(searchedTodo, EMPTY_STRING);
+        }, listId, todoId);
     }
 
     private TodoNotFoundException triggerTodoNotFoundException(int todoId) {
         throw new TodoNotFoundException(TODO_NOT_FOUND + todoId);
     }
 
+    private TodoVersionConflictException triggerTodoVersionConflictException(int todoId) {
+        throw new TodoVersionConflictException(TODO_VERSION_CONFLICT + todoId);
+    }
+
+    private RuntimeException triggerNotFoundOrVersionConflictException(String listId, int todoId) {
+        throw repository.existsByListIdAndId(listId, todoId)
+                ? triggerTodoVersionConflictException(todoId)
+                : triggerTodoNotFoundException(todoId);
+    }
+
+    @Override
+    @Transactional
+    @CacheEvict(cacheNames = TODOS_CACHE, key = TODO_CACHE_KEY)
+    public TodoItemView updateAllFieldsOfTodo(String listId, int todoId, String todoTitle, boolean totoIsCompleted, int order, Long expectedVersion) {
+        if (expectedVersion == null && writeBehindLog.isEnabled()) {
+            final var currentTodo = findTodoToWriteBehind(listId, todoId);
+            final var pendingTodo = writeBehindLog.appendUpdate(listId, currentTodo, todoTitle, totoIsCompleted, order);
+            stats.updated(listId, currentTodo.isCompleted(), totoIsCompleted);
+            return recordChange(TodoChangeView.Type.UPDATED, listId, pendingTodo);
+        }
+
+        writeBehindLog.drain();
+        if (expectedVersion == null) {
+            final var updatedTodo = updateAllFields(listId, todoId, todoTitle, totoIsCompleted, order);
+            return recordChange(TodoChangeView.Type.UPDATED, listId, TodoHandler.renderViewFromTodoDao(updatedTodo, EMPTY_STRING));
+        }
+
+        updateAllFieldsAtVersion(listId, todoId, expectedVersion, todoTitle, totoIsCompleted, order);
+        return recordChange(TodoChangeView.Type.UPDATED, listId,
+                new TodoItemView(todoId, todoTitle, totoIsCompleted, order, EMPTY_STRING, expectedVersion + 1));
+    }
+
+    private TodoItemDao updateAllFields(String listId, int todoId, String todoTitle, boolean totoIsCompleted, int order) {
+        for (var attempt = 0; attempt < MAX_WRITE_ATTEMPTS; attempt++) {
+            for (final var wasCompleted : new boolean[]{totoIsCompleted, !totoIsCompleted}) {
+                final var updatedTodo = repository.updateAllFieldsByListIdAndIdAndCompleted(listId, todoId, wasCompleted, todoTitle, totoIsCompleted, order);
+                if (updatedTodo.isPresent()) {
+                    stats.updated(listId, wasCompleted, totoIsCompleted);
+                    return updatedTodo.get();
+                }
+            }
+            if (!repository.existsByListIdAndId(listId, todoId)) {
+                throw triggerTodoNotFoundException(todoId);
+            }
+        }
+        throw triggerTodoVersionConflictException(todoId);
+    }
+
+    private void updateAllFieldsAtVersion(String listId, int todoId, long expectedVersion, String todoTitle, boolean totoIsCompleted, int order) {
+        for (final var wasCompleted : new boolean[]{totoIsCompleted, !totoIsCompleted}) {
+            if (repository.updateAllFieldsByListIdAndIdAndVersionAndCompleted(listId, todoId, expectedVersion, wasCompleted, todoTitle, totoIsCompleted,
+                    order) > 0) {
+                stats.updated(listId, wasCompleted, totoIsCompleted);
+                return;
+            }
+        }
+        throw triggerNotFoundOrVersionConflictException(listId, todoId);
+    }
+
+    private TodoItemView findTodoToWriteBehind(String listId, int todoId) {
+        final var pendingTodo = writeBehindLog.pending(listId, todoId);
+        if (pendingTodo != null) {
+            return pendingTodo;
+        }
+
+        return repository.findByListIdAndId(listId, todoId)
+                .map(todo -> TodoHandler.renderViewFromTodoDao(todo, EMPTY_STRING))
+                .orElseThrow(() -> triggerTodoNotFoundException(todoId));
+    }
+
     @Override
-    public TodoItemView updateAllFieldsOfTodo(int todoId, String todoTitle, boolean totoIsCompleted, int order) {
-        final var todoToUpdateId = repository.findById(todoId).orElseThrow(() -> triggerTodoNotFoundException(todoId)).getId();
-        final var updatedTodo = new TodoItemDao(todoToUpdateId, todoTitle, totoIsCompleted, order);
-        repository.save(updatedTodo);
+    @Transactional
+    @CachePut(cacheNames = TODOS_CACHE, key = RESULT_CACHE_KEY)
+    public TodoItemView patchOneFieldOfTodo(String listId, int todoId, JsonNode patch, Long expectedVersion) throws JsonPatchException, JsonProcessingException {
+        final var todoToPatch = findTodoToPatch(listId, todoId, expectedVersion);
+        final var compiledPatch = TodoPatch.compileJsonPatch(patch);
+        if (compiledPatch.isPresent()) {
+            return savePatchedTodo(listId, todoToPatch, compiledPatch.get().applyTo(todoToPatch));
+        }
 
-        return TodoHandler.renderViewFromTodoDao(updatedTodo, EMPTY_STRING);
+        final var jsonPatch = objectMapper.treeToValue(patch, JsonPatch.class);
+        return savePatchedTodo(listId, todoToPatch, applyTreePatch(todoToPatch, jsonPatch::apply));
     }
 
     @Override
-    public TodoItemView patchOneFieldOfTodo(int todoId, JsonPatch patch) throws JsonPatchException, JsonProcessingException {
-        final var todoToPatch = repository.findById(todoId).orElseThrow(() -> triggerTodoNotFoundException(todoId));
+    @Transactional
+    @CachePut(cacheNames = TODOS_CACHE, key = RESULT_CACHE_KEY)
+    public TodoItemView mergePatchOneFieldOfTodo(String listId, int todoId, JsonNode mergePatch, Long expectedVersion)
+            throws JsonPatchException, JsonProcessingException {
+        final var todoToPatch = findTodoToPatch(listId, todoId, expectedVersion);
+        final var compiledPatch = TodoPatch.compileMergePatch(mergePatch);
+        if (compiledPatch.isPresent()) {
+            return savePatchedTodo(listId, todoToPatch, compiledPatch.get().applyTo(todoToPatch));
+        }
+
+        final var jsonMergePatch = objectMapper.treeToValue(mergePatch, JsonMergePatch.class);
+        return savePatchedTodo(listId, todoToPatch, applyTreePatch(todoToPatch, jsonMergePatch::apply));
+    }
+
+    @Override
+    @Transactional
+    @CacheEvict(cacheNames = TODOS_CACHE, key = TODO_CACHE_KEY)
+    public TodoItemView moveTodo(String listId, int todoId, TodoMoveModel move, Long expectedVersion) {
+        final var anchorId = anchorOf(todoId, move);
+        final var before = move.getBefore() != null;
+        var todoToMove = findTodoToPatch(listId, todoId, expectedVersion);
+        var slot = findOrderSlot(listId, todoId, anchorId, before);
+        if (!slot.hasRoom()) {
+            orderRebalancer.rebalance(listId);
+            todoToMove = repository.findByListIdAndId(listId, todoId).orElseThrow(() -> triggerTodoNotFoundException(todoId));
+            slot = findOrderSlot(listId, todoId, anchorId, before);
+        } else if (slot.isCrowded()) {
+            orderRebalancer.rebalanceLater(listId);
+        }
+
+        final var orders = slot.middle();
+        if (expectedVersion == null) {
+            if (repository.updateOrdersByListIdAndId(listId, todoId, orders) == 0) {
+                throw triggerTodoNotFoundException(todoId);
+            }
+            return recordChange(TodoChangeView.Type.UPDATED, listId,
+                    new TodoItemView(todoId, todoToMove.getTitle(), todoToMove.isCompleted(), orders, EMPTY_STRING));
+        }
+
+        final var version = todoToMove.getVersion();
+        if (repository.updateAllFieldsByListIdAndIdAndVersion(listId, todoId, version, todoToMove.getTitle(), todoToMove.isCompleted(), orders) == 0) {
+            throw triggerTodoVersionConflictException(todoId);
+        }
+
+        return recordChange(TodoChangeView.Type.UPDATED, listId,
+                new TodoItemView(todoId, todoToMove.getTitle(), todoToMove.isCompleted(), orders, EMPTY_STRING, version + 1));
+    }
+
+    private static int anchorOf(int todoId, TodoMoveModel move) {
+        if (move == null || (move.getBefore() == null) == (move.getAfter() == null)) {
+            throw new TodoInvalidQueryException(INVALID_MOVE + todoId);
+        }
+
+        final int anchorId = move.getBefore() != null ? move.getBefore() : move.getAfter();
+        if (anchorId == todoId) {
+            throw new TodoInvalidQueryException(INVALID_MOVE + todoId);
+        }
+        return anchorId;
+    }
+
+    private OrderSlot findOrderSlot(String listId, int todoId, int anchorId, boolean before) {
+        final var anchor = repository.findByListIdAndId(listId, anchorId).orElseThrow(() -> triggerTodoNotFoundException(anchorId));
+        final var neighbourPage = PageRequest.of(0, 1);
+        if (before) {
+            final var preceding = repository.findPrecedingByListIdInOrder(listId, anchor.getOrders(), anchorId, todoId, neighbourPage);
+            return new OrderSlot(preceding.isEmpty() ? anchor.getOrders() - 2L * TodoOrderRebalancer.ORDER_GAP : preceding.get(0).getOrders(),
+                    anchor.getOrders());
+        }
+
+        final var following = repository.findFollowingByListIdInOrder(listId, anchor.getOrders(), anchorId, todoId, neighbourPage);
+        return new OrderSlot(anchor.getOrders(),
+                following.isEmpty() ? anchor.getOrders() + 2L * TodoOrderRebalancer.ORDER_GAP : following.get(0).getOrders());
+    }
+
+    private TodoItemDao findTodoToPatch(String listId, int todoId, Long expectedVersion) {
+        writeBehindLog.drain();
+        final var todoToPatch = repository.findByListIdAndId(listId, todoId).orElseThrow(() -> triggerTodoNotFoundException(todoId));
+        if (expectedVersion != null && todoToPatch.getVersion() != expectedVersion) {
+            throw triggerTodoVersionConflictException(todoId);
+        }
+
+        return todoToPatch;
+    }
+
+    private TodoItemDao applyTreePatch(TodoItemDao todoToPatch, TreePatch patch) throws JsonPatchException, JsonProcessingException {
         final var patchedTodoItem = patch.apply(objectMapper.convertValue(todoToPatch, JsonNode.class));
-        final var updatedTodoItem = objectMapper.treeToValue(patchedTodoItem, TodoItemDao.class);
 
-        repository.save(updatedTodoItem);
+        return objectMapper.treeToValue(patchedTodoItem, TodoItemDao.class);
+    }
+
+    private TodoItemView savePatchedTodo(String listId, TodoItemDao todoToPatch, TodoItemDao patchedTodo) {
+        final var todoId = todoToPatch.getId();
+        final var version = todoToPatch.getVersion();
+        if (repository.updateAllFieldsByListIdAndIdAndVersion(listId, todoId, version, patchedTodo.getTitle(), patchedTodo.isCompleted(),
+                patchedTodo.getOrders()) == 0) {
+            throw triggerTodoVersionConflictException(todoId);
+        }
+        stats.updated(listId, todoToPatch.isCompleted(), patchedTodo.isCompleted());
 
-        return TodoHandler.renderViewFromTodoDao(updatedTodoItem, EMPTY_STRING);
+        return recordChange(TodoChangeView.Type.UPDATED, listId,
+                new TodoItemView(todoId, patchedTodo.getTitle(), patchedTodo.isCompleted(), patchedTodo.getOrders(), EMPTY_STRING, version + 1));
+    }
+
+    private interface TreePatch {
+        JsonNode apply(JsonNode node) throws JsonPatchException;
+    }
+
+    private static final class OrderSlot {
+
+        private final long lower;
+        private final long upper;
+
+        private OrderSlot(long lower, long upper) {
+            this.lower = Math.max(lower, Integer.MIN_VALUE - 1L);
+            this.upper = Math.min(upper, Integer.MAX_VALUE + 1L);
+        }
+
+        private boolean hasRoom() {
+            return upper - lower >= 2;
+        }
+
+        private boolean isCrowded() {
+            return upper - lower < 2L * TodoOrderRebalancer.MIN_ORDER_GAP;
+        }
+
+        private int middle() {
+            return (int) (lower + (upper - lower) / 2);
+        }
+    }
+
+    @Override
+    public List<TodoItemView> retrieveAllTodos(String listId) {
+        writeBehindLog.drain();
+        return readCoalescer.coalesce(RETRIEVE_ALL_TODOS, () -> repository.findByListId(listId, TodoHandler.DEFAULT_SORT).stream()
+                .map(todoItemData -> TodoHandler.renderViewFromTodoDao(todoItemData, EMPTY_STRING))
+                .collect(Collectors.toList()), listId);
     }
 
     @Override
-    public List<TodoItemView> retrieveAllTodos() {
-        return StreamSupport.stream(repository.findAll().spliterator(), false)
+    public List<TodoItemView> retrieveTodosAfter(String listId, int afterId, int limit) {
+        writeBehindLog.drain();
+        return repository.findByListIdAndIdGreaterThanOrderByIdAsc(listId, afterId, PageRequest.of(0, limit))
+                .stream()
                 .map(todoItemData -> TodoHandler.renderViewFromTodoDao(todoItemData, EMPTY_STRING))
                 .collect(Collectors.toList());
     }
 
     @Override
-    public void removeTodo(int todoId) {
-        final var todoItem = repository.findById(todoId).orElseThrow(() -> triggerTodoNotFoundException(todoId));
-        repository.delete(todoItem);
+    public List<TodoItemView> retrieveTodos(String listId, Boolean completed, String titlePrefix, Sort sort) {
+        writeBehindLog.drain();
+        final var todoSort = TodoHandler.toTodoSort(sort);
+        return readCoalescer.coalesce(RETRIEVE_TODOS, () -> findTodos(listId, completed, titlePrefix, todoSort),
+                listId, completed, titlePrefix, todoSort);
+    }
+
+    private List<TodoItemView> findTodos(String listId, Boolean completed, String titlePrefix, Sort todoSort) {
+        final List<TodoItemDao> todos;
+        if (completed != null && titlePrefix != null) {
+            todos = repository.findByListIdAndCompletedAndTitleStartingWith(listId, completed, titlePrefix, todoSort);
+        } else if (completed != null) {
+            todos = repository.findByListIdAndCompleted(listId, completed, todoSort);
+        } else if (titlePrefix != null) {
+            todos = repository.findByListIdAndTitleStartingWith(listId, titlePrefix, todoSort);
+        } else {
+            todos = repository.findByListId(listId, todoSort);
+        }
+
+        return todos.stream()
+                .map(todoItemData -> TodoHandler.renderViewFromTodoDao(todoItemData, EMPTY_STRING))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<TodoItemView> searchTodos(String listId, String query, int offset, int limit) {
+        writeBehindLog.drain();
+        final var todoIds = searchIndexer.search(listId, query, offset, limit);
+        final var todosById = findAllByIdIn(listId, todoIds);
+
+        return todoIds.stream()
+                .map(todosById::get)
+                .filter(Objects::nonNull)
+                .map(todoItemData -> TodoHandler.renderViewFromTodoDao(todoItemData, EMPTY_STRING))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public TodoStatsView retrieveStats(String listId, int days) {
+        return stats.stats(listId, LocalDate.now().minusDays(days - 1L));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void streamAllTodos(String listId, Consumer<TodoItemView> consumer) {
+        writeBehindLog.drain();
+        try (final var todos = repository.streamByListIdOrderByIdAsc(listId)) {
+            todos.map(todoItemData -> TodoHandler.renderViewFromTodoDao(todoItemData, EMPTY_STRING))
+                    .forEach(consumer);
+        }
+    }
+
+    @Override
+    @Transactional
+    @CacheEvict(cacheNames = TODOS_CACHE, key = TODO_CACHE_KEY)
+    public void removeTodo(String listId, int todoId, Long expectedVersion) {
+        writeBehindLog.drain();
+        final var removedTodo = expectedVersion == null
+                ? repository.softDeleteTodoByListIdAndId(listId, todoId, LocalDateTime.now())
+                .orElseThrow(() -> triggerTodoNotFoundException(todoId))
+                : repository.softDeleteTodoByListIdAndIdAndVersion(listId, todoId, expectedVersion, LocalDateTime.now())
+                .orElseThrow(() -> triggerNotFoundOrVersionConflictException(listId, todoId));
+        quotas.release(listId, 1);
+        stats.removed(listId, removedTodo.isCompleted(), removedTodo.getCreationDate());
+        changeLog.record(TodoChangeView.Type.DELETED, listId, todoId, null);
+    }
+
+    @Override
+    @Transactional
+    @CacheEvict(cacheNames = TODOS_CACHE, allEntries = true)
+    public void removeAllTodos(String listId) {
+        writeBehindLog.drain();
+        repository.softDeleteTodosByListId(listId, LocalDateTime.now());
+        quotas.reset(listId);
+        stats.cleared(listId);
+        changeLog.record(TodoChangeView.Type.CLEARED, listId, null, null);
+    }
+
+    @Override
+    public List<TodoBatchResultView> addTodos(String listId, List<TodoItemModel> todoItemModels) {
+        return executeInChunks(todoItemModels, chunk -> addTodoChunk(listId, chunk));
+    }
+
+    private List<TodoBatchResultView> addTodoChunk(String listId, List<TodoItemModel> todoItemModels) {
+        final var results = new TodoBatchResultView[todoItemModels.size()];
+        final var todosToSave = new ArrayList<TodoItemDao>(todoItemModels.size());
+        final var savedPositions = new ArrayList<Integer>(todoItemModels.size());
+
+        for (var position = 0; position < todoItemModels.size(); position++) {
+            final var todoItemModel = todoItemModels.get(position);
+            if (todoItemModel == null || todoItemModel.getTitle() == null) {
+                results[position] = new TodoBatchResultView(null, HttpStatus.BAD_REQUEST.value(), TITLE_CANNOT_BE_NULL, null);
+                continue;
+            }
+            todosToSave.add(TodoHandler.getTodoDaoFromTodoModel(listId, todoItemModel));
+            savedPositions.add(position);
+        }
+
+        final var reserved = quotas.reserveAvailable(listId, todosToSave.size());
+        if (reserved < todosToSave.size()) {
+            final var quotaExceeded = quotas.exceededMessage(listId);
+            for (final var position : savedPositions.subList(reserved, savedPositions.size())) {
+                results[position] = new TodoBatchResultView(null, HttpStatus.CONFLICT.value(), quotaExceeded, null);
+            }
+        }
+        final var savedTodos = repository.saveAll(todosToSave.subList(0, reserved)).iterator();
+        for (final var position : savedPositions.subList(0, reserved)) {
+            final var savedTodo = savedTodos.next();
+            stats.created(listId, savedTodo.isCompleted(), savedTodo.getCreationDate());
+            results[position] = new TodoBatchResultView(savedTodo.getId(), HttpStatus.CREATED.value(), null,
+                    recordChange(TodoChangeView.Type.CREATED, listId, TodoHandler.renderViewFromTodoDao(savedTodo, EMPTY_STRING)));
+        }
+
+        return Arrays.asList(results);
+    }
+
+    @Override
+    @CacheEvict(cacheNames = TODOS_CACHE, allEntries = true)
+    public List<TodoBatchResultView> updateTodos(String listId, List<TodoItemBatchUpdateModel> todoItemUpdates) {
+        return executeInChunks(todoItemUpdates, chunk -> updateTodoChunk(listId, chunk), chunk -> conflictingUpdateResults(listId, chunk));
+    }
+
+    private List<TodoBatchResultView> updateTodoChunk(String listId, List<TodoItemBatchUpdateModel> todoItemUpdates) {
+        final var todosById = findAllByIdIn(listId, updatedIds(todoItemUpdates));
+        final var results = new TodoBatchResultView[todoItemUpdates.size()];
+        final var updatedPositions = new ArrayList<Integer>(todoItemUpdates.size());
+
+        for (var position = 0; position < todoItemUpdates.size(); position++) {
+            final var todoItemUpdate = todoItemUpdates.get(position);
+            if (todoItemUpdate == null || todoItemUpdate.getId() == null) {
+                results[position] = new TodoBatchResultView(null, HttpStatus.BAD_REQUEST.value(), ID_CANNOT_BE_NULL, null);
+                continue;
+            }
+            final var todo = todosById.get(todoItemUpdate.getId());
+            if (todo == null) {
+                results[position] = notFoundResult(todoItemUpdate.getId());
+                continue;
+            }
+            if (todoItemUpdate.getTitle() != null) {
+                todo.setTitle(todoItemUpdate.getTitle());
+            }
+            if (todoItemUpdate.getCompleted() != null) {
+                stats.updated(listId, todo.isCompleted(), todoItemUpdate.getCompleted());
+                todo.setCompleted(todoItemUpdate.getCompleted());
+            }
+            if (todoItemUpdate.getOrder() != null) {
+                todo.setOrders(todoItemUpdate.getOrder());
+            }
+            updatedPositions.add(position);
+        }
+
+        final var savedTodosById = new HashMap<Integer, TodoItemDao>();
+        repository.saveAll(todosById.values()).forEach(savedTodo -> savedTodosById.put(savedTodo.getId(), savedTodo));
+        repository.flush();
+        for (final var position : updatedPositions) {
+            final var savedTodo = savedTodosById.get(todoItemUpdates.get(position).getId());
+            results[position] = new TodoBatchResultView(savedTodo.getId(), HttpStatus.OK.value(), null,
+                    recordChange(TodoChangeView.Type.UPDATED, listId, TodoHandler.renderViewFromTodoDao(savedTodo, EMPTY_STRING)));
+        }
+
+        return Arrays.asList(results);
+    }
+
+    private List<TodoBatchResultView> conflictingUpdateResults(String listId, List<TodoItemBatchUpdateModel> todoItemUpdates) {
+        final var existingIds = findAllByIdIn(listId, updatedIds(todoItemUpdates)).keySet();
+
+        return todoItemUpdates.stream()
+                .map(todoItemUpdate -> todoItemUpdate == null || todoItemUpdate.getId() == null
+                        ? new TodoBatchResultView(null, HttpStatus.BAD_REQUEST.value(), ID_CANNOT_BE_NULL, null)
+                        : existingIds.contains(todoItemUpdate.getId())
+                        ? versionConflictResult(todoItemUpdate.getId())
+                        : notFoundResult(todoItemUpdate.getId()))
+                .collect(Collectors.toList());
+    }
+
+    private static List<Integer> updatedIds(List<TodoItemBatchUpdateModel> todoItemUpdates) {
+        return todoItemUpdates.stream()
+                .filter(Objects::nonNull)
+                .map(TodoItemBatchUpdateModel::getId)
+                .collect(Collectors.toList());
     }
 
     @Override
-    public void removeAllTodos() {
-        repository.deleteAll();
+    @CacheEvict(cacheNames = TODOS_CACHE, allEntries = true)
+    public List<TodoBatchResultView> removeTodos(String listId, List<Integer> todoIds) {
+        return executeInChunks(todoIds, chunk -> removeTodoChunk(listId, chunk));
+    }
+
+    private List<TodoBatchResultView> removeTodoChunk(String listId, List<Integer> todoIds) {
+        final var todosById = findAllByIdIn(listId, todoIds);
+        if (!todosById.isEmpty()) {
+            repository.softDeleteTodosByListIdAndIdIn(listId, todosById.keySet(), LocalDateTime.now());
+        }
+        quotas.release(listId, todosById.size());
+        todosById.values().forEach(todo -> stats.removed(listId, todo.isCompleted(), todo.getCreationDate()));
+        todosById.keySet().forEach(todoId -> changeLog.record(TodoChangeView.Type.DELETED, listId, todoId, null));
+
+        return todoIds.stream()
+                .map(todoId -> todoId == null
+                        ? new TodoBatchResultView(null, HttpStatus.BAD_REQUEST.value(), ID_CANNOT_BE_NULL, null)
+                        : todosById.containsKey(todoId)
+                        ? new TodoBatchResultView(todoId, HttpStatus.NO_CONTENT.value(), null, null)
+                        : notFoundResult(todoId))
+                .collect(Collectors.toList());
+    }
+
+    private Map<Integer, TodoItemDao> findAllByIdIn(String listId, List<Integer> todoIds) {
+        final var requestedIds = todoIds.stream().filter(Objects::nonNull).collect(Collectors.toSet());
+        if (requestedIds.isEmpty()) {
+            return Map.of();
+        }
+
+        return repository.findByListIdAndIdIn(listId, requestedIds).stream()
+                .collect(Collectors.toMap(TodoItemDao::getId, Function.identity()));
+    }
+
+    private TodoBatchResultView notFoundResult(Integer todoId) {
+        return new TodoBatchResultView(todoId, HttpStatus.NOT_FOUND.value(), TODO_NOT_FOUND + todoId, null);
+    }
+
+    private TodoBatchResultView versionConflictResult(Integer todoId) {
+        return new TodoBatchResultView(todoId, HttpStatus.CONFLICT.value(), TODO_VERSION_CONFLICT + todoId, null);
+    }
+
+    private <T> List<TodoBatchResultView> executeInChunks(List<T> items, Function<List<T>, List<TodoBatchResultView>> chunkOperation) {
+        return executeInChunks(items, chunkOperation, null);
+    }
+
+    private <T> List<TodoBatchResultView> executeInChunks(List<T> items, Function<List<T>, List<TodoBatchResultView>> chunkOperation,
+                                                          Function<List<T>, List<TodoBatchResultView>> conflictOperation) {
+        writeBehindLog.drain();
+        final var results = new ArrayList<TodoBatchResultView>(items.size());
+        for (var chunkStart = 0; chunkStart < items.size(); chunkStart += BATCH_CHUNK_SIZE) {
+            final var chunk = items.subList(chunkStart, Math.min(chunkStart + BATCH_CHUNK_SIZE, items.size()));
+            try {
+                results.addAll(transactionTemplate.execute(status -> chunkOperation.apply(chunk)));
+            } catch (OptimisticLockingFailureException exception) {
+                if (conflictOperation == null) {
+                    throw exception;
+                }
+                results.addAll(conflictOperation.apply(chunk));
+            }
+        }
+
+        return results;
     }
 
 }
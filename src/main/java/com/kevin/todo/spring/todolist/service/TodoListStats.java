@@ -0,0 +1,198 @@
+package com.kevin.todo.spring.todolist.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.kevin.todo.spring.todolist.model.TodoDailyCount;
+import com.kevin.todo.spring.todolist.repository.TodoRepository;
+import com.kevin.todo.spring.todolist.view.TodoStatsView;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+@Component
+@Profile("!reactive")
+public class TodoListStats {
+
+    public static final String RECONCILIATIONS_COUNTER = "todos.stats.reconciliations";
+    public static final String DRIFT_COUNTER = "todos.stats.drift";
+    private static final Logger LOGGER = LoggerFactory.getLogger(TodoListStats.class);
+    private static final long MAX_TRACKED_LISTS = 10_000;
+    private static final Duration IDLE_LIST_TIMEOUT = Duration.ofHours(1);
+    private static final long STALE = -1;
+    private static final int MAX_RECOUNT_ATTEMPTS = 3;
+
+    private final TodoRepository repository;
+    private final Cache<String, Aggregates> aggregates;
+    private final Counter reconciliations;
+    private final Counter drift;
+    private final ScheduledExecutorService reconciler;
+
+    public TodoListStats(@Value("${todos.stats.reconcile-interval}") Duration reconcileInterval,
+                         TodoRepository repository, MeterRegistry meterRegistry) {
+        this.repository = repository;
+        this.aggregates = Caffeine.newBuilder()
+                .maximumSize(MAX_TRACKED_LISTS)
+                .expireAfterAccess(IDLE_LIST_TIMEOUT)
+                .build();
+        this.reconciliations = Counter.builder(RECONCILIATIONS_COUNTER)
+                .description("Todo list statistics recounted from the repository")
+                .register(meterRegistry);
+        this.drift = Counter.builder(DRIFT_COUNTER)
+                .description("Todos by which the incremental statistics differed from the repository counts")
+                .register(meterRegistry);
+        this.reconciler = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().daemon().name("todos-stats").factory());
+        this.reconciler.scheduleWithFixedDelay(this::reconcileAll, reconcileInterval.toMillis(), reconcileInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    public TodoStatsView stats(String listId, LocalDate since) {
+        return aggregates.get(listId, this::count).snapshot(since);
+    }
+
+    public void created(String listId, boolean completed, LocalDateTime creationDate) {
+        apply(listId, listAggregates -> listAggregates.add(1, completed ? 1 : 0, creationDate));
+    }
+
+    public void updated(String listId, boolean wasCompleted, boolean completed) {
+        if (wasCompleted != completed) {
+            apply(listId, listAggregates -> listAggregates.add(0, completed ? 1 : -1, null));
+        }
+    }
+
+    public void removed(String listId, boolean wasCompleted, LocalDateTime creationDate) {
+        apply(listId, listAggregates -> listAggregates.add(-1, wasCompleted ? -1 : 0, creationDate));
+    }
+
+    public void cleared(String listId) {
+        apply(listId, Aggregates::clear);
+    }
+
+    public void invalidate(String listId) {
+        aggregates.invalidate(listId);
+    }
+
+    public void invalidateAll() {
+        aggregates.invalidateAll();
+    }
+
+    private void apply(String listId, Consumer<Aggregates> change) {
+        TodoTransactions.afterCommit(() -> {
+            final var listAggregates = aggregates.getIfPresent(listId);
+            if (listAggregates != null) {
+                change.accept(listAggregates);
+            }
+        });
+    }
+
+    public long reconcile(String listId) {
+        final var listAggregates = aggregates.getIfPresent(listId);
+        if (listAggregates == null) {
+            return 0;
+        }
+
+        for (var attempt = 0; attempt < MAX_RECOUNT_ATTEMPTS; attempt++) {
+            final var writes = listAggregates.writes();
+            final var corrected = listAggregates.reconcile(writes, count(listId));
+            reconciliations.increment();
+            if (corrected != STALE) {
+                drift.increment(corrected);
+                return corrected;
+            }
+        }
+        LOGGER.debug("Todo list {} kept changing while its statistics were recounted, the next run will retry", listId);
+        return 0;
+    }
+
+    private void reconcileQuietly(String listId) {
+        try {
+            final var corrected = reconcile(listId);
+            if (corrected > 0) {
+                LOGGER.debug("Corrected a drift of {} todos in the statistics of todo list {}", corrected, listId);
+            }
+        } catch (RuntimeException e) {
+            LOGGER.warn("Reconciling the statistics of todo list {} failed, the next run will retry", listId, e);
+        }
+    }
+
+    private void reconcileAll() {
+        aggregates.asMap().keySet().forEach(this::reconcileQuietly);
+    }
+
+    private Aggregates count(String listId) {
+        return new Aggregates(repository.countByListId(listId), repository.countByListIdAndCompleted(listId, true),
+                repository.countCreatedPerDayByListId(listId));
+    }
+
+    @PreDestroy
+    public void close() {
+        reconciler.shutdownNow();
+    }
+
+    private static final class Aggregates {
+
+        private final TreeMap<LocalDate, Long> createdPerDay = new TreeMap<>();
+        private long total;
+        private long completed;
+        private long writes;
+
+        private Aggregates(long total, long completed, List<TodoDailyCount> createdPerDay) {
+            this.total = total;
+            this.completed = completed;
+            createdPerDay.forEach(day -> this.createdPerDay.put(day.getDay(), day.getTodos()));
+        }
+
+        private synchronized void add(long todos, long completedTodos, LocalDateTime creationDate) {
+            total = Math.max(total + todos, 0);
+            completed = Math.max(completed + completedTodos, 0);
+            if (todos != 0 && creationDate != null) {
+                createdPerDay.compute(creationDate.toLocalDate(), (day, current) -> {
+                    final var updated = (current == null ? 0 : current) + todos;
+                    return updated > 0 ? updated : null;
+                });
+            }
+            writes++;
+        }
+
+        private synchronized void clear() {
+            total = 0;
+            completed = 0;
+            createdPerDay.clear();
+            writes++;
+        }
+
+        private synchronized long writes() {
+            return writes;
+        }
+
+        private synchronized long reconcile(long expectedWrites, Aggregates counted) {
+            if (writes != expectedWrites) {
+                return STALE;
+            }
+
+            final var corrected = Math.abs(total - counted.total) + Math.abs(completed - counted.completed);
+            total = counted.total;
+            completed = counted.completed;
+            createdPerDay.clear();
+            createdPerDay.putAll(counted.createdPerDay);
+            return corrected;
+        }
+
+        private synchronized TodoStatsView snapshot(LocalDate since) {
+            return new TodoStatsView(total, Math.min(completed, total), new TreeMap<>(createdPerDay.tailMap(since)));
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.kevin.todo.spring.todolist.service;
+
+import com.kevin.todo.spring.todolist.model.TodoItemDao;
+import com.kevin.todo.spring.todolist.repository.TodoRepository;
+import com.kevin.todo.spring.todolist.view.TodoChangeView;
+import com.kevin.todo.spring.todolist.view.TodoItemView;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+@Profile("!reactive")
+public class TodoOrderRebalancer {
+
+    public static final int ORDER_GAP = 1 << 16;
+    public static final int MIN_ORDER_GAP = 1 << 4;
+    private static final Logger LOGGER = LoggerFactory.getLogger(TodoOrderRebalancer.class);
+    private static final Sort IN_ORDER = Sort.by("orders", "id");
+    private static final String EMPTY_STRING = "";
+
+    private final Set<String> pendingLists = ConcurrentHashMap.newKeySet();
+    private final TodoRepository repository;
+    private final TransactionTemplate transactionTemplate;
+    private final TodoChangeLog changeLog;
+    private final Cache todosCache;
+    private final TaskExecutor taskExecutor;
+
+    public TodoOrderRebalancer(TodoRepository repository, PlatformTransactionManager transactionManager, TodoChangeLog changeLog,
+                               CacheManager cacheManager, TaskExecutor taskExecutor) {
+        this.repository = repository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.changeLog = changeLog;
+        this.todosCache = cacheManager.getCache(TodoListService.TODOS_CACHE);
+        this.taskExecutor = taskExecutor;
+    }
+
+    public static int gapFor(long todoCount) {
+        return (int) Math.max(1, Math.min(ORDER_GAP, Integer.MAX_VALUE / (todoCount + 1)));
+    }
+
+    public void rebalanceLater(String listId) {
+        TodoTransactions.afterCommit(() -> schedule(listId));
+    }
+
+    private void schedule(String listId) {
+        if (!pendingLists.add(listId)) {
+            return;
+        }
+
+        taskExecutor.execute(() -> {
+            pendingLists.remove(listId);
+            try {
+                transactionTemplate.executeWithoutResult(status -> rebalance(listId));
+            } catch (RuntimeException e) {
+                LOGGER.warn("Rebalancing the order of todo list {} failed, the next move will retry", listId, e);
+            }
+        });
+    }
+
+    public int rebalance(String listId) {
+        final var todos = repository.findByListId(listId, IN_ORDER);
+        final var gap = gapFor(todos.size());
+        final var rebalanced = new ArrayList<TodoItemDao>();
+        final var views = new ArrayList<TodoItemView>();
+        for (var index = 0; index < todos.size(); index++) {
+            final var todo = todos.get(index);
+            final var orders = (index + 1) * gap;
+            if (todo.getOrders() != orders) {
+                todo.setOrders(orders);
+                rebalanced.add(todo);
+                views.add(new TodoItemView(todo.getId(), todo.getTitle(), todo.isCompleted(), orders, EMPTY_STRING, todo.getVersion() + 1));
+            }
+        }
+        repository.saveAll(rebalanced);
+
+        TodoTransactions.afterCommit(() -> {
+            for (final var view : views) {
+                todosCache.evict(TodoListService.cacheKey(listId, view.getId()));
+                changeLog.record(TodoChangeView.Type.UPDATED, listId, view.getId(), view);
+            }
+        });
+        return rebalanced.size();
+    }
+}
@@ -0,0 +1,133 @@
+package com.kevin.todo.spring.todolist.service;
+
+import com.kevin.todo.spring.todolist.repository.TodoRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+@Profile("!reactive")
+public class TodoPurgeJob {
+
+    public static final String PURGED_COUNTER = "todos.purge.purged";
+    public static final String BATCH_TIMER = "todos.purge.batches";
+    public static final String TOMBSTONES_GAUGE = "todos.purge.tombstones";
+    public static final String LAST_RUN_GAUGE = "todos.purge.last-run";
+    private static final Logger LOGGER = LoggerFactory.getLogger(TodoPurgeJob.class);
+
+    private final Duration retention;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final Duration batchPause;
+    private final TodoRepository repository;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter purgedCounter;
+    private final Timer batchTimer;
+    private final AtomicLong tombstones = new AtomicLong();
+    private final AtomicLong lastRunEpochSeconds = new AtomicLong();
+    private final ScheduledExecutorService purger;
+
+    public TodoPurgeJob(@Value("${todos.purge.enabled}") boolean enabled,
+                        @Value("${todos.purge.retention}") Duration retention,
+                        @Value("${todos.purge.interval}") Duration interval,
+                        @Value("${todos.purge.batch-size}") int batchSize,
+                        @Value("${todos.purge.max-batches-per-run}") int maxBatchesPerRun,
+                        @Value("${todos.purge.batch-pause}") Duration batchPause,
+                        TodoRepository repository, PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        this.retention = retention;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.batchPause = batchPause;
+        this.repository = repository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.purgedCounter = Counter.builder(PURGED_COUNTER)
+                .description("Tombstoned todos physically deleted by the purge job")
+                .register(meterRegistry);
+        this.batchTimer = Timer.builder(BATCH_TIMER)
+                .description("Duration of one bounded purge batch")
+                .register(meterRegistry);
+        Gauge.builder(TOMBSTONES_GAUGE, tombstones, AtomicLong::get)
+                .description("Tombstoned todos left to purge after the last run")
+                .register(meterRegistry);
+        Gauge.builder(LAST_RUN_GAUGE, lastRunEpochSeconds, AtomicLong::get)
+                .description("Epoch second at which the last purge run finished")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        if (!enabled) {
+            this.purger = null;
+            return;
+        }
+
+        this.purger = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().daemon().name("todos-purge").factory());
+        this.purger.scheduleWithFixedDelay(this::purgeQuietly, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    public int purge() {
+        final var deletedBefore = LocalDateTime.now().minus(retention);
+        var purged = 0;
+        for (var batch = 0; batch < maxBatchesPerRun; batch++) {
+            final int batchPurged = batchTimer.record(() -> transactionTemplate.execute(status -> purgeBatch(deletedBefore)));
+            purgedCounter.increment(batchPurged);
+            purged += batchPurged;
+            if (batchPurged < batchSize || !pause()) {
+                break;
+            }
+        }
+
+        tombstones.set(repository.countTombstones());
+        lastRunEpochSeconds.set(System.currentTimeMillis() / 1000);
+        return purged;
+    }
+
+    private int purgeBatch(LocalDateTime deletedBefore) {
+        final var tombstoneIds = repository.findTombstoneIds(deletedBefore, batchSize);
+        return tombstoneIds.isEmpty() ? 0 : repository.purgeTombstonesByIdIn(tombstoneIds);
+    }
+
+    private boolean pause() {
+        if (batchPause.isZero()) {
+            return true;
+        }
+        try {
+            Thread.sleep(batchPause);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void purgeQuietly() {
+        try {
+            final var purged = purge();
+            if (purged > 0) {
+                LOGGER.debug("Purged {} tombstoned todos, {} left", purged, tombstones.get());
+            }
+        } catch (RuntimeException e) {
+            LOGGER.warn("Purging tombstoned todos failed, the next run will retry", e);
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        if (purger != null) {
+            purger.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.kevin.todo.spring.todolist.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+@Component
+public class TodoReadCoalescer {
+
+    public static final String COALESCED_COUNTER = "todos.reads.coalesced";
+    public static final String QUERY_COUNTER = "todos.reads.queries";
+    public static final String READ_TAG = "read";
+
+    private final ConcurrentMap<Flight, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Counter> coalescedCounters = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Counter> queryCounters = new ConcurrentHashMap<>();
+    private final TodoChangeLog changeLog;
+    private final MeterRegistry meterRegistry;
+
+    public TodoReadCoalescer(TodoChangeLog changeLog, MeterRegistry meterRegistry) {
+        this.changeLog = changeLog;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T coalesce(String read, Supplier<T> query, Object... arguments) {
+        final var flight = new Flight(read, Arrays.asList(arguments), changeLog.lastSequence());
+        final var leader = new CompletableFuture<Object>();
+        final var running = inFlight.putIfAbsent(flight, leader);
+        if (running != null) {
+            counter(coalescedCounters, COALESCED_COUNTER, read).increment();
+            return (T) await(running);
+        }
+
+        counter(queryCounters, QUERY_COUNTER, read).increment();
+        try {
+            final var result = query.get();
+            leader.complete(result);
+            return result;
+        } catch (RuntimeException | Error failure) {
+            leader.completeExceptionally(failure);
+            throw failure;
+        } finally {
+            inFlight.remove(flight, leader);
+        }
+    }
+
+    private Object await(CompletableFuture<Object> running) {
+        try {
+            return running.join();
+        } catch (CompletionException exception) {
+            if (exception.getCause() instanceof RuntimeException failure) {
+                throw failure;
+            }
+            if (exception.getCause() instanceof Error failure) {
+                throw failure;
+            }
+            throw exception;
+        }
+    }
+
+    private Counter counter(ConcurrentMap<String, Counter> counters, String name, String read) {
+        final var counter = counters.get(read);
+        if (counter != null) {
+            return counter;
+        }
+
+        return counters.computeIfAbsent(read, key -> Counter.builder(name)
+                .tag(READ_TAG, key)
+                .register(meterRegistry));
+    }
+
+    private static final class Flight {
+
+        private final String read;
+        private final List<Object> arguments;
+        private final long sequence;
+
+        private Flight(String read, List<Object> arguments, long sequence) {
+            this.read = read;
+            this.arguments = arguments;
+            this.sequence = sequence;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Flight flight
+                    && sequence == flight.sequence
+                    && read.equals(flight.read)
+                    && arguments.equals(flight.arguments);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * (31 * read.hashCode() + arguments.hashCode()) + Long.hashCode(sequence);
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package com.kevin.todo.spring.todolist.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+public class TodoSearchIndex {
+
+    private static final int MAX_TOKEN_LENGTH = 64;
+    private static final double BM25_K1 = 1.2;
+    private static final double BM25_B = 0.75;
+    private static final Comparator<ScoredTodo> WORST_FIRST = Comparator.comparingDouble((ScoredTodo scored) -> scored.score)
+            .thenComparing(scored -> scored.id, Comparator.reverseOrder());
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, PostingList> dictionary = new HashMap<>();
+    private final Map<Integer, PostingList[]> documents = new HashMap<>();
+    private long totalTerms;
+
+    public static List<String> tokenize(String text) {
+        final var tokens = new ArrayList<String>();
+        if (text == null) {
+            return tokens;
+        }
+        final var lowerCase = text.toLowerCase(Locale.ROOT);
+        var start = -1;
+        for (var index = 0; index <= lowerCase.length(); index++) {
+            final var wordCharacter = index < lowerCase.length() && Character.isLetterOrDigit(lowerCase.charAt(index));
+            if (wordCharacter && start < 0) {
+                start = index;
+            } else if (!wordCharacter && start >= 0) {
+                tokens.add(lowerCase.substring(start, Math.min(index, start + MAX_TOKEN_LENGTH)));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    public void index(int todoId, String title) {
+        final var tokens = tokenize(title);
+        lock.writeLock().lock();
+        try {
+            removeDocument(todoId);
+            if (tokens.isEmpty()) {
+                return;
+            }
+            final var terms = new PostingList[tokens.size()];
+            for (var index = 0; index < terms.length; index++) {
+                terms[index] = dictionary.computeIfAbsent(tokens.get(index), PostingList::new);
+            }
+            for (final var term : terms) {
+                term.add(todoId, PostingList.payload(frequency(terms, term), terms.length));
+            }
+            documents.put(todoId, terms);
+            totalTerms += terms.length;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static int frequency(PostingList[] terms, PostingList term) {
+        var frequency = 0;
+        for (final var candidate : terms) {
+            if (candidate == term) {
+                frequency++;
+            }
+        }
+        return frequency;
+    }
+
+    public void remove(int todoId) {
+        lock.writeLock().lock();
+        try {
+            removeDocument(todoId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void removeDocument(int todoId) {
+        final var terms = documents.remove(todoId);
+        if (terms == null) {
+            return;
+        }
+        totalTerms -= terms.length;
+        for (final var term : terms) {
+            term.remove(todoId);
+            if (term.isEmpty()) {
+                dictionary.remove(term.token());
+            }
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            dictionary.clear();
+            documents.clear();
+            totalTerms = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<Integer> search(String query, int offset, int limit) {
+        final var tokens = new LinkedHashSet<>(tokenize(query));
+        if (tokens.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            final var terms = new PostingList[tokens.size()];
+            var index = 0;
+            for (final var token : tokens) {
+                terms[index] = dictionary.get(token);
+                if (terms[index++] == null) {
+                    return List.of();
+                }
+            }
+            Arrays.sort(terms, Comparator.comparingInt(PostingList::size));
+            return rank(terms, Math.max(offset, 0), limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<Integer> rank(PostingList[] terms, int offset, int limit) {
+        final var inverseFrequencies = new double[terms.length];
+        for (var index = 0; index < terms.length; index++) {
+            final var frequency = terms[index].size();
+            inverseFrequencies[index] = Math.log(1 + (documents.size() - frequency + 0.5) / (frequency + 0.5));
+        }
+        final var averageLength = (double) totalTerms / documents.size();
+        final var wanted = offset + limit;
+        final var best = new PriorityQueue<>(Math.min(wanted, terms[0].size()) + 1, WORST_FIRST);
+
+        final var cursors = Arrays.stream(terms).map(PostingList::cursor).toArray(PostingList.Cursor[]::new);
+        var candidate = cursors[0].next();
+        while (candidate != PostingList.NO_MORE_IDS) {
+            var matched = true;
+            for (var index = 1; index < cursors.length; index++) {
+                final var found = cursors[index].advanceTo(candidate);
+                if (found != candidate) {
+                    matched = false;
+                    candidate = found == PostingList.NO_MORE_IDS ? found : cursors[0].advanceTo(found);
+                    break;
+                }
+            }
+            if (matched) {
+                final var score = score(cursors, inverseFrequencies, averageLength);
+                if (best.size() < wanted || score > best.peek().score) {
+                    best.add(new ScoredTodo(candidate, score));
+                    if (best.size() > wanted) {
+                        best.poll();
+                    }
+                }
+                candidate = cursors[0].next();
+            }
+        }
+
+        final var ranked = new ArrayList<Integer>(best.size());
+        while (!best.isEmpty()) {
+            ranked.add(best.poll().id);
+        }
+        final var page = new ArrayList<Integer>(Math.max(ranked.size() - offset, 0));
+        for (var index = ranked.size() - 1 - offset; index >= 0; index--) {
+            page.add(ranked.get(index));
+        }
+        return page;
+    }
+
+    private static double score(PostingList.Cursor[] cursors, double[] inverseFrequencies, double averageLength) {
+        final var length = PostingList.length(cursors[0].payload());
+        final var lengthNorm = BM25_K1 * (1 - BM25_B + BM25_B * length / averageLength);
+        var score = 0.0;
+        for (var index = 0; index < cursors.length; index++) {
+            final var frequency = PostingList.frequency(cursors[index].payload());
+            score += inverseFrequencies[index] * frequency * (BM25_K1 + 1) / (frequency + lengthNorm);
+        }
+        return score;
+    }
+
+    private static final class ScoredTodo {
+
+        private final int id;
+        private final double score;
+
+        private ScoredTodo(int id, double score) {
+            this.id = id;
+            this.score = score;
+        }
+    }
+}
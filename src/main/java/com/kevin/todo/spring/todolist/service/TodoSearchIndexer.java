@@ -0,0 +1,119 @@
+package com.kevin.todo.spring.todolist.service;
+
+import com.kevin.todo.spring.todolist.repository.TodoRepository;
+import com.kevin.todo.spring.todolist.view.TodoChangeView;
+import jakarta.annotation.PreDestroy;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+@Profile("!reactive")
+public class TodoSearchIndexer implements ApplicationRunner, TodoChangeListener {
+
+    private final Map<String, TodoSearchIndex> indexes = new ConcurrentHashMap<>();
+    private final Set<Integer> changedDuringRebuild = new HashSet<>();
+    private final Set<String> clearedDuringRebuild = new HashSet<>();
+    private final TodoRepository repository;
+    private final TransactionTemplate transactionTemplate;
+    private final TodoChangeLog.Subscription subscription;
+    private boolean rebuilding;
+
+    public TodoSearchIndexer(TodoRepository repository, PlatformTransactionManager transactionManager, TodoChangeLog changeLog) {
+        this.repository = repository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.subscription = changeLog.listen(this);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        rebuild();
+    }
+
+    public List<Integer> search(String listId, String query, int offset, int limit) {
+        final var index = indexes.get(listId);
+        return index == null ? List.of() : index.search(query, offset, limit);
+    }
+
+    public int size() {
+        return indexes.values().stream().mapToInt(TodoSearchIndex::size).sum();
+    }
+
+    public void rebuild() {
+        synchronized (this) {
+            rebuilding = true;
+            clearedDuringRebuild.clear();
+            changedDuringRebuild.clear();
+            indexes.clear();
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                try (final var todos = repository.streamAllByOrderByIdAsc()) {
+                    todos.forEach(todo -> indexUnlessChanged(todo.getListId(), todo.getId(), todo.getTitle()));
+                }
+            });
+        } finally {
+            synchronized (this) {
+                rebuilding = false;
+                clearedDuringRebuild.clear();
+                changedDuringRebuild.clear();
+            }
+        }
+    }
+
+    private synchronized void indexUnlessChanged(String listId, int todoId, String title) {
+        if (!clearedDuringRebuild.contains(listId) && !changedDuringRebuild.contains(todoId)) {
+            indexOf(listId).index(todoId, title);
+        }
+    }
+
+    private TodoSearchIndex indexOf(String listId) {
+        return indexes.computeIfAbsent(listId, key -> new TodoSearchIndex());
+    }
+
+    @Override
+    public void onChange(TodoChangeView change) {
+        apply(change.getType(), change.getListId(), change.getId(), change.getTodo() == null ? null : change.getTodo().getTitle());
+    }
+
+    public synchronized void apply(TodoChangeView.Type type, String listId, Integer todoId, String title) {
+        if (type == TodoChangeView.Type.CLEARED) {
+            if (rebuilding) {
+                clearedDuringRebuild.add(listId);
+            }
+            indexes.remove(listId);
+            return;
+        }
+        if (rebuilding) {
+            changedDuringRebuild.add(todoId);
+        }
+        if (type == TodoChangeView.Type.DELETED) {
+            final var index = indexes.get(listId);
+            if (index != null) {
+                index.remove(todoId);
+            }
+        } else {
+            indexOf(listId).index(todoId, title);
+        }
+    }
+
+    @Override
+    public void onReset(long sequence) {
+        rebuild();
+    }
+
+    @PreDestroy
+    public void close() {
+        subscription.cancel();
+    }
+}
@@ -0,0 +1,531 @@
+package com.kevin.todo.spring.todolist.service;
+
+import com.kevin.todo.spring.todolist.model.TodoItemDao;
+import com.kevin.todo.spring.todolist.model.TodoWriteBehindCheckpointDao;
+import com.kevin.todo.spring.todolist.view.TodoItemView;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+import java.util.zip.CRC32C;
+
+@Component
+@Profile("!reactive & !memory")
+public class TodoWriteBehindLog {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TodoWriteBehindLog.class);
+    private static final String LOG_FULL = "Write-behind log is too small for a todo of title length ";
+    private static final String INSERT_TODO = "insert into TODOS (id, list_id, completed, creation_date, orders, title, version) values (?, ?, ?, ?, ?, ?, ?)";
+    private static final String UPDATE_TODO = "update TODOS set title = ?, completed = ?, orders = ?, version = version + ? " +
+            "where id = ? and list_id = ? and deleted_at is null";
+    private static final String SELECT_CHECKPOINT = "select flushed_position from " + TodoWriteBehindCheckpointDao.TABLE + " where epoch = ?";
+    private static final String UPDATE_CHECKPOINT = "update " + TodoWriteBehindCheckpointDao.TABLE + " set flushed_position = ? where epoch = ?";
+    private static final String INSERT_CHECKPOINT = "insert into " + TodoWriteBehindCheckpointDao.TABLE + " (epoch, flushed_position) values (?, ?)";
+    private static final String DELETE_CHECKPOINT = "delete from " + TodoWriteBehindCheckpointDao.TABLE + " where epoch = ?";
+    private static final String SELECT_EXISTING_IDS = "select id from TODOS where id in (%s)";
+    private static final int HEADER_SIZE = Long.BYTES * 2;
+    private static final int EPOCH_OFFSET = 0;
+    private static final int CHECKPOINT_OFFSET = Long.BYTES;
+    private static final int RECORD_HEADER_SIZE = Integer.BYTES * 2;
+    private static final int RECORD_FIXED_SIZE = Long.BYTES + 1 + Integer.BYTES + 1 + Integer.BYTES + Long.BYTES + Long.BYTES + Integer.BYTES;
+    private static final byte CREATE = 1;
+    private static final byte UPDATE = 2;
+    private static final int NULL_TITLE = -1;
+    private static final String EMPTY_STRING = "";
+
+    private final boolean enabled;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final String nextIdQuery;
+    private final MappedByteBuffer log;
+    private final ScheduledExecutorService flusher;
+    private final Map<Integer, Mutation> overlay = new ConcurrentHashMap<>();
+    private final ArrayDeque<Mutation> pending = new ArrayDeque<>();
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final Object forceLock = new Object();
+    private final Object idBlockLock = new Object();
+    private volatile long epoch;
+    private volatile long writePosition;
+    private long forcedEpoch;
+    private long forcedPosition;
+    private long retiredEpoch;
+    private int nextId;
+    private int idBlockEnd = -1;
+
+    public TodoWriteBehindLog(@Value("${todos.write-behind.enabled}") boolean enabled,
+                              @Value("${todos.write-behind.log-file}") Path logFile,
+                              @Value("${todos.write-behind.log-size}") DataSize logSize,
+                              @Value("${todos.write-behind.flush-interval}") Duration flushInterval,
+                              JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                              EntityManagerFactory entityManagerFactory) {
+        this.enabled = enabled;
+        this.jdbcTemplate = jdbcTemplate;
+        if (!enabled) {
+            this.transactionTemplate = null;
+            this.nextIdQuery = null;
+            this.log = null;
+            this.flusher = null;
+            return;
+        }
+
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.nextIdQuery = entityManagerFactory.unwrap(SessionFactoryImplementor.class).getJdbcServices().getDialect()
+                .getSequenceSupport().getSequenceNextValString(TodoItemDao.ID_SEQUENCE);
+        this.log = map(logFile, logSize);
+        replay();
+        this.flusher = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().daemon().name("todos-write-behind").factory());
+        this.flusher.scheduleWithFixedDelay(this::flushQuietly, flushInterval.toMillis(), flushInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    public static TodoWriteBehindLog disabled() {
+        return new TodoWriteBehindLog(false, null, null, null, null, null, null);
+    }
+
+    private static MappedByteBuffer map(Path logFile, DataSize logSize) {
+        try {
+            final var directory = logFile.toAbsolutePath().getParent();
+            if (directory != null) {
+                Files.createDirectories(directory);
+            }
+            try (final var channel = FileChannel.open(logFile, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                return channel.map(FileChannel.MapMode.READ_WRITE, 0, logSize.toBytes());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public TodoItemView pending(String listId, int todoId) {
+        final var mutation = enabled ? overlay.get(todoId) : null;
+        return mutation == null || !mutation.listId.equals(listId) ? null : mutation.view;
+    }
+
+    public TodoItemView appendCreate(String listId, String title, int order) {
+        final var todoId = allocateId();
+        final var view = new TodoItemView(todoId, title, false, order, EMPTY_STRING, 0L);
+        append(new Mutation(CREATE, listId, view, System.currentTimeMillis()));
+
+        return view;
+    }
+
+    public TodoItemView appendUpdate(String listId, TodoItemView current, String title, boolean completed, int order) {
+        final var view = new TodoItemView(current.getId(), title, completed, order, EMPTY_STRING, current.getVersion() + 1);
+        append(new Mutation(UPDATE, listId, view, 0L));
+
+        return view;
+    }
+
+    public void drain() {
+        if (!enabled) {
+            return;
+        }
+        flushLock.lock();
+        try {
+            flush(false);
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private int allocateId() {
+        synchronized (idBlockLock) {
+            if (nextId > idBlockEnd) {
+                nextId = jdbcTemplate.queryForObject(nextIdQuery, Long.class).intValue();
+                idBlockEnd = nextId + TodoItemDao.ID_ALLOCATION_SIZE - 1;
+            }
+            return nextId++;
+        }
+    }
+
+    private void append(Mutation mutation) {
+        var record = encode(mutation, epoch);
+        while (true) {
+            final long recordEpoch;
+            final long recordEnd;
+            appendLock.lock();
+            try {
+                if (record.epoch != epoch) {
+                    record = encode(mutation, epoch);
+                }
+                final var position = (int) writePosition;
+                if (position + record.bytes.length <= log.capacity()) {
+                    log.put(position, record.bytes);
+                    writePosition = position + record.bytes.length;
+                    pending.add(mutation);
+                    overlay.put(mutation.view.getId(), mutation);
+                    recordEpoch = epoch;
+                    recordEnd = writePosition;
+                } else if (pending.isEmpty()) {
+                    throw new IllegalStateException(LOG_FULL + mutation.view.getTitle().length());
+                } else {
+                    recordEpoch = -1;
+                    recordEnd = -1;
+                }
+            } finally {
+                appendLock.unlock();
+            }
+
+            if (recordEnd < 0) {
+                drain();
+                continue;
+            }
+            awaitDurable(recordEpoch, recordEnd);
+            return;
+        }
+    }
+
+    private void awaitDurable(long recordEpoch, long recordEnd) {
+        synchronized (forceLock) {
+            if (forcedEpoch == recordEpoch && forcedPosition >= recordEnd) {
+                return;
+            }
+            final long targetEpoch;
+            final long targetPosition;
+            appendLock.lock();
+            try {
+                targetEpoch = epoch;
+                targetPosition = writePosition;
+            } finally {
+                appendLock.unlock();
+            }
+            if (targetEpoch != recordEpoch) {
+                return;
+            }
+            log.force(0, (int) targetPosition);
+            forcedEpoch = targetEpoch;
+            forcedPosition = targetPosition;
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            drain();
+        } catch (RuntimeException e) {
+            LOGGER.warn("Write-behind flush failed, {} todo mutations stay queued", pendingCount(), e);
+        }
+    }
+
+    private int pendingCount() {
+        appendLock.lock();
+        try {
+            return pending.size();
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    private void flush(boolean replaying) {
+        final List<Mutation> batch;
+        final long batchEpoch;
+        final long batchEnd;
+        appendLock.lock();
+        try {
+            if (pending.isEmpty()) {
+                return;
+            }
+            batch = new ArrayList<>(pending);
+            pending.clear();
+            batchEpoch = epoch;
+            batchEnd = writePosition;
+        } finally {
+            appendLock.unlock();
+        }
+
+        try {
+            final var coalesced = coalesce(batch);
+            transactionTemplate.executeWithoutResult(status -> {
+                write(coalesced, replaying);
+                saveCheckpoint(batchEpoch, batchEnd);
+            });
+        } catch (RuntimeException e) {
+            appendLock.lock();
+            try {
+                for (var index = batch.size() - 1; index >= 0; index--) {
+                    pending.addFirst(batch.get(index));
+                }
+            } finally {
+                appendLock.unlock();
+            }
+            throw e;
+        }
+
+        batch.forEach(mutation -> overlay.remove(mutation.view.getId(), mutation));
+        checkpoint(batchEnd);
+    }
+
+    private static Map<Integer, CoalescedTodo> coalesce(List<Mutation> batch) {
+        final var coalesced = new LinkedHashMap<Integer, CoalescedTodo>();
+        for (final var mutation : batch) {
+            final var todo = coalesced.computeIfAbsent(mutation.view.getId(), todoId -> new CoalescedTodo());
+            if (mutation.kind == CREATE) {
+                todo.created = true;
+                todo.createdAt = mutation.createdAt;
+            } else {
+                todo.updates++;
+            }
+            todo.listId = mutation.listId;
+            todo.view = mutation.view;
+        }
+
+        return coalesced;
+    }
+
+    private void write(Map<Integer, CoalescedTodo> coalesced, boolean replaying) {
+        final var existingIds = replaying ? findExistingIds(coalesced) : List.<Integer>of();
+        final var inserts = new ArrayList<Object[]>();
+        final var updates = new ArrayList<Object[]>();
+        final var updatedIds = new ArrayList<Integer>();
+        for (final var todo : coalesced.values()) {
+            final var view = todo.view;
+            if (todo.created && !existingIds.contains(view.getId())) {
+                inserts.add(new Object[]{view.getId(), todo.listId, view.isCompleted(), new Timestamp(todo.createdAt), view.getOrder(), view.getTitle(),
+                        view.getVersion()});
+            } else {
+                updates.add(new Object[]{view.getTitle(), view.isCompleted(), view.getOrder(), todo.updates, view.getId(), todo.listId});
+                updatedIds.add(view.getId());
+            }
+        }
+        if (!inserts.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_TODO, inserts);
+        }
+        if (!updates.isEmpty()) {
+            reportDroppedUpdates(updatedIds, jdbcTemplate.batchUpdate(UPDATE_TODO, updates));
+        }
+    }
+
+    private static void reportDroppedUpdates(List<Integer> updatedIds, int[] updatedRows) {
+        final var droppedIds = new ArrayList<Integer>();
+        for (var index = 0; index < updatedRows.length; index++) {
+            if (updatedRows[index] == 0) {
+                droppedIds.add(updatedIds.get(index));
+            }
+        }
+        if (!droppedIds.isEmpty()) {
+            LOGGER.warn("Dropped buffered updates of todos {} that were deleted or left their list before the write-behind flush", droppedIds);
+        }
+    }
+
+    private void saveCheckpoint(long flushedEpoch, long flushedPosition) {
+        if (jdbcTemplate.update(UPDATE_CHECKPOINT, flushedPosition, flushedEpoch) == 0) {
+            jdbcTemplate.update(DELETE_CHECKPOINT, retiredEpoch);
+            jdbcTemplate.update(INSERT_CHECKPOINT, flushedEpoch, flushedPosition);
+        }
+    }
+
+    private long flushedPosition(long flushedEpoch) {
+        return jdbcTemplate.queryForList(SELECT_CHECKPOINT, Long.class, flushedEpoch).stream().findFirst().orElse(0L);
+    }
+
+    private List<Integer> findExistingIds(Map<Integer, CoalescedTodo> coalesced) {
+        final var createdIds = coalesced.entrySet().stream()
+                .filter(entry -> entry.getValue().created)
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toList());
+        if (createdIds.isEmpty()) {
+            return createdIds;
+        }
+
+        final var placeholders = createdIds.stream().map(todoId -> "?").collect(Collectors.joining(", "));
+        return jdbcTemplate.queryForList(String.format(SELECT_EXISTING_IDS, placeholders), Integer.class, createdIds.toArray());
+    }
+
+    private void checkpoint(long flushedPosition) {
+        appendLock.lock();
+        try {
+            if (writePosition == flushedPosition) {
+                startEpoch();
+            } else {
+                log.putLong(CHECKPOINT_OFFSET, flushedPosition);
+            }
+        } finally {
+            appendLock.unlock();
+        }
+        log.force(0, HEADER_SIZE);
+    }
+
+    private void startEpoch() {
+        retiredEpoch = epoch;
+        epoch = ThreadLocalRandom.current().nextLong(1, Long.MAX_VALUE);
+        writePosition = HEADER_SIZE;
+        log.putLong(EPOCH_OFFSET, epoch);
+        log.putLong(CHECKPOINT_OFFSET, HEADER_SIZE);
+    }
+
+    private void replay() {
+        epoch = log.getLong(EPOCH_OFFSET);
+        var position = Math.max(HEADER_SIZE, Math.max(log.getLong(CHECKPOINT_OFFSET), flushedPosition(epoch)));
+        while (position + RECORD_HEADER_SIZE <= log.capacity()) {
+            final var length = log.getInt((int) position);
+            if (length < RECORD_FIXED_SIZE || position + RECORD_HEADER_SIZE + length > log.capacity()) {
+                break;
+            }
+            final var payload = new byte[length];
+            log.get((int) position + RECORD_HEADER_SIZE, payload);
+            final var checksum = new CRC32C();
+            checksum.update(payload);
+            if ((int) checksum.getValue() != log.getInt((int) position + Integer.BYTES)) {
+                break;
+            }
+            final var buffer = ByteBuffer.wrap(payload);
+            if (buffer.getLong() != epoch) {
+                break;
+            }
+            final var mutation = decode(buffer);
+            pending.add(mutation);
+            overlay.put(mutation.view.getId(), mutation);
+            position += RECORD_HEADER_SIZE + length;
+        }
+        writePosition = position;
+
+        if (!pending.isEmpty()) {
+            LOGGER.info("Replaying {} todo mutations from the write-behind log", pending.size());
+            final var highestId = pending.stream().mapToInt(mutation -> mutation.view.getId()).max().getAsInt();
+            flush(true);
+            skipIdsUpTo(highestId);
+        } else {
+            startEpoch();
+            log.force(0, HEADER_SIZE);
+        }
+    }
+
+    private void skipIdsUpTo(int highestId) {
+        synchronized (idBlockLock) {
+            while (idBlockEnd < highestId) {
+                idBlockEnd = jdbcTemplate.queryForObject(nextIdQuery, Long.class).intValue() + TodoItemDao.ID_ALLOCATION_SIZE - 1;
+            }
+            nextId = idBlockEnd + 1;
+        }
+    }
+
+    private static EncodedRecord encode(Mutation mutation, long recordEpoch) {
+        final var view = mutation.view;
+        final var title = view.getTitle() == null ? null : view.getTitle().getBytes(StandardCharsets.UTF_8);
+        final var listId = mutation.listId.getBytes(StandardCharsets.UTF_8);
+        final var length = RECORD_FIXED_SIZE + (title == null ? 0 : title.length) + Integer.BYTES + listId.length;
+        final var record = ByteBuffer.allocate(RECORD_HEADER_SIZE + length);
+        record.position(RECORD_HEADER_SIZE);
+        record.putLong(recordEpoch)
+                .put(mutation.kind)
+                .putInt(view.getId())
+                .put((byte) (view.isCompleted() ? 1 : 0))
+                .putInt(view.getOrder())
+                .putLong(view.getVersion())
+                .putLong(mutation.createdAt)
+                .putInt(title == null ? NULL_TITLE : title.length);
+        if (title != null) {
+            record.put(title);
+        }
+        record.putInt(listId.length).put(listId);
+        final var checksum = new CRC32C();
+        checksum.update(record.array(), RECORD_HEADER_SIZE, length);
+        record.putInt(0, length).putInt(Integer.BYTES, (int) checksum.getValue());
+
+        return new EncodedRecord(recordEpoch, record.array());
+    }
+
+    private static Mutation decode(ByteBuffer payload) {
+        final var kind = payload.get();
+        final var todoId = payload.getInt();
+        final var completed = payload.get() == 1;
+        final var order = payload.getInt();
+        final var version = payload.getLong();
+        final var createdAt = payload.getLong();
+        final var titleLength = payload.getInt();
+        final var title = titleLength == NULL_TITLE
+                ? null
+                : new String(payload.array(), payload.position(), titleLength, StandardCharsets.UTF_8);
+        payload.position(payload.position() + Math.max(titleLength, 0));
+        final var listId = payload.hasRemaining() ? decodeListId(payload) : TodoItemDao.DEFAULT_LIST_ID;
+
+        return new Mutation(kind, listId, new TodoItemView(todoId, title, completed, order, EMPTY_STRING, version), createdAt);
+    }
+
+    private static String decodeListId(ByteBuffer payload) {
+        final var listIdLength = payload.getInt();
+        return new String(payload.array(), payload.position(), listIdLength, StandardCharsets.UTF_8);
+    }
+
+    @PreDestroy
+    public void close() {
+        if (!enabled) {
+            return;
+        }
+        flusher.shutdown();
+        flushQuietly();
+        log.force();
+    }
+
+    private static final class Mutation {
+
+        private final byte kind;
+        private final String listId;
+        private final TodoItemView view;
+        private final long createdAt;
+
+        private Mutation(byte kind, String listId, TodoItemView view, long createdAt) {
+            this.kind = kind;
+            this.listId = listId;
+            this.view = view;
+            this.createdAt = createdAt;
+        }
+    }
+
+    private static final class EncodedRecord {
+
+        private final long epoch;
+        private final byte[] bytes;
+
+        private EncodedRecord(long epoch, byte[] bytes) {
+            this.epoch = epoch;
+            this.bytes = bytes;
+        }
+    }
+
+    private static final class CoalescedTodo {
+
+        private boolean created;
+        private long createdAt;
+        private int updates;
+        private String listId;
+        private TodoItemView view;
+    }
+}
@@ -0,0 +1,49 @@
+package com.kevin.todo.spring.todolist.utils;
+
+import com.kevin.todo.spring.todolist.exceptions.TodoVersionConflictException;
+import com.kevin.todo.spring.todolist.view.TodoItemView;
+
+import java.util.List;
+
+public interface TodoEtags {
+
+    String ANY = "*";
+    String WEAK_PREFIX = "W/";
+    String QUOTE = "\"";
+    String INVALID_IF_MATCH = "Sorry, If-Match does not hold a todo version : ";
+    long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    long FNV_PRIME = 0x100000001b3L;
+
+    static String renderEtag(TodoItemView view) {
+        return view.getVersion() == null ? null : QUOTE + view.getVersion() + QUOTE;
+    }
+
+    static String renderEtag(List<TodoItemView> views) {
+        var hash = FNV_OFFSET_BASIS;
+        for (final var view : views) {
+            if (view.getVersion() == null) {
+                return null;
+            }
+            hash = (hash ^ view.getId()) * FNV_PRIME;
+            hash = (hash ^ view.getVersion()) * FNV_PRIME;
+        }
+
+        return WEAK_PREFIX + QUOTE + Long.toHexString(hash) + '-' + views.size() + QUOTE;
+    }
+
+    static Long parseExpectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.trim().equals(ANY)) {
+            return null;
+        }
+
+        final var etag = ifMatch.trim();
+        if (etag.startsWith(WEAK_PREFIX) || etag.length() < 2 || !etag.startsWith(QUOTE) || !etag.endsWith(QUOTE)) {
+            throw new TodoVersionConflictException(INVALID_IF_MATCH + ifMatch);
+        }
+        try {
+            return Long.parseLong(etag.substring(1, etag.length() - 1));
+        } catch (NumberFormatException exception) {
+            throw new TodoVersionConflictException(INVALID_IF_MATCH + ifMatch);
+        }
+    }
+}
@@ -1,17 +1,62 @@
 package com.kevin.todo.spring.todolist.utils;
 
+import com.kevin.todo.spring.todolist.exceptions.TodoInvalidQueryException;
+import com.kevin.todo.spring.todolist.model.ReactiveTodoItemDao;
 import com.kevin.todo.spring.todolist.model.TodoItemDao;
 import com.kevin.todo.spring.todolist.model.TodoItemModel;
 import com.kevin.todo.spring.todolist.view.TodoItemView;
+import org.springframework.data.domain.Sort;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 
 public interface TodoHandler {
 
+    String INVALID_SORT_PROPERTY = "Sorry, Todos cannot be sorted by : ";
+    String INVALID_LIST_ID = "Sorry, not a valid todo list id : ";
+    Pattern LIST_ID_PATTERN = Pattern.compile("[A-Za-z0-9_-]{1," + TodoItemDao.MAX_LIST_ID_LENGTH + "}");
+    Sort DEFAULT_SORT = Sort.by("id");
+    Map<String, String> SORTABLE_PROPERTIES = Map.of(
+            "id", "id",
+            "title", "title",
+            "completed", "completed",
+            "order", "orders",
+            "orders", "orders");
+
     static TodoItemView renderViewFromTodoDao(TodoItemDao todo, String url) {
-        return new TodoItemView(todo.getId(), todo.getTitle(), todo.isCompleted(), todo.getOrders(), url);
+        return new TodoItemView(todo.getId(), todo.getTitle(), todo.isCompleted(), todo.getOrders(), url, todo.getVersion());
+    }
+
+    static TodoItemView renderViewFromTodoDao(ReactiveTodoItemDao todo, String url) {
+        return new TodoItemView(todo.getId(), todo.getTitle(), todo.isCompleted(), todo.getOrders(), url, todo.getVersion());
+    }
+
+    static TodoItemDao getTodoDaoFromTodoModel(String listId, TodoItemModel todo) {
+        return new TodoItemDao(listId, todo.getTitle(), todo.getOrder());
     }
 
-    static TodoItemDao getTodoDaoFromTodoModel(TodoItemModel todo) {
-        return new TodoItemDao(todo.getTitle(), todo.getOrder());
+    static String toListId(String listId) {
+        if (listId == null) {
+            return TodoItemDao.DEFAULT_LIST_ID;
+        }
+        if (!LIST_ID_PATTERN.matcher(listId).matches()) {
+            throw new TodoInvalidQueryException(INVALID_LIST_ID + listId);
+        }
+
+        return listId;
+    }
+
+    static Sort toTodoSort(Sort sort) {
+        if (sort == null || sort.isUnsorted()) {
+            return DEFAULT_SORT;
+        }
+
+        return Sort.by(sort.stream()
+                .map(order -> order.withProperty(Optional.ofNullable(SORTABLE_PROPERTIES.get(order.getProperty()))
+                        .orElseThrow(() -> new TodoInvalidQueryException(INVALID_SORT_PROPERTY + order.getProperty()))))
+                .collect(Collectors.toList()));
     }
 
 }
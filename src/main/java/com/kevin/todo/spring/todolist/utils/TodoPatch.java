@@ -0,0 +1,179 @@
+package com.kevin.todo.spring.todolist.utils;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.github.fge.jsonpatch.JsonPatchException;
+import com.kevin.todo.spring.todolist.model.TodoItemDao;
+
+import java.util.Optional;
+
+public final class TodoPatch {
+
+    private static final String TEST_FAILED = "Test operation failed on path : ";
+    private static final String OP = "op";
+    private static final String PATH = "path";
+    private static final String VALUE = "value";
+
+    private final Operation[] operations;
+
+    private TodoPatch(Operation[] operations) {
+        this.operations = operations;
+    }
+
+    public static Optional<TodoPatch> compileJsonPatch(JsonNode patch) {
+        if (patch == null || !patch.isArray()) {
+            return Optional.empty();
+        }
+
+        final var operations = new Operation[patch.size()];
+        for (var index = 0; index < operations.length; index++) {
+            final var operation = patch.get(index);
+            final var kind = Kind.fromName(operation.path(OP).asText());
+            final var field = Field.fromPath(operation.path(PATH).asText());
+            final var value = operation.get(VALUE);
+            if (kind == null || field == null || (kind != Kind.REMOVE && !field.accepts(value))) {
+                return Optional.empty();
+            }
+            operations[index] = new Operation(kind, field, value);
+        }
+
+        return Optional.of(new TodoPatch(operations));
+    }
+
+    public static Optional<TodoPatch> compileMergePatch(JsonNode mergePatch) {
+        if (mergePatch == null || !mergePatch.isObject()) {
+            return Optional.empty();
+        }
+
+        final var operations = new Operation[mergePatch.size()];
+        final var members = mergePatch.fields();
+        for (var index = 0; members.hasNext(); index++) {
+            final var member = members.next();
+            final var field = Field.fromName(member.getKey());
+            if (field == null) {
+                return Optional.empty();
+            }
+            final var value = member.getValue();
+            if (value.isNull()) {
+                operations[index] = new Operation(Kind.REMOVE, field, null);
+            } else if (field.accepts(value)) {
+                operations[index] = new Operation(Kind.REPLACE, field, value);
+            } else {
+                return Optional.empty();
+            }
+        }
+
+        return Optional.of(new TodoPatch(operations));
+    }
+
+    public TodoItemDao applyTo(TodoItemDao todo) throws JsonPatchException {
+        var title = todo.getTitle();
+        var completed = todo.isCompleted();
+        var orders = todo.getOrders();
+
+        for (final var operation : operations) {
+            switch (operation.kind) {
+                case TEST:
+                    if (!operation.field.matches(operation.value, title, completed, orders)) {
+                        throw new JsonPatchException(TEST_FAILED + operation.field.path);
+                    }
+                    break;
+                case REMOVE:
+                    title = operation.field == Field.TITLE ? null : title;
+                    completed = operation.field != Field.COMPLETED && completed;
+                    orders = operation.field == Field.ORDER ? 0 : orders;
+                    break;
+                default:
+                    title = operation.field == Field.TITLE ? operation.value.textValue() : title;
+                    completed = operation.field == Field.COMPLETED ? operation.value.booleanValue() : completed;
+                    orders = operation.field == Field.ORDER ? operation.value.intValue() : orders;
+            }
+        }
+
+        return new TodoItemDao(todo.getId(), title, completed, orders, todo.getVersion());
+    }
+
+    private enum Kind {
+        ADD, REPLACE, REMOVE, TEST;
+
+        static Kind fromName(String name) {
+            switch (name) {
+                case "add":
+                    return ADD;
+                case "replace":
+                    return REPLACE;
+                case "remove":
+                    return REMOVE;
+                case "test":
+                    return TEST;
+                default:
+                    return null;
+            }
+        }
+    }
+
+    private enum Field {
+        TITLE("/title"), COMPLETED("/completed"), ORDER("/order");
+
+        private final String path;
+
+        Field(String path) {
+            this.path = path;
+        }
+
+        static Field fromPath(String path) {
+            return path.isEmpty() ? null : fromName(path.substring(1));
+        }
+
+        static Field fromName(String name) {
+            switch (name) {
+                case "title":
+                    return TITLE;
+                case "completed":
+                    return COMPLETED;
+                case "order":
+                case "orders":
+                    return ORDER;
+                default:
+                    return null;
+            }
+        }
+
+        boolean accepts(JsonNode value) {
+            if (value == null) {
+                return false;
+            }
+            switch (this) {
+                case TITLE:
+                    return value.isTextual();
+                case COMPLETED:
+                    return value.isBoolean();
+                default:
+                    return value.isIntegralNumber() && value.canConvertToInt();
+            }
+        }
+
+        boolean matches(JsonNode value, String title, boolean completed, int orders) {
+            switch (this) {
+                case TITLE:
+                    return value.textValue().equals(title);
+                case COMPLETED:
+                    return value.booleanValue() == completed;
+                default:
+                    return value.intValue() == orders;
+            }
+        }
+    }
+
+    private static final class Operation {
+
+        private final Kind kind;
+        private final Field field;
+        private final JsonNode value;
+
+        private Operation(Kind kind, Field field, JsonNode value) {
+            this.kind = kind;
+            this.field = field;
+            this.value = value;
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.kevin.todo.spring.todolist.view;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TodoBatchResultView {
+
+    private final Integer id;
+    private final int status;
+    private final String message;
+    private final TodoItemView todo;
+
+    public TodoBatchResultView(Integer id, int status, String message, TodoItemView todo) {
+        this.id = id;
+        this.status = status;
+        this.message = message;
+        this.todo = todo;
+    }
+
+    public Integer getId() {
+        return id;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public TodoItemView getTodo() {
+        return todo;
+    }
+}
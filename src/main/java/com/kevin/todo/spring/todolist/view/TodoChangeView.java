@@ -0,0 +1,51 @@
+package com.kevin.todo.spring.todolist.view;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.Locale;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TodoChangeView {
+
+    private final long sequence;
+    private final Type type;
+    private final String listId;
+    private final Integer id;
+    private final TodoItemView todo;
+
+    public TodoChangeView(long sequence, Type type, String listId, Integer id, TodoItemView todo) {
+        this.sequence = sequence;
+        this.type = type;
+        this.listId = listId;
+        this.id = id;
+        this.todo = todo;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public String getListId() {
+        return listId;
+    }
+
+    public Integer getId() {
+        return id;
+    }
+
+    public TodoItemView getTodo() {
+        return todo;
+    }
+
+    public enum Type {
+        CREATED, UPDATED, DELETED, CLEARED;
+
+        public String eventName() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+}
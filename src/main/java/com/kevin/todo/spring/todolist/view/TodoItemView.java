@@ -1,5 +1,9 @@
 package com.kevin.todo.spring.todolist.view;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+@JsonSerialize(using = TodoItemViewSerializer.class)
 public class TodoItemView {
 
     private final int id;
@@ -7,13 +11,19 @@ public class TodoItemView {
     private final boolean completed;
     private final int order;
     private final String url;
+    private final Long version;
 
     public TodoItemView(int id, String title, boolean completed, int order, String url) {
+        this(id, title, completed, order, url, null);
+    }
+
+    public TodoItemView(int id, String title, boolean completed, int order, String url, Long version) {
         this.id = id;
         this.title = title;
         this.completed = completed;
         this.order = order;
         this.url = url;
+        this.version = version;
     }
 
     public int getId() {
@@ -35,4 +45,9 @@ public class TodoItemView {
     public int getOrder() {
         return order;
     }
+
+    @JsonIgnore
+    public Long getVersion() {
+        return version;
+    }
 }
@@ -0,0 +1,45 @@
+package com.kevin.todo.spring.todolist.view;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+public class TodoItemViewSerializer extends StdSerializer<TodoItemView> {
+
+    private static final SerializedString ID = new SerializedString("id");
+    private static final SerializedString TITLE = new SerializedString("title");
+    private static final SerializedString COMPLETED = new SerializedString("completed");
+    private static final SerializedString ORDER = new SerializedString("order");
+    private static final SerializedString URL = new SerializedString("url");
+
+    public TodoItemViewSerializer() {
+        super(TodoItemView.class);
+    }
+
+    @Override
+    public void serialize(TodoItemView todo, JsonGenerator generator, SerializerProvider provider) throws IOException {
+        writeTodo(generator, todo, null);
+    }
+
+    public static void writeTodo(JsonGenerator generator, TodoItemView todo, TodoUrlWriter urlWriter) throws IOException {
+        generator.writeStartObject(todo);
+        generator.writeFieldName(ID);
+        generator.writeNumber(todo.getId());
+        generator.writeFieldName(TITLE);
+        generator.writeString(todo.getTitle());
+        generator.writeFieldName(COMPLETED);
+        generator.writeBoolean(todo.isCompleted());
+        generator.writeFieldName(ORDER);
+        generator.writeNumber(todo.getOrder());
+        generator.writeFieldName(URL);
+        if (urlWriter == null) {
+            generator.writeString(todo.getUrl());
+        } else {
+            urlWriter.writeUrl(generator, todo.getId());
+        }
+        generator.writeEndObject();
+    }
+}
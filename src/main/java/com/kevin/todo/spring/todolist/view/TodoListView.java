@@ -0,0 +1,46 @@
+package com.kevin.todo.spring.todolist.view;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.util.List;
+
+@JsonSerialize(using = TodoListView.Serializer.class)
+public class TodoListView {
+
+    private final List<TodoItemView> items;
+    private final String urlPrefix;
+
+    public TodoListView(List<TodoItemView> items, String urlPrefix) {
+        this.items = items;
+        this.urlPrefix = urlPrefix;
+    }
+
+    public List<TodoItemView> getItems() {
+        return items;
+    }
+
+    public String getUrlPrefix() {
+        return urlPrefix;
+    }
+
+    public static class Serializer extends StdSerializer<TodoListView> {
+
+        public Serializer() {
+            super(TodoListView.class);
+        }
+
+        @Override
+        public void serialize(TodoListView todos, JsonGenerator generator, SerializerProvider provider) throws IOException {
+            final var urlWriter = todos.urlPrefix == null ? null : new TodoUrlWriter(todos.urlPrefix);
+            generator.writeStartArray(todos, todos.items.size());
+            for (final var todo : todos.items) {
+                TodoItemViewSerializer.writeTodo(generator, todo, urlWriter);
+            }
+            generator.writeEndArray();
+        }
+    }
+}
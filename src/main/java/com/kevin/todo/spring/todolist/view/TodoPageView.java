@@ -0,0 +1,20 @@
+package com.kevin.todo.spring.todolist.view;
+
+public class TodoPageView {
+
+    private final TodoListView items;
+    private final Integer nextCursor;
+
+    public TodoPageView(TodoListView items, Integer nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    public TodoListView getItems() {
+        return items;
+    }
+
+    public Integer getNextCursor() {
+        return nextCursor;
+    }
+}
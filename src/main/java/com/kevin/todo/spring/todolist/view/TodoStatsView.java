@@ -0,0 +1,33 @@
+package com.kevin.todo.spring.todolist.view;
+
+import java.time.LocalDate;
+import java.util.SortedMap;
+
+public class TodoStatsView {
+
+    private final long total;
+    private final long completed;
+    private final SortedMap<LocalDate, Long> createdPerDay;
+
+    public TodoStatsView(long total, long completed, SortedMap<LocalDate, Long> createdPerDay) {
+        this.total = total;
+        this.completed = completed;
+        this.createdPerDay = createdPerDay;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public long getCompleted() {
+        return completed;
+    }
+
+    public long getPending() {
+        return total - completed;
+    }
+
+    public SortedMap<LocalDate, Long> getCreatedPerDay() {
+        return createdPerDay;
+    }
+}
@@ -0,0 +1,45 @@
+package com.kevin.todo.spring.todolist.view;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+public final class TodoUrlWriter {
+
+    private static final int MAX_ID_DIGITS = 10;
+
+    private final String urlPrefix;
+    private final char[] buffer;
+    private final int prefixLength;
+
+    public TodoUrlWriter(String urlPrefix) {
+        this.urlPrefix = urlPrefix;
+        this.prefixLength = urlPrefix.length();
+        this.buffer = Arrays.copyOf(urlPrefix.toCharArray(), prefixLength + MAX_ID_DIGITS);
+    }
+
+    public void writeUrl(JsonGenerator generator, int id) throws IOException {
+        if (id < 0) {
+            generator.writeString(urlPrefix + id);
+            return;
+        }
+
+        final var length = prefixLength + digitCount(id);
+        var remaining = id;
+        for (var position = length - 1; position >= prefixLength; position--) {
+            buffer[position] = (char) ('0' + remaining % 10);
+            remaining /= 10;
+        }
+        generator.writeString(buffer, 0, length);
+    }
+
+    private static int digitCount(int id) {
+        var digits = 1;
+        for (var remaining = id; remaining >= 10; remaining /= 10) {
+            digits++;
+        }
+
+        return digits;
+    }
+}
@@ -0,0 +1,16 @@
+create sequence TODOS_SEQ start with 1 increment by 50;
+
+create table TODOS
+(
+    id            integer      not null,
+    completed     boolean      not null,
+    creation_date timestamp,
+    orders        integer      not null,
+    title         varchar(255),
+    version       bigint       not null,
+    primary key (id)
+);
+
+create index IDX_TODOS_COMPLETED_ORDERS on TODOS (completed, orders);
+create index IDX_TODOS_TITLE on TODOS (title);
+create index IDX_TODOS_COMPLETED_TITLE on TODOS (completed, title);
@@ -0,0 +1,10 @@
+alter table TODOS add column list_id varchar(64) default 'default' not null;
+
+drop index IDX_TODOS_COMPLETED_ORDERS;
+drop index IDX_TODOS_TITLE;
+drop index IDX_TODOS_COMPLETED_TITLE;
+
+create index IDX_TODOS_LIST_ID on TODOS (list_id, id);
+create index IDX_TODOS_LIST_COMPLETED_ORDERS on TODOS (list_id, completed, orders);
+create index IDX_TODOS_LIST_TITLE on TODOS (list_id, title);
+create index IDX_TODOS_LIST_COMPLETED_TITLE on TODOS (list_id, completed, title);
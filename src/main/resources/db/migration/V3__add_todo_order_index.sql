@@ -0,0 +1 @@
+create index IDX_TODOS_LIST_ORDERS on TODOS (list_id, orders, id);
@@ -0,0 +1,14 @@
+alter table TODOS add column deleted_at timestamp;
+
+drop index IDX_TODOS_LIST_ID;
+drop index IDX_TODOS_LIST_COMPLETED_ORDERS;
+drop index IDX_TODOS_LIST_ORDERS;
+drop index IDX_TODOS_LIST_TITLE;
+drop index IDX_TODOS_LIST_COMPLETED_TITLE;
+
+create index IDX_TODOS_LIST_ID on TODOS (list_id, deleted_at, id);
+create index IDX_TODOS_LIST_COMPLETED_ORDERS on TODOS (list_id, deleted_at, completed, orders);
+create index IDX_TODOS_LIST_ORDERS on TODOS (list_id, deleted_at, orders, id);
+create index IDX_TODOS_LIST_TITLE on TODOS (list_id, deleted_at, title);
+create index IDX_TODOS_LIST_COMPLETED_TITLE on TODOS (list_id, deleted_at, completed, title);
+create index IDX_TODOS_DELETED_AT on TODOS (deleted_at);
@@ -0,0 +1,6 @@
+create table TODOS_WRITE_BEHIND
+(
+    epoch            bigint not null,
+    flushed_position bigint not null,
+    primary key (epoch)
+);
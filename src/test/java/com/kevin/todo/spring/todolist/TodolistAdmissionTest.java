@@ -0,0 +1,134 @@
+package com.kevin.todo.spring.todolist;
+
+import com.kevin.todo.spring.todolist.config.AdaptiveConcurrencyLimit;
+import com.kevin.todo.spring.todolist.config.TodoAdmissionInterceptor;
+import com.kevin.todo.spring.todolist.config.TokenBucket;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@DisplayName("Admission Control Test")
+@SpringBootTest(properties = {
+        "todos.admission.enabled=true",
+        "todos.admission.expensive.rate=0.01",
+        "todos.admission.expensive.burst=2"
+})
+@AutoConfigureMockMvc
+public class TodolistAdmissionTest {
+
+    private static final long MILLISECOND = TimeUnit.MILLISECONDS.toNanos(1);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    @DisplayName("Should shed expensive calls past the client budget with 429 and Retry-After")
+    void shouldShedExpensiveCallsPastTheClientBudget() throws Exception {
+        final var firstClient = client("10.0.0.1");
+        mockMvc.perform(get("/todos").with(firstClient)).andExpect(status().isOk());
+        mockMvc.perform(get("/todos").with(firstClient)).andExpect(status().isOk());
+
+        mockMvc.perform(get("/todos").with(firstClient))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().exists(HttpHeaders.RETRY_AFTER));
+
+        mockMvc.perform(post("/todos").with(firstClient).content("{\"title\":\"still admitted\"}").contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isCreated());
+        mockMvc.perform(get("/todos").with(client("10.0.0.2"))).andExpect(status().isOk());
+        assertThat(meterRegistry.get(TodoAdmissionInterceptor.REJECTED_COUNTER)
+                .tag(TodoAdmissionInterceptor.BUDGET_TAG, "getAllTodos")
+                .tag(TodoAdmissionInterceptor.REASON_TAG, TodoAdmissionInterceptor.RATE_REASON)
+                .counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get(TodoAdmissionInterceptor.LIMIT_GAUGE)
+                .tag(TodoAdmissionInterceptor.BUDGET_TAG, "deleteAllTodos")
+                .gauge().value()).isPositive();
+    }
+
+    @Test
+    @DisplayName("Should refill tokens at the configured rate up to the burst")
+    void shouldRefillTokensAtTheConfiguredRate() {
+        final var second = TimeUnit.SECONDS.toNanos(1);
+        final var bucket = new TokenBucket(2, 2, 0);
+
+        assertThat(bucket.tryAcquire(0)).isZero();
+        assertThat(bucket.tryAcquire(0)).isZero();
+        assertThat(bucket.tryAcquire(0)).isEqualTo(second / 2);
+        assertThat(bucket.tryAcquire(second / 2)).isZero();
+        assertThat(bucket.tryAcquire(10 * second)).isZero();
+        assertThat(bucket.tryAcquire(10 * second)).isZero();
+        assertThat(bucket.tryAcquire(10 * second)).isPositive();
+    }
+
+    @Test
+    @DisplayName("Should grow the concurrency limit while latency holds and shrink it when latency climbs")
+    void shouldAdaptTheConcurrencyLimitToLatency() {
+        final var concurrencyLimit = new AdaptiveConcurrencyLimit(10, 2, 100);
+        final var initialLimit = concurrencyLimit.getLimit();
+
+        for (var round = 0; round < 20; round++) {
+            saturate(concurrencyLimit, MILLISECOND);
+        }
+        final var grownLimit = concurrencyLimit.getLimit();
+        assertThat(grownLimit).isGreaterThan(initialLimit);
+
+        for (var round = 0; round < 20; round++) {
+            saturate(concurrencyLimit, 20 * MILLISECOND);
+        }
+        assertThat(concurrencyLimit.getLimit()).isLessThan(grownLimit);
+
+        final var droppedLimit = concurrencyLimit.getLimit();
+        assertThat(concurrencyLimit.tryAcquire()).isTrue();
+        concurrencyLimit.release(MILLISECOND, true);
+        assertThat(concurrencyLimit.getLimit()).isLessThanOrEqualTo(droppedLimit);
+        assertThat(concurrencyLimit.getInFlight()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should reject acquisitions beyond the current concurrency limit")
+    void shouldRejectBeyondTheConcurrencyLimit() {
+        final var concurrencyLimit = new AdaptiveConcurrencyLimit(3, 1, 3);
+
+        assertThat(concurrencyLimit.tryAcquire()).isTrue();
+        assertThat(concurrencyLimit.tryAcquire()).isTrue();
+        assertThat(concurrencyLimit.tryAcquire()).isTrue();
+        assertThat(concurrencyLimit.tryAcquire()).isFalse();
+
+        concurrencyLimit.release();
+        assertThat(concurrencyLimit.tryAcquire()).isTrue();
+    }
+
+    private static void saturate(AdaptiveConcurrencyLimit concurrencyLimit, long rttNanos) {
+        var acquired = 0;
+        while (concurrencyLimit.tryAcquire()) {
+            acquired++;
+        }
+        for (var permit = 0; permit < acquired; permit++) {
+            concurrencyLimit.release(rttNanos, false);
+        }
+    }
+
+    private static RequestPostProcessor client(String address) {
+        return request -> {
+            request.setRemoteAddr(address);
+            return request;
+        };
+    }
+}
@@ -0,0 +1,113 @@
+package com.kevin.todo.spring.todolist;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.kevin.todo.spring.todolist.model.TodoItemDao;
+import com.kevin.todo.spring.todolist.model.TodoItemModel;
+import com.kevin.todo.spring.todolist.repository.TodoRepository;
+import com.kevin.todo.spring.todolist.service.TodoListService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static com.kevin.todo.spring.todolist.model.TodoItemDao.DEFAULT_LIST_ID;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@DisplayName("Cache Test")
+@SpringBootTest
+public class TodolistCacheTest {
+
+    @Autowired
+    private TodoListService service;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @MockBean
+    private TodoRepository repository;
+
+    @BeforeEach
+    void clearCache() {
+        cacheManager.getCache(TodoListService.TODOS_CACHE).clear();
+    }
+
+    @Test
+    @DisplayName("Should read a todo from the repository only once")
+    void shouldReadTodoFromRepositoryOnlyOnce() {
+        when(repository.findByListIdAndId(DEFAULT_LIST_ID, 1)).thenReturn(Optional.of(new TodoItemDao(1, DEFAULT_LIST_ID, "dump todo", false, 15)));
+        final var statsBefore = nativeCache().stats();
+
+        service.retrieveOneTodo(DEFAULT_LIST_ID, 1);
+        final var actual = service.retrieveOneTodo(DEFAULT_LIST_ID, 1);
+
+        final var stats = nativeCache().stats().minus(statsBefore);
+        assertThat(actual.getTitle()).isEqualTo("dump todo");
+        verify(repository, times(1)).findByListIdAndId(DEFAULT_LIST_ID, 1);
+        assertThat(stats.hitCount()).isEqualTo(1);
+        assertThat(stats.missCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should serve the created todo from the cache")
+    void shouldServeCreatedTodoFromCache() {
+        when(repository.save(any(TodoItemDao.class))).thenReturn(new TodoItemDao(2, DEFAULT_LIST_ID, "dump todo", false, 15));
+
+        service.addTodo(DEFAULT_LIST_ID, new TodoItemModel("dump todo", false, 15));
+        final var actual = service.retrieveOneTodo(DEFAULT_LIST_ID, 2);
+
+        assertThat(actual.getTitle()).isEqualTo("dump todo");
+        verify(repository, never()).findByListIdAndId(any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Should not serve a stale todo after an update")
+    void shouldNotServeStaleTodoAfterUpdate() {
+        when(repository.findByListIdAndId(DEFAULT_LIST_ID, 1)).thenReturn(Optional.of(new TodoItemDao(1, DEFAULT_LIST_ID, "dump todo", false, 15)));
+
+        when(repository.updateAllFieldsByListIdAndIdAndCompleted(DEFAULT_LIST_ID, 1, true, "dump updated", true, 5))
+                .thenReturn(Optional.of(new TodoItemDao(1, DEFAULT_LIST_ID, "dump updated", true, 5)));
+
+        service.retrieveOneTodo(DEFAULT_LIST_ID, 1);
+        service.updateAllFieldsOfTodo(DEFAULT_LIST_ID, 1, "dump updated", true, 5, null);
+
+        assertThat(nativeCache().getIfPresent(TodoListService.cacheKey(DEFAULT_LIST_ID, 1))).isNull();
+    }
+
+    @Test
+    @DisplayName("Should evict the todo from the cache when it is deleted")
+    void shouldEvictTodoWhenDeleted() {
+        when(repository.findByListIdAndId(DEFAULT_LIST_ID, 1)).thenReturn(Optional.of(new TodoItemDao(1, DEFAULT_LIST_ID, "dump todo", false, 15)));
+
+        when(repository.softDeleteTodoByListIdAndId(eq(DEFAULT_LIST_ID), eq(1), any(LocalDateTime.class)))
+                .thenReturn(Optional.of(new TodoItemDao(1, DEFAULT_LIST_ID, "dump todo", false, 15)));
+
+        service.retrieveOneTodo(DEFAULT_LIST_ID, 1);
+        service.removeTodo(DEFAULT_LIST_ID, 1, null);
+
+        assertThat(nativeCache().getIfPresent(TodoListService.cacheKey(DEFAULT_LIST_ID, 1))).isNull();
+    }
+
+    @Test
+    @DisplayName("Should evict every todo from the cache when all are deleted")
+    void shouldEvictEveryTodoWhenAllDeleted() {
+        when(repository.findByListIdAndId(DEFAULT_LIST_ID, 1)).thenReturn(Optional.of(new TodoItemDao(1, DEFAULT_LIST_ID, "dump todo", false, 15)));
+
+        service.retrieveOneTodo(DEFAULT_LIST_ID, 1);
+        service.removeAllTodos(DEFAULT_LIST_ID);
+
+        assertThat(nativeCache().estimatedSize()).isZero();
+    }
+
+    @SuppressWarnings("unchecked")
+    private Cache<Object, Object> nativeCache() {
+        return (Cache<Object, Object>) cacheManager.getCache(TodoListService.TODOS_CACHE).getNativeCache();
+    }
+}
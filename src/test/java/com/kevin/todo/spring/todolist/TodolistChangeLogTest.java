@@ -0,0 +1,163 @@
+package com.kevin.todo.spring.todolist;
+
+import com.kevin.todo.spring.todolist.service.TodoChangeListener;
+import com.kevin.todo.spring.todolist.service.TodoChangeLog;
+import com.kevin.todo.spring.todolist.view.TodoChangeView;
+import com.kevin.todo.spring.todolist.view.TodoItemView;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.kevin.todo.spring.todolist.model.TodoItemDao.DEFAULT_LIST_ID;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Change Log Test")
+public class TodolistChangeLogTest {
+
+    private final TodoChangeLog changeLog = new TodoChangeLog(Runnable::run, Runnable::run, Duration.ofSeconds(1));
+    private final List<Long> received = new ArrayList<>();
+    private final List<Long> resets = new ArrayList<>();
+    private final TodoChangeListener listener = recordingListener(received, resets);
+
+    @Test
+    @DisplayName("Should deliver only the changes recorded after subscribing")
+    void shouldDeliverChangesRecordedAfterSubscribing() {
+        changeLog.record(TodoChangeView.Type.CREATED, DEFAULT_LIST_ID, 1, new TodoItemView(1, "dump todo", false, 15, ""));
+
+        changeLog.subscribe(null, listener);
+        changeLog.record(TodoChangeView.Type.DELETED, DEFAULT_LIST_ID, 1, null);
+
+        assertThat(received).containsExactly(2L);
+        assertThat(resets).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should replay the changes following the Last-Event-ID")
+    void shouldReplayChangesFollowingLastEventId() {
+        for (var id = 1; id <= 3; id++) {
+            changeLog.record(TodoChangeView.Type.DELETED, DEFAULT_LIST_ID, id, null);
+        }
+
+        changeLog.subscribe(1L, listener);
+
+        assertThat(received).containsExactly(2L, 3L);
+    }
+
+    @Test
+    @DisplayName("Should reset a subscriber that fell behind the bounded log")
+    void shouldResetSubscriberThatFellBehind() {
+        for (var id = 1; id <= TodoChangeLog.CAPACITY + 10; id++) {
+            changeLog.record(TodoChangeView.Type.DELETED, DEFAULT_LIST_ID, id, null);
+        }
+
+        changeLog.subscribe(5L, listener);
+
+        assertThat(resets).containsExactly(TodoChangeLog.CAPACITY + 10L);
+        assertThat(received).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should stop delivering once the subscription is cancelled")
+    void shouldStopDeliveringOnceCancelled() {
+        changeLog.subscribe(null, listener).cancel();
+        changeLog.record(TodoChangeView.Type.CLEARED, DEFAULT_LIST_ID, null, null);
+
+        assertThat(received).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should record a change made in a transaction only after commit")
+    void shouldRecordTransactionalChangeAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            changeLog.record(TodoChangeView.Type.DELETED, DEFAULT_LIST_ID, 1, null);
+            assertThat(changeLog.lastSequence()).isZero();
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            assertThat(changeLog.lastSequence()).isEqualTo(1L);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("Should keep delivering to in-process listeners while clients are stalled")
+    void shouldDeliverToListenersWhileClientsAreStalled() {
+        final var stalledClients = new ArrayList<Runnable>();
+        final var changeLog = new TodoChangeLog(Runnable::run, stalledClients::add, Duration.ofSeconds(1));
+        final var clientChanges = new ArrayList<Long>();
+        changeLog.subscribe(null, recordingListener(clientChanges, new ArrayList<>()));
+        changeLog.listen(listener);
+
+        changeLog.record(TodoChangeView.Type.DELETED, DEFAULT_LIST_ID, 1, null);
+
+        assertThat(received).containsExactly(1L);
+        assertThat(clientChanges).isEmpty();
+        assertThat(stalledClients).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Should reset a client that lags too far behind instead of replaying its backlog")
+    void shouldResetLaggingClient() {
+        final var pendingDeliveries = new ArrayList<Runnable>();
+        final var changeLog = new TodoChangeLog(Runnable::run, pendingDeliveries::add, Duration.ofSeconds(1));
+        changeLog.subscribe(null, listener);
+        for (var id = 1; id <= TodoChangeLog.MAX_CLIENT_LAG + 1; id++) {
+            changeLog.record(TodoChangeView.Type.DELETED, DEFAULT_LIST_ID, id, null);
+        }
+
+        runAll(pendingDeliveries);
+
+        assertThat(resets).containsExactly(TodoChangeLog.MAX_CLIENT_LAG + 1L);
+        assertThat(received).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should yield to other clients once a client has spent its delivery budget")
+    void shouldYieldOnceClientSpentItsBudget() {
+        final var pendingDeliveries = new ArrayList<Runnable>();
+        final var changeLog = new TodoChangeLog(Runnable::run, pendingDeliveries::add, Duration.ZERO);
+        final var firstChanges = new ArrayList<Long>();
+        final var secondChanges = new ArrayList<Long>();
+        changeLog.subscribe(null, recordingListener(firstChanges, new ArrayList<>()));
+        changeLog.subscribe(null, recordingListener(secondChanges, new ArrayList<>()));
+        changeLog.record(TodoChangeView.Type.DELETED, DEFAULT_LIST_ID, 1, null);
+        changeLog.record(TodoChangeView.Type.DELETED, DEFAULT_LIST_ID, 2, null);
+
+        pendingDeliveries.remove(0).run();
+        pendingDeliveries.remove(0).run();
+
+        assertThat(firstChanges).containsExactly(1L);
+        assertThat(secondChanges).containsExactly(1L);
+
+        runAll(pendingDeliveries);
+
+        assertThat(firstChanges).containsExactly(1L, 2L);
+        assertThat(secondChanges).containsExactly(1L, 2L);
+    }
+
+    private static void runAll(List<Runnable> pendingDeliveries) {
+        while (!pendingDeliveries.isEmpty()) {
+            pendingDeliveries.remove(0).run();
+        }
+    }
+
+    private static TodoChangeListener recordingListener(List<Long> changes, List<Long> resets) {
+        return new TodoChangeListener() {
+            @Override
+            public void onChange(TodoChangeView change) {
+                changes.add(change.getSequence());
+            }
+
+            @Override
+            public void onReset(long sequence) {
+                resets.add(sequence);
+            }
+        };
+    }
+}
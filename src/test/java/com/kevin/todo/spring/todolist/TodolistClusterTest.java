@@ -0,0 +1,162 @@
+package com.kevin.todo.spring.todolist;
+
+import com.kevin.todo.spring.Application;
+import com.kevin.todo.spring.todolist.exceptions.TodoNotFoundException;
+import com.kevin.todo.spring.todolist.exceptions.TodoQuotaExceededException;
+import com.kevin.todo.spring.todolist.model.TodoItemModel;
+import com.kevin.todo.spring.todolist.repository.TodoRepository;
+import com.kevin.todo.spring.todolist.service.TodoListService;
+import com.kevin.todo.spring.todolist.view.TodoItemView;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static com.kevin.todo.spring.todolist.model.TodoItemDao.DEFAULT_LIST_ID;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+@DisplayName("Cluster Test")
+public class TodolistClusterTest {
+
+    private static final int NODE_COUNT = 3;
+    private static final int WRITES_PER_NODE = 100;
+    private static final int MAX_TODOS = NODE_COUNT * WRITES_PER_NODE;
+    private static final int STATS_DAYS = 7;
+    private static final List<ConfigurableApplicationContext> NODES = new ArrayList<>();
+
+    @BeforeAll
+    static void startNodes() {
+        for (var node = 0; node < NODE_COUNT; node++) {
+            NODES.add(new SpringApplicationBuilder(Application.class)
+                    .web(WebApplicationType.NONE)
+                    .run("--spring.datasource.url=jdbc:h2:mem:todoClusterDB;DB_CLOSE_DELAY=-1",
+                            "--spring.jpa.hibernate.ddl-auto=update",
+                            "--spring.main.banner-mode=off",
+                            "--todos.cluster.enabled=true",
+                            "--todos.cluster.bus=loopback",
+                            "--todos.lists.quota.enabled=true",
+                            "--todos.lists.quota.max-todos=" + MAX_TODOS,
+                            "--todos.cluster.node-id=node-" + node));
+        }
+    }
+
+    @AfterAll
+    static void stopNodes() {
+        NODES.forEach(ConfigurableApplicationContext::close);
+        NODES.clear();
+    }
+
+    @BeforeEach
+    void clearTodos() {
+        service(0).removeAllTodos(DEFAULT_LIST_ID);
+    }
+
+    @Test
+    @DisplayName("Should hand out distinct ids from the shared sequence while every node creates concurrently")
+    void shouldHandOutDistinctIdsAcrossNodes() {
+        final var ids = ConcurrentHashMap.<Integer>newKeySet();
+        runOnEveryNode(node -> {
+            for (var index = 0; index < WRITES_PER_NODE; index++) {
+                ids.add(service(node).addTodo(DEFAULT_LIST_ID, new TodoItemModel("node " + node + " todo " + index, false, index)).getId());
+            }
+        });
+
+        assertThat(ids).hasSize(NODE_COUNT * WRITES_PER_NODE);
+        assertThat(NODES.get(NODE_COUNT - 1).getBean(TodoRepository.class).count()).isEqualTo(NODE_COUNT * WRITES_PER_NODE);
+    }
+
+    @Test
+    @DisplayName("Should converge every node cache on the shared row after concurrent updates")
+    void shouldConvergeNodeCachesAfterConcurrentUpdates() {
+        final var todoId = service(0).addTodo(DEFAULT_LIST_ID, new TodoItemModel("shared todo", false, 0)).getId();
+        for (var node = 0; node < NODE_COUNT; node++) {
+            assertThat(service(node).retrieveOneTodo(DEFAULT_LIST_ID, todoId).getTitle()).isEqualTo("shared todo");
+        }
+
+        runOnEveryNode(node -> {
+            for (var index = 0; index < WRITES_PER_NODE; index++) {
+                service(node).updateAllFieldsOfTodo(DEFAULT_LIST_ID, todoId, "node " + node + " write " + index, index % 2 == 0, index, null);
+                service(node).retrieveOneTodo(DEFAULT_LIST_ID, todoId);
+            }
+        });
+
+        final var stored = NODES.get(0).getBean(TodoRepository.class).findById(todoId).orElseThrow();
+        assertThat(stored.getVersion()).isEqualTo(NODE_COUNT * WRITES_PER_NODE);
+        await().atMost(Duration.ofSeconds(10)).untilAsserted(() -> {
+            for (var node = 0; node < NODE_COUNT; node++) {
+                final var cached = service(node).retrieveOneTodo(DEFAULT_LIST_ID, todoId);
+                assertThat(cached.getTitle()).isEqualTo(stored.getTitle());
+                assertThat(cached.getVersion()).isEqualTo(stored.getVersion());
+            }
+        });
+    }
+
+    @Test
+    @DisplayName("Should drop cached todos on every node when one node clears the list")
+    void shouldDropCachedTodosOnEveryNodeWhenCleared() {
+        final var todoId = service(1).addTodo(DEFAULT_LIST_ID, new TodoItemModel("cleared todo", false, 0)).getId();
+        assertThat(service(2).retrieveOneTodo(DEFAULT_LIST_ID, todoId).getTitle()).isEqualTo("cleared todo");
+
+        service(0).removeAllTodos(DEFAULT_LIST_ID);
+
+        await().atMost(Duration.ofSeconds(10)).untilAsserted(() ->
+                Assertions.assertThrows(TodoNotFoundException.class, () -> service(2).retrieveOneTodo(DEFAULT_LIST_ID, todoId)));
+    }
+
+    @Test
+    @DisplayName("Should keep the search index, statistics and quota of every node coherent with writes made on another node")
+    void shouldKeepListStateCoherentAcrossNodes() {
+        assertThat(service(1).retrieveStats(DEFAULT_LIST_ID, STATS_DAYS).getTotal()).isZero();
+        final var todoId = service(1).addTodo(DEFAULT_LIST_ID, new TodoItemModel("first node todo", false, 0)).getId();
+        assertThat(service(1).searchTodos(DEFAULT_LIST_ID, "first", 0, 10)).extracting(TodoItemView::getId).containsExactly(todoId);
+
+        service(0).updateAllFieldsOfTodo(DEFAULT_LIST_ID, todoId, "renamed remotely", true, 0, null);
+        service(0).addTodos(DEFAULT_LIST_ID, IntStream.range(1, MAX_TODOS)
+                .mapToObj(index -> new TodoItemModel("filler " + index, false, index))
+                .collect(Collectors.toList()));
+
+        await().atMost(Duration.ofSeconds(10)).untilAsserted(() -> {
+            assertThat(service(1).searchTodos(DEFAULT_LIST_ID, "first", 0, 10)).isEmpty();
+            assertThat(service(1).searchTodos(DEFAULT_LIST_ID, "renamed", 0, 10)).extracting(TodoItemView::getId).containsExactly(todoId);
+            final var stats = service(1).retrieveStats(DEFAULT_LIST_ID, STATS_DAYS);
+            assertThat(stats.getTotal()).isEqualTo(MAX_TODOS);
+            assertThat(stats.getCompleted()).isEqualTo(1);
+        });
+        Assertions.assertThrows(TodoQuotaExceededException.class,
+                () -> service(1).addTodo(DEFAULT_LIST_ID, new TodoItemModel("over quota", false, MAX_TODOS)));
+    }
+
+    private static TodoListService service(int node) {
+        return NODES.get(node).getBean(TodoListService.class);
+    }
+
+    private static void runOnEveryNode(NodeTask task) {
+        try (final var executor = Executors.newFixedThreadPool(NODE_COUNT)) {
+            final var futures = new ArrayList<CompletableFuture<Void>>();
+            for (var node = 0; node < NODE_COUNT; node++) {
+                final var currentNode = node;
+                futures.add(CompletableFuture.runAsync(() -> task.run(currentNode), executor));
+            }
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+        }
+    }
+
+    private interface NodeTask {
+        void run(int node);
+    }
+}
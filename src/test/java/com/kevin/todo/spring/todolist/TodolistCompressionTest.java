@@ -0,0 +1,86 @@
+package com.kevin.todo.spring.todolist;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.kevin.todo.spring.todolist.model.TodoItemModel;
+import com.kevin.todo.spring.todolist.service.TodoListService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
+
+import java.io.ByteArrayInputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.stream.IntStream;
+import java.util.zip.GZIPInputStream;
+
+import static com.kevin.todo.spring.todolist.model.TodoItemDao.DEFAULT_LIST_ID;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Compression Test")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class TodolistCompressionTest {
+
+    private static final int TODO_COUNT = 200;
+    private static final String GZIP = "gzip";
+    private static final String SMILE = "application/x-jackson-smile";
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TodoListService service;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @BeforeEach
+    void fillTodos() {
+        service.removeAllTodos(DEFAULT_LIST_ID);
+        service.addTodos(DEFAULT_LIST_ID, IntStream.range(0, TODO_COUNT)
+                .mapToObj(order -> new TodoItemModel("Compressed task " + order, false, order))
+                .toList());
+    }
+
+    @Test
+    @DisplayName("Should gzip large JSON and Smile todo lists for clients accepting it")
+    void shouldCompressLargeTodoLists() throws Exception {
+        final var json = getTodos("application/json", GZIP);
+        final var smile = getTodos(SMILE, GZIP);
+        final var identity = getTodos("application/json", null);
+
+        assertThat(json.headers().firstValue(HttpHeaders.CONTENT_ENCODING)).hasValue(GZIP);
+        assertThat(smile.headers().firstValue(HttpHeaders.CONTENT_ENCODING)).hasValue(GZIP);
+        assertThat(identity.headers().firstValue(HttpHeaders.CONTENT_ENCODING)).isEmpty();
+        assertThat(json.body().length).isLessThan(identity.body().length / 4);
+
+        final var todos = objectMapper.readTree(gunzip(json.body()));
+        assertThat(todos).hasSize(TODO_COUNT);
+        assertThat(new ObjectMapper(new SmileFactory()).readTree(gunzip(smile.body()))).isEqualTo(todos);
+        assertThat(objectMapper.readTree(identity.body())).isEqualTo(todos);
+    }
+
+    private HttpResponse<byte[]> getTodos(String accept, String acceptEncoding) throws Exception {
+        final var request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/todos")).header(HttpHeaders.ACCEPT, accept);
+        if (acceptEncoding != null) {
+            request.header(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+        }
+        final var response = client.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+        assertThat(response.statusCode()).isEqualTo(200);
+        return response;
+    }
+
+    private static byte[] gunzip(byte[] body) throws Exception {
+        try (final var input = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            return input.readAllBytes();
+        }
+    }
+}
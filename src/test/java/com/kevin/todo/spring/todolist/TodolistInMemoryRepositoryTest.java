@@ -0,0 +1,181 @@
+package com.kevin.todo.spring.todolist;
+
+import com.kevin.todo.spring.todolist.exceptions.TodoVersionConflictException;
+import com.kevin.todo.spring.todolist.model.TodoItemBatchUpdateModel;
+import com.kevin.todo.spring.todolist.model.TodoDailyCount;
+import com.kevin.todo.spring.todolist.model.TodoItemDao;
+import com.kevin.todo.spring.todolist.model.TodoItemModel;
+import com.kevin.todo.spring.todolist.repository.InMemoryTodoRepository;
+import com.kevin.todo.spring.todolist.repository.TodoRepository;
+import com.kevin.todo.spring.todolist.service.TodoListService;
+import com.kevin.todo.spring.todolist.view.TodoItemView;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static com.kevin.todo.spring.todolist.model.TodoItemDao.DEFAULT_LIST_ID;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("In-Memory Repository Test")
+@ActiveProfiles("memory")
+@SpringBootTest(properties = {
+        "todos.memory.snapshot-file=target/todos-memory-test.snapshot",
+        "todos.memory.snapshot-interval=0s"
+})
+public class TodolistInMemoryRepositoryTest {
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Autowired
+    private TodoRepository repository;
+
+    @Autowired
+    private TodoListService service;
+
+    @TempDir
+    private Path snapshotDirectory;
+
+    @BeforeEach
+    void clearTodos() {
+        service.removeAllTodos(DEFAULT_LIST_ID);
+    }
+
+    @Test
+    @DisplayName("Should serve the todo service from the in-memory engine without a datasource")
+    void shouldServeTodosWithoutDataSource() {
+        assertThat(AopUtils.getTargetClass(repository)).isEqualTo(InMemoryTodoRepository.class);
+        assertThat(context.getBeanNamesForType(DataSource.class)).isEmpty();
+
+        final var first = service.addTodo(DEFAULT_LIST_ID, new TodoItemModel("memory first", false, 2));
+        final var second = service.addTodo(DEFAULT_LIST_ID, new TodoItemModel("memory second", false, 1));
+        service.updateAllFieldsOfTodo(DEFAULT_LIST_ID, first.getId(), "memory first", true, 2, 0L);
+        Assertions.assertThrows(TodoVersionConflictException.class,
+                () -> service.updateAllFieldsOfTodo(DEFAULT_LIST_ID, first.getId(), "memory stale", false, 2, 0L));
+        assertThat(service.updateTodos(DEFAULT_LIST_ID, List.of(new TodoItemBatchUpdateModel(second.getId(), null, true, null))))
+                .extracting(result -> result.getTodo().getVersion())
+                .containsExactly(1L);
+
+        assertThat(service.retrieveOneTodo(DEFAULT_LIST_ID, first.getId()).getVersion()).isEqualTo(1L);
+        assertThat(service.retrieveTodos(DEFAULT_LIST_ID, true, null, Sort.by("order")))
+                .extracting(TodoItemView::getId)
+                .containsExactly(second.getId(), first.getId());
+        assertThat(service.retrieveTodos(DEFAULT_LIST_ID, null, "memory s", null))
+                .extracting(TodoItemView::getId)
+                .containsExactly(second.getId());
+        assertThat(service.retrieveTodosAfter(DEFAULT_LIST_ID, first.getId(), 10))
+                .extracting(TodoItemView::getId)
+                .containsExactly(second.getId());
+
+        service.removeTodo(DEFAULT_LIST_ID, second.getId(), null);
+        assertThat(service.retrieveAllTodos(DEFAULT_LIST_ID)).extracting(TodoItemView::getId).containsExactly(first.getId());
+    }
+
+    @Test
+    @DisplayName("Should version saves and reject stale entities like the JPA repository")
+    void shouldVersionSaves() {
+        final var engine = new InMemoryTodoRepository(snapshotDirectory.resolve("todos.snapshot"), Duration.ZERO);
+        final var saved = engine.save(new TodoItemDao("versioned", 1));
+        assertThat(saved.getId()).isPositive();
+        assertThat(saved.getVersion()).isZero();
+
+        assertThat(engine.save(saved).getVersion()).isZero();
+        saved.setCompleted(true);
+        assertThat(engine.save(saved).getVersion()).isEqualTo(1L);
+        Assertions.assertThrows(OptimisticLockingFailureException.class, () -> engine.save(saved));
+
+        assertThat(engine.updateAllFieldsByListIdAndIdAndVersion(DEFAULT_LIST_ID, saved.getId(), 0L, "stale", false, 1)).isZero();
+        assertThat(engine.updateAllFieldsByListIdAndIdAndVersion(DEFAULT_LIST_ID, saved.getId(), 1L, "fresh", false, 1)).isEqualTo(1);
+        assertThat(engine.softDeleteTodoByListIdAndIdAndVersion(DEFAULT_LIST_ID, saved.getId(), 1L, LocalDateTime.now())).isEmpty();
+        assertThat(engine.softDeleteTodoByListIdAndIdAndVersion(DEFAULT_LIST_ID, saved.getId(), 2L, LocalDateTime.now())).isPresent();
+        assertThat(engine.findById(saved.getId())).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should keep the primary map and the secondary indexes consistent across growth and removals")
+    void shouldKeepIndexesConsistent() {
+        final var engine = new InMemoryTodoRepository(snapshotDirectory.resolve("todos.snapshot"), Duration.ZERO);
+        final var todoCount = 5_000;
+        IntStream.range(0, todoCount).forEach(order -> engine.save(new TodoItemDao("task " + order, todoCount - order)));
+        IntStream.rangeClosed(1, todoCount).filter(todoId -> todoId % 2 == 0).forEach(engine::deleteById);
+        IntStream.rangeClosed(1, todoCount).filter(todoId -> todoId % 3 == 0)
+                .forEach(todoId -> engine.updateAllFieldsByListIdAndIdAndCompleted(DEFAULT_LIST_ID, todoId, false, "done " + todoId, true, todoId));
+
+        assertThat(engine.count()).isEqualTo(todoCount / 2);
+        IntStream.rangeClosed(1, todoCount).forEach(todoId -> assertThat(engine.existsByListIdAndId(DEFAULT_LIST_ID, todoId)).isEqualTo(todoId % 2 == 1));
+
+        final var completed = engine.findByListIdAndCompleted(DEFAULT_LIST_ID, true, Sort.by("orders"));
+        assertThat(engine.countByListIdAndCompleted(DEFAULT_LIST_ID, true)).isEqualTo(completed.size());
+        assertThat(engine.countByListIdAndCompleted(DEFAULT_LIST_ID, false)).isEqualTo(todoCount / 2 - completed.size());
+        assertThat(engine.countCreatedPerDayByListId(DEFAULT_LIST_ID)).extracting(TodoDailyCount::getTodos)
+                .containsOnly((long) todoCount / 2);
+        assertThat(completed).extracting(TodoItemDao::getId)
+                .containsExactlyElementsOf(IntStream.rangeClosed(1, todoCount).filter(todoId -> todoId % 6 == 3).boxed().collect(Collectors.toList()));
+        assertThat(engine.findByListIdAndCompleted(DEFAULT_LIST_ID, false, Sort.by(Sort.Direction.DESC, "orders")).get(0).getId()).isEqualTo(1);
+        assertThat(engine.findByListIdAndTitleStartingWith(DEFAULT_LIST_ID, "done 9", Sort.by("id"))).extracting(TodoItemDao::getId)
+                .containsExactlyElementsOf(IntStream.rangeClosed(1, todoCount)
+                        .filter(todoId -> todoId % 6 == 3 && String.valueOf(todoId).startsWith("9"))
+                        .boxed()
+                        .collect(Collectors.toList()));
+        assertThat(engine.findByListIdAndCompletedAndTitleStartingWith(DEFAULT_LIST_ID, false, "task 4", Sort.by("id"))).extracting(TodoItemDao::getId)
+                .containsExactlyElementsOf(IntStream.rangeClosed(1, todoCount)
+                        .filter(todoId -> todoId % 2 == 1 && todoId % 3 != 0 && String.valueOf(todoId - 1).startsWith("4"))
+                        .boxed()
+                        .collect(Collectors.toList()));
+        assertThat(engine.findByListIdAndIdGreaterThanOrderByIdAsc(DEFAULT_LIST_ID, 10, PageRequest.of(0, 3))).extracting(TodoItemDao::getId)
+                .containsExactly(11, 13, 15);
+        assertThat(engine.findAll(PageRequest.of(1, 2, Sort.by(Sort.Direction.DESC, "id"))).getContent())
+                .extracting(TodoItemDao::getId)
+                .containsExactly(todoCount - 5, todoCount - 7);
+        assertThat(engine.findPrecedingByListIdInOrder(DEFAULT_LIST_ID, todoCount - 11, 12, 13, PageRequest.of(0, 2)))
+                .extracting(TodoItemDao::getId)
+                .containsExactly(17, todoCount - 17);
+        assertThat(engine.findFollowingByListIdInOrder(DEFAULT_LIST_ID, todoCount - 11, 12, 11, PageRequest.of(0, 2)))
+                .extracting(TodoItemDao::getId)
+                .containsExactly(todoCount - 11, 7);
+        assertThat(engine.updateOrdersByListIdAndId(DEFAULT_LIST_ID, 7, todoCount + 1)).isEqualTo(1);
+        assertThat(engine.updateOrdersByListIdAndId("other-list", 7, 1)).isZero();
+        assertThat(engine.findFollowingByListIdInOrder(DEFAULT_LIST_ID, todoCount - 11, 12, 11, PageRequest.of(0, 2)))
+                .extracting(TodoItemDao::getId)
+                .containsExactly(todoCount - 11, todoCount - 5);
+    }
+
+    @Test
+    @DisplayName("Should restore todos and the id sequence from a snapshot")
+    void shouldRestoreFromSnapshot() {
+        final var snapshotFile = snapshotDirectory.resolve("todos.snapshot");
+        final var engine = new InMemoryTodoRepository(snapshotFile, Duration.ZERO);
+        final var first = engine.save(new TodoItemDao("snapshot first", 1));
+        final var second = engine.save(new TodoItemDao(null, 2));
+        engine.updateAllFieldsByListIdAndIdAndCompleted(DEFAULT_LIST_ID, first.getId(), false, "snapshot first", true, 5);
+        engine.close();
+
+        final var restored = new InMemoryTodoRepository(snapshotFile, Duration.ZERO);
+        final var restoredFirst = restored.findById(first.getId()).orElseThrow();
+        assertThat(restoredFirst.isCompleted()).isTrue();
+        assertThat(restoredFirst.getOrders()).isEqualTo(5);
+        assertThat(restoredFirst.getVersion()).isEqualTo(1L);
+        assertThat(restoredFirst.getCreationDate()).isEqualTo(first.getCreationDate());
+        assertThat(restored.findById(second.getId()).orElseThrow().getTitle()).isNull();
+        assertThat(restored.findByListIdAndCompleted(DEFAULT_LIST_ID, true, Sort.by("orders"))).extracting(TodoItemDao::getId).containsExactly(first.getId());
+        assertThat(restored.save(new TodoItemDao("after restore", 3)).getId()).isGreaterThan(second.getId());
+    }
+}
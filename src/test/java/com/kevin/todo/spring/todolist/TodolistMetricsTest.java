@@ -0,0 +1,71 @@
+package com.kevin.todo.spring.todolist;
+
+import com.kevin.todo.spring.todolist.config.TodoMetricsAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@DisplayName("Metrics Test")
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+public class TodolistMetricsTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    @DisplayName("Should time service and repository calls by outcome")
+    void shouldTimeServiceAndRepositoryCallsByOutcome() throws Exception {
+        final var notFoundBefore = serviceCallCount("retrieveOneTodo", TodoMetricsAspect.Outcome.NOT_FOUND);
+
+        mockMvc.perform(get("/todos/" + Integer.MAX_VALUE).accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotFound());
+
+        assertThat(serviceCallCount("retrieveOneTodo", TodoMetricsAspect.Outcome.NOT_FOUND)).isEqualTo(notFoundBefore + 1);
+        assertThat(meterRegistry.get(TodoMetricsAspect.REPOSITORY_TIMER)
+                .tag(TodoMetricsAspect.METHOD_TAG, "findByListIdAndId")
+                .tag(TodoMetricsAspect.OUTCOME_TAG, TodoMetricsAspect.Outcome.SUCCESS.name())
+                .timer().count()).isPositive();
+    }
+
+    @Test
+    @DisplayName("Should expose endpoint histograms, pool gauges and JVM metrics for Prometheus")
+    void shouldExposeMetricsForPrometheus() throws Exception {
+        mockMvc.perform(post("/todos").content("{\"title\":null}").contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("http_server_requests_seconds_bucket{")))
+                .andExpect(content().string(containsString("exception=\"MethodArgumentNotValidException\"")))
+                .andExpect(content().string(containsString("todos_service_seconds_bucket{")))
+                .andExpect(content().string(containsString("todos_repository_seconds_bucket{")))
+                .andExpect(content().string(containsString("hikaricp_connections_active")))
+                .andExpect(content().string(containsString("jvm_gc_memory_allocated_bytes_total")));
+    }
+
+    private long serviceCallCount(String method, TodoMetricsAspect.Outcome outcome) {
+        final var timer = meterRegistry.find(TodoMetricsAspect.SERVICE_TIMER)
+                .tag(TodoMetricsAspect.METHOD_TAG, method)
+                .tag(TodoMetricsAspect.OUTCOME_TAG, outcome.name())
+                .timer();
+        return timer == null ? 0 : timer.count();
+    }
+}
@@ -0,0 +1,120 @@
+package com.kevin.todo.spring.todolist;
+
+import com.kevin.todo.spring.todolist.exceptions.TodoNotFoundException;
+import com.kevin.todo.spring.todolist.exceptions.TodoQuotaExceededException;
+import com.kevin.todo.spring.todolist.model.TodoItemModel;
+import com.kevin.todo.spring.todolist.service.TodoListService;
+import com.kevin.todo.spring.todolist.view.TodoBatchResultView;
+import com.kevin.todo.spring.todolist.view.TodoItemView;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Multi Tenant Test")
+@SpringBootTest(properties = {
+        "todos.lists.quota.enabled=true",
+        "todos.lists.quota.max-todos=3"
+})
+public class TodolistMultiTenantTest {
+
+    private static final String TEAM_A = "team-a";
+    private static final String TEAM_B = "team-b";
+
+    @Autowired
+    private TodoListService service;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void clearTodos() {
+        service.removeAllTodos(TEAM_A);
+        service.removeAllTodos(TEAM_B);
+    }
+
+    @Test
+    @DisplayName("Should keep the todos of every list apart")
+    void shouldKeepListsApart() {
+        final var first = service.addTodo(TEAM_A, new TodoItemModel("team a task", false, 1));
+        final var second = service.addTodo(TEAM_B, new TodoItemModel("team b task", false, 1));
+
+        assertThat(service.retrieveAllTodos(TEAM_A)).extracting(TodoItemView::getId).containsExactly(first.getId());
+        assertThat(service.retrieveTodos(TEAM_B, false, "team", null)).extracting(TodoItemView::getId).containsExactly(second.getId());
+        Assertions.assertThrows(TodoNotFoundException.class, () -> service.retrieveOneTodo(TEAM_B, first.getId()));
+        Assertions.assertThrows(TodoNotFoundException.class,
+                () -> service.updateAllFieldsOfTodo(TEAM_A, second.getId(), "stolen", false, 1, null));
+        Assertions.assertThrows(TodoNotFoundException.class, () -> service.removeTodo(TEAM_A, second.getId(), null));
+
+        service.removeAllTodos(TEAM_A);
+
+        assertThat(service.retrieveAllTodos(TEAM_A)).isEmpty();
+        assertThat(service.retrieveOneTodo(TEAM_B, second.getId()).getTitle()).isEqualTo("team b task");
+    }
+
+    @Test
+    @DisplayName("Should reject todos beyond the quota of a list without affecting the others")
+    void shouldEnforceQuotaPerList() {
+        service.addTodos(TEAM_A, List.of(new TodoItemModel("one", false, 1), new TodoItemModel("two", false, 2)));
+        final var third = service.addTodo(TEAM_A, new TodoItemModel("three", false, 3));
+
+        Assertions.assertThrows(TodoQuotaExceededException.class, () -> service.addTodo(TEAM_A, new TodoItemModel("four", false, 4)));
+        assertThat(service.addTodo(TEAM_B, new TodoItemModel("other list", false, 1)).getId()).isPositive();
+
+        service.removeTodo(TEAM_A, third.getId(), null);
+        assertThat(service.addTodo(TEAM_A, new TodoItemModel("four", false, 4)).getId()).isPositive();
+        assertThat(service.retrieveAllTodos(TEAM_A)).hasSize(3);
+    }
+
+    @Test
+    @DisplayName("Should only free quota for deletions that commit")
+    void shouldNotFreeQuotaOnRollback() {
+        final var first = service.addTodo(TEAM_A, new TodoItemModel("one", false, 1));
+        service.addTodos(TEAM_A, List.of(new TodoItemModel("two", false, 2), new TodoItemModel("three", false, 3)));
+        final var transactionTemplate = new TransactionTemplate(transactionManager);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            service.removeTodo(TEAM_A, first.getId(), null);
+            status.setRollbackOnly();
+        });
+        transactionTemplate.executeWithoutResult(status -> {
+            service.removeAllTodos(TEAM_A);
+            status.setRollbackOnly();
+        });
+
+        Assertions.assertThrows(TodoQuotaExceededException.class, () -> service.addTodo(TEAM_A, new TodoItemModel("four", false, 4)));
+        assertThat(service.retrieveAllTodos(TEAM_A)).hasSize(3);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            service.addTodos(TEAM_B, List.of(new TodoItemModel("b one", false, 1), new TodoItemModel("b two", false, 2)));
+            service.addTodo(TEAM_B, new TodoItemModel("b three", false, 3));
+            status.setRollbackOnly();
+        });
+
+        assertThat(service.addTodos(TEAM_B, List.of(new TodoItemModel("b one", false, 1), new TodoItemModel("b two", false, 2),
+                new TodoItemModel("b three", false, 3)))).extracting(TodoBatchResultView::getStatus).containsOnly(201);
+    }
+
+    @Test
+    @DisplayName("Should create the todos of a batch that fit the quota and reject the others one by one")
+    void shouldCreateBatchTodosThatFitTheQuota() {
+        service.addTodo(TEAM_A, new TodoItemModel("one", false, 1));
+
+        final var actual = service.addTodos(TEAM_A, List.of(new TodoItemModel("two", false, 2), new TodoItemModel(null, false, 0),
+                new TodoItemModel("three", false, 3), new TodoItemModel("four", false, 4)));
+
+        assertThat(actual).extracting(TodoBatchResultView::getStatus).containsExactly(201, 400, 201, 409);
+        assertThat(actual.get(3).getMessage()).startsWith("Sorry, the todo list is full");
+        assertThat(service.retrieveAllTodos(TEAM_A)).extracting(TodoItemView::getTitle).containsExactlyInAnyOrder("one", "two", "three");
+        assertThat(service.addTodos(TEAM_B, List.of(new TodoItemModel("b one", false, 1)))).extracting(TodoBatchResultView::getStatus)
+                .containsExactly(201);
+    }
+}
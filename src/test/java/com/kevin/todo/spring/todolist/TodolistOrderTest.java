@@ -0,0 +1,111 @@
+package com.kevin.todo.spring.todolist;
+
+import com.kevin.todo.spring.todolist.exceptions.TodoNotFoundException;
+import com.kevin.todo.spring.todolist.model.TodoItemModel;
+import com.kevin.todo.spring.todolist.model.TodoMoveModel;
+import com.kevin.todo.spring.todolist.service.TodoListService;
+import com.kevin.todo.spring.todolist.service.TodoOrderRebalancer;
+import com.kevin.todo.spring.todolist.view.TodoItemView;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+@DisplayName("Order Test")
+@SpringBootTest
+public class TodolistOrderTest {
+
+    private static final String LIST_ID = "order-test";
+    private static final Sort BY_ORDER = Sort.by("order");
+
+    @Autowired
+    private TodoListService service;
+
+    @Autowired
+    private TodoOrderRebalancer rebalancer;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void clearTodos() {
+        service.removeAllTodos(LIST_ID);
+    }
+
+    @Test
+    @DisplayName("Should move todos with dense client orders by rebalancing the list once")
+    void shouldMoveTodosWithDenseOrders() {
+        final var first = service.addTodo(LIST_ID, new TodoItemModel("first", false, 1)).getId();
+        final var second = service.addTodo(LIST_ID, new TodoItemModel("second", true, 2)).getId();
+        final var third = service.addTodo(LIST_ID, new TodoItemModel("third", false, 3)).getId();
+
+        final var moved = service.moveTodo(LIST_ID, third, new TodoMoveModel(second, null), 0L);
+
+        assertThat(moved.getVersion()).isEqualTo(2L);
+        assertThat(service.retrieveOneTodo(LIST_ID, third).getOrder()).isEqualTo(moved.getOrder());
+        assertThat(service.retrieveOneTodo(LIST_ID, third).getVersion()).isEqualTo(2L);
+        assertThat(idsInOrder()).containsExactly(first, third, second);
+
+        service.moveTodo(LIST_ID, first, new TodoMoveModel(null, second), null);
+        assertThat(idsInOrder()).containsExactly(third, second, first);
+        Assertions.assertThrows(TodoNotFoundException.class, () -> service.moveTodo("other-list", first, new TodoMoveModel(third, null), null));
+    }
+
+    @Test
+    @DisplayName("Should keep the list order while moves narrow one gap and rebalance it in the background")
+    void shouldRebalanceCrowdedListInBackground() {
+        final var gap = TodoOrderRebalancer.ORDER_GAP;
+        final var head = service.addTodo(LIST_ID, new TodoItemModel("head", false, gap)).getId();
+        final var tail = service.addTodo(LIST_ID, new TodoItemModel("tail", false, 2 * gap)).getId();
+        final var moving = List.of(
+                service.addTodo(LIST_ID, new TodoItemModel("one", false, 3 * gap)).getId(),
+                service.addTodo(LIST_ID, new TodoItemModel("two", false, 4 * gap)).getId());
+
+        final var movesUntilCrowded = Integer.numberOfTrailingZeros(gap / TodoOrderRebalancer.MIN_ORDER_GAP) + 1;
+        for (var move = 0; move < movesUntilCrowded; move++) {
+            service.moveTodo(LIST_ID, moving.get(move % 2), new TodoMoveModel(null, head), null);
+        }
+
+        final var lastMoved = moving.get((movesUntilCrowded - 1) % 2);
+        final var firstMoved = moving.get(movesUntilCrowded % 2);
+        assertThat(idsInOrder()).containsExactly(head, lastMoved, firstMoved, tail);
+        await().atMost(Duration.ofSeconds(10)).untilAsserted(() -> assertThat(service.retrieveTodos(LIST_ID, null, null, BY_ORDER))
+                .extracting(TodoItemView::getOrder)
+                .containsExactly(gap, 2 * gap, 3 * gap, 4 * gap));
+        assertThat(idsInOrder()).containsExactly(head, lastMoved, firstMoved, tail);
+    }
+
+    @Test
+    @DisplayName("Should serve the rebalanced order from the cache even when the todo is read before the rebalance commits")
+    void shouldEvictRebalancedTodosAfterCommit() {
+        final var first = service.addTodo(LIST_ID, new TodoItemModel("first", false, 1)).getId();
+        service.addTodo(LIST_ID, new TodoItemModel("second", false, 2));
+        assertThat(service.retrieveOneTodo(LIST_ID, first).getOrder()).isEqualTo(1);
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            assertThat(rebalancer.rebalance(LIST_ID)).isEqualTo(2);
+            final var concurrentRead = CompletableFuture.supplyAsync(() -> service.retrieveOneTodo(LIST_ID, first)).join();
+            assertThat(concurrentRead.getOrder()).isEqualTo(1);
+        });
+
+        final var rebalanced = service.retrieveOneTodo(LIST_ID, first);
+        assertThat(rebalanced.getOrder()).isEqualTo(TodoOrderRebalancer.gapFor(2));
+        assertThat(rebalanced.getVersion()).isEqualTo(1L);
+    }
+
+    private List<Integer> idsInOrder() {
+        return service.retrieveTodos(LIST_ID, null, null, BY_ORDER).stream().map(TodoItemView::getId).toList();
+    }
+}
@@ -0,0 +1,44 @@
+package com.kevin.todo.spring.todolist;
+
+import com.kevin.todo.spring.todolist.model.TodoItemModel;
+import com.kevin.todo.spring.todolist.service.TodoListService;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+
+import static com.kevin.todo.spring.todolist.model.TodoItemDao.DEFAULT_LIST_ID;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Prod Profile Test")
+@ActiveProfiles("prod")
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:todoProdDB;DB_CLOSE_DELAY=-1")
+public class TodolistProdProfileTest {
+
+    @Autowired
+    private TodoListService service;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private ApplicationAvailability availability;
+
+    @Test
+    @DisplayName("Should accept traffic only with a warm pool and a migrated schema matching the entities")
+    void shouldAcceptTrafficWithWarmPoolAndMigratedSchema() {
+        final var pool = ((HikariDataSource) dataSource).getHikariPoolMXBean();
+
+        assertThat(availability.getReadinessState()).isEqualTo(ReadinessState.ACCEPTING_TRAFFIC);
+        assertThat(pool.getTotalConnections()).isEqualTo(((HikariDataSource) dataSource).getMaximumPoolSize());
+
+        final var created = service.addTodo(DEFAULT_LIST_ID, new TodoItemModel("dump todo", false, 15));
+        assertThat(service.retrieveOneTodo(DEFAULT_LIST_ID, created.getId()).getTitle()).isEqualTo("dump todo");
+    }
+}
@@ -0,0 +1,97 @@
+package com.kevin.todo.spring.todolist;
+
+import com.kevin.todo.spring.todolist.exceptions.TodoNotFoundException;
+import com.kevin.todo.spring.todolist.model.TodoItemModel;
+import com.kevin.todo.spring.todolist.repository.TodoRepository;
+import com.kevin.todo.spring.todolist.service.TodoListService;
+import com.kevin.todo.spring.todolist.service.TodoPurgeJob;
+import com.kevin.todo.spring.todolist.view.TodoItemView;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Purge Test")
+@SpringBootTest
+public class TodolistPurgeTest {
+
+    private static final String LIST_ID = "purge-test";
+    private static final String COUNT_ROWS = "select count(*) from TODOS where list_id = ?";
+
+    @Autowired
+    private TodoListService service;
+
+    @Autowired
+    private TodoRepository repository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private TodoPurgeJob purgeJob;
+
+    @BeforeEach
+    void purgeTombstones() {
+        purgeJob = new TodoPurgeJob(false, Duration.ZERO, Duration.ofMinutes(1), 2, 2, Duration.ZERO, repository, transactionManager, meterRegistry);
+        clearTodos();
+    }
+
+    @AfterEach
+    void clearTodos() {
+        service.removeAllTodos(LIST_ID);
+        var purged = purgeJob.purge();
+        while (purged > 0) {
+            purged = purgeJob.purge();
+        }
+    }
+
+    @Test
+    @DisplayName("Should hide deleted todos at once and keep their tombstones until the purge")
+    void shouldHideTombstonesFromReads() {
+        final var kept = service.addTodo(LIST_ID, new TodoItemModel("kept", false, 1)).getId();
+        final var removed = service.addTodo(LIST_ID, new TodoItemModel("removed", false, 2)).getId();
+
+        service.removeTodo(LIST_ID, removed, null);
+
+        Assertions.assertThrows(TodoNotFoundException.class, () -> service.retrieveOneTodo(LIST_ID, removed));
+        Assertions.assertThrows(TodoNotFoundException.class, () -> service.removeTodo(LIST_ID, removed, null));
+        Assertions.assertThrows(TodoNotFoundException.class, () -> service.updateAllFieldsOfTodo(LIST_ID, removed, "revived", false, 2, null));
+        assertThat(service.retrieveTodos(LIST_ID, false, "re", null)).isEmpty();
+        assertThat(service.retrieveAllTodos(LIST_ID)).extracting(TodoItemView::getId).containsExactly(kept);
+        assertThat(repository.countByListId(LIST_ID)).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject(COUNT_ROWS, Long.class, LIST_ID)).isEqualTo(2);
+        assertThat(repository.countTombstones()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should purge tombstones in bounded batches and report the progress")
+    void shouldPurgeTombstonesInBoundedBatches() {
+        service.addTodos(LIST_ID, IntStream.range(0, 5).mapToObj(order -> new TodoItemModel("task " + order, false, order)).toList());
+        service.removeAllTodos(LIST_ID);
+        final var purgedBefore = meterRegistry.counter(TodoPurgeJob.PURGED_COUNTER).count();
+
+        assertThat(service.retrieveAllTodos(LIST_ID)).isEmpty();
+        assertThat(jdbcTemplate.queryForObject(COUNT_ROWS, Long.class, LIST_ID)).isEqualTo(5);
+
+        assertThat(purgeJob.purge()).isEqualTo(4);
+        assertThat(meterRegistry.get(TodoPurgeJob.TOMBSTONES_GAUGE).gauge().value()).isEqualTo(1);
+        assertThat(purgeJob.purge()).isEqualTo(1);
+        assertThat(meterRegistry.get(TodoPurgeJob.TOMBSTONES_GAUGE).gauge().value()).isZero();
+        assertThat(meterRegistry.counter(TodoPurgeJob.PURGED_COUNTER).count() - purgedBefore).isEqualTo(5);
+        assertThat(jdbcTemplate.queryForObject(COUNT_ROWS, Long.class, LIST_ID)).isZero();
+    }
+}
@@ -0,0 +1,111 @@
+package com.kevin.todo.spring.todolist;
+
+import com.kevin.todo.spring.todolist.model.TodoItemModel;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.reactive.context.ReactiveWebApplicationContext;
+import org.springframework.context.ApplicationContext;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Reactive Stack Test")
+@ActiveProfiles("reactive")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.r2dbc.url=r2dbc:h2:mem:///todoReactiveDB?options=DB_CLOSE_DELAY=-1")
+public class TodolistReactiveTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private ApplicationContext context;
+
+    @BeforeEach
+    void clearTodos() {
+        webTestClient.delete().uri("/todos").exchange().expectStatus().isNoContent();
+    }
+
+    @Test
+    @DisplayName("Should serve todos from WebFlux and R2DBC with conditional requests")
+    void shouldServeTodosWithConditionalRequests() {
+        assertThat(context).isInstanceOf(ReactiveWebApplicationContext.class);
+
+        final var created = webTestClient.post().uri("/todos")
+                .bodyValue(new TodoItemModel("dump todo", false, 15))
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(Map.class)
+                .returnResult().getResponseBody();
+        final var todoUrl = "/todos/" + created.get("id");
+        assertThat(created.get("url")).asString().endsWith(todoUrl);
+
+        final var etag = webTestClient.get().uri(todoUrl)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.title").isEqualTo("dump todo")
+                .returnResult().getResponseHeaders().getETag();
+        webTestClient.get().uri(todoUrl).header(HttpHeaders.IF_NONE_MATCH, etag)
+                .exchange()
+                .expectStatus().isNotModified();
+
+        webTestClient.put().uri(todoUrl).header(HttpHeaders.IF_MATCH, etag)
+                .bodyValue(new TodoItemModel("updated todo", true, 16))
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().exists(HttpHeaders.ETAG)
+                .expectBody().jsonPath("$.completed").isEqualTo(true);
+        webTestClient.delete().uri(todoUrl).header(HttpHeaders.IF_MATCH, etag)
+                .exchange()
+                .expectStatus().isEqualTo(412);
+
+        webTestClient.patch().uri(todoUrl).contentType(MediaType.valueOf("application/merge-patch+json"))
+                .bodyValue("{\"title\":\"patched todo\"}")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.title").isEqualTo("patched todo");
+
+        webTestClient.delete().uri(todoUrl).exchange().expectStatus().isNoContent();
+        webTestClient.get().uri(todoUrl).exchange().expectStatus().isNotFound();
+    }
+
+    @Test
+    @DisplayName("Should stream filtered and sorted todos as newline delimited json")
+    void shouldStreamFilteredTodos() {
+        webTestClient.post().uri("/todos/batch")
+                .bodyValue(List.of(
+                        new TodoItemModel("Task one", false, 10),
+                        new TodoItemModel("Task two", false, 20),
+                        new TodoItemModel("Chore three", false, 30)))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.length()").isEqualTo(3).jsonPath("$[2].status").isEqualTo(201);
+
+        final var todos = webTestClient.get().uri("/todos?titlePrefix=Task&sort=order,desc")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(Map.class)
+                .getResponseBody();
+
+        StepVerifier.create(todos.map(todo -> todo.get("title")))
+                .expectNext("Task two", "Task one")
+                .verifyComplete();
+
+        webTestClient.get().uri("/todos?sort=creationDate").exchange().expectStatus().isBadRequest();
+        webTestClient.get().uri("/todos?after=0&limit=2")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.items.length()").isEqualTo(2).jsonPath("$.nextCursor").isNumber();
+    }
+}
@@ -0,0 +1,180 @@
+package com.kevin.todo.spring.todolist;
+
+import com.kevin.todo.spring.todolist.config.TodoMetricsAspect;
+import com.kevin.todo.spring.todolist.exceptions.TodoNotFoundException;
+import com.kevin.todo.spring.todolist.model.TodoItemModel;
+import com.kevin.todo.spring.todolist.service.TodoChangeLog;
+import com.kevin.todo.spring.todolist.service.TodoListService;
+import com.kevin.todo.spring.todolist.service.TodoReadCoalescer;
+import com.kevin.todo.spring.todolist.view.TodoChangeView;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static com.kevin.todo.spring.todolist.model.TodoItemDao.DEFAULT_LIST_ID;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+@DisplayName("Read Coalescing Test")
+@SpringBootTest
+public class TodolistReadCoalescingTest {
+
+    private static final int CALLERS = 16;
+    private static final int CALLS_PER_CALLER = 10;
+    private static final String READ = "findSomething";
+
+    @Autowired
+    private TodoListService service;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final TodoChangeLog changeLog = new TodoChangeLog(Runnable::run, Runnable::run, Duration.ofSeconds(1));
+    private final SimpleMeterRegistry coalescerRegistry = new SimpleMeterRegistry();
+    private final TodoReadCoalescer coalescer = new TodoReadCoalescer(changeLog, coalescerRegistry);
+
+    @Test
+    @DisplayName("Should share one in-flight query and its result between concurrent identical reads")
+    void shouldShareOneInFlightQuery() {
+        final var queries = new AtomicInteger();
+
+        final var results = runConcurrently(CALLERS, caller -> coalescer.coalesce(READ, () -> {
+            queries.incrementAndGet();
+            awaitCoalesced(CALLERS - 1);
+            return List.of("shared");
+        }, 42));
+
+        assertThat(queries).hasValue(1);
+        assertThat(results).allSatisfy(result -> assertThat(result).isSameAs(results.get(0)));
+        assertThat(coalescerRegistry.get(TodoReadCoalescer.COALESCED_COUNTER).tag(TodoReadCoalescer.READ_TAG, READ).counter().count())
+                .isEqualTo(CALLERS - 1);
+    }
+
+    @Test
+    @DisplayName("Should hand the failure of the in-flight query to every coalesced read")
+    void shouldShareTheInFlightFailure() {
+        final var queries = new AtomicInteger();
+
+        final var failures = runConcurrently(CALLERS, caller -> {
+            try {
+                return coalescer.coalesce(READ, () -> {
+                    queries.incrementAndGet();
+                    awaitCoalesced(CALLERS - 1);
+                    throw new TodoNotFoundException("missing");
+                }, 42);
+            } catch (TodoNotFoundException exception) {
+                return exception;
+            }
+        });
+
+        assertThat(queries).hasValue(1);
+        assertThat(failures).hasSize(CALLERS).allSatisfy(failure -> assertThat(failure).isInstanceOf(TodoNotFoundException.class));
+    }
+
+    @Test
+    @DisplayName("Should not let a read issued after a committed change join a query started before it")
+    void shouldNotJoinQueriesStartedBeforeAChange() throws Exception {
+        final var leaderStarted = new CountDownLatch(1);
+        final var releaseLeader = new CountDownLatch(1);
+        final var leader = CompletableFuture.supplyAsync(() -> coalescer.coalesce(READ, () -> {
+            leaderStarted.countDown();
+            await().until(() -> releaseLeader.getCount() == 0);
+            return "before change";
+        }, 42));
+        leaderStarted.await();
+
+        changeLog.record(TodoChangeView.Type.DELETED, DEFAULT_LIST_ID, 42, null);
+
+        assertThat(coalescer.coalesce(READ, () -> "after change", 42)).isEqualTo("after change");
+        releaseLeader.countDown();
+        assertThat(leader.get()).isEqualTo("before change");
+    }
+
+    @Test
+    @DisplayName("Should issue fewer list queries than concurrent list reads under load")
+    void shouldIssueFewerQueriesThanReadsUnderLoad() {
+        service.removeAllTodos(DEFAULT_LIST_ID);
+        service.addTodos(DEFAULT_LIST_ID, IntStream.range(0, 2_000)
+                .mapToObj(order -> new TodoItemModel("coalesced todo " + order, false, order))
+                .collect(Collectors.toList()));
+        final var queriesBefore = repositoryCalls("findByListId") + repositoryCalls("findByListIdAndCompleted");
+        final var coalescedBefore = coalescedReads("retrieveAllTodos") + coalescedReads("retrieveTodos");
+
+        runConcurrently(CALLERS, caller -> {
+            for (var call = 0; call < CALLS_PER_CALLER; call++) {
+                if (caller % 2 == 0) {
+                    assertThat(service.retrieveAllTodos(DEFAULT_LIST_ID)).hasSize(2_000);
+                } else {
+                    assertThat(service.retrieveTodos(DEFAULT_LIST_ID, false, null, Sort.by("order"))).hasSize(2_000);
+                }
+            }
+            return null;
+        });
+
+        final var queries = repositoryCalls("findByListId") + repositoryCalls("findByListIdAndCompleted") - queriesBefore;
+        final var coalesced = coalescedReads("retrieveAllTodos") + coalescedReads("retrieveTodos") - coalescedBefore;
+        assertThat(queries + coalesced).isEqualTo(CALLERS * CALLS_PER_CALLER);
+        assertThat(queries).isLessThan(CALLERS * CALLS_PER_CALLER);
+    }
+
+    private void awaitCoalesced(int followers) {
+        await().atMost(Duration.ofSeconds(10)).until(() -> {
+            final var counter = coalescerRegistry.find(TodoReadCoalescer.COALESCED_COUNTER).counter();
+            return counter != null && counter.count() >= followers;
+        });
+    }
+
+    private long repositoryCalls(String method) {
+        final var timer = meterRegistry.find(TodoMetricsAspect.REPOSITORY_TIMER)
+                .tag(TodoMetricsAspect.METHOD_TAG, method)
+                .timer();
+        return timer == null ? 0 : timer.count();
+    }
+
+    private long coalescedReads(String read) {
+        final var counter = meterRegistry.find(TodoReadCoalescer.COALESCED_COUNTER)
+                .tag(TodoReadCoalescer.READ_TAG, read)
+                .counter();
+        return counter == null ? 0 : (long) counter.count();
+    }
+
+    private static <T> List<T> runConcurrently(int callers, IntFunction<T> call) {
+        final var start = new CountDownLatch(1);
+        try (final var executor = Executors.newFixedThreadPool(callers)) {
+            final var futures = new ArrayList<CompletableFuture<T>>();
+            for (var caller = 0; caller < callers; caller++) {
+                final var currentCaller = caller;
+                futures.add(CompletableFuture.supplyAsync(() -> {
+                    awaitStart(start);
+                    return call.apply(currentCaller);
+                }, executor));
+            }
+            start.countDown();
+            return futures.stream().map(CompletableFuture::join).collect(Collectors.toList());
+        }
+    }
+
+    private static void awaitStart(CountDownLatch start) {
+        try {
+            start.await();
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(exception);
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.kevin.todo.spring.todolist;
+
+import com.kevin.todo.spring.todolist.model.TodoItemModel;
+import com.kevin.todo.spring.todolist.service.TodoListService;
+import com.kevin.todo.spring.todolist.service.TodoSearchIndex;
+import com.kevin.todo.spring.todolist.service.TodoSearchIndexer;
+import com.kevin.todo.spring.todolist.view.TodoItemView;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static com.kevin.todo.spring.todolist.model.TodoItemDao.DEFAULT_LIST_ID;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+@DisplayName("Search Test")
+@SpringBootTest
+public class TodolistSearchTest {
+
+    @Autowired
+    private TodoListService service;
+
+    @Autowired
+    private TodoSearchIndexer searchIndexer;
+
+    @BeforeEach
+    void clearTodos() {
+        service.removeAllTodos(DEFAULT_LIST_ID);
+        await().atMost(Duration.ofSeconds(10)).until(() -> searchIndexer.size() == 0);
+    }
+
+    @Test
+    @DisplayName("Should tokenize titles into lower-case words")
+    void shouldTokenizeTitles() {
+        assertThat(TodoSearchIndex.tokenize("Buy MILK, eggs & 2 loaves of bread!"))
+                .containsExactly("buy", "milk", "eggs", "2", "loaves", "of", "bread");
+        assertThat(TodoSearchIndex.tokenize(null)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should match every query word and rank the shorter titles first")
+    void shouldMatchEveryWordAndRankResults() {
+        final var index = new TodoSearchIndex();
+        index.index(1, "buy milk and eggs at the corner shop");
+        index.index(2, "milk");
+        index.index(3, "buy milk");
+        index.index(4, "buy bread");
+
+        assertThat(index.search("milk", 0, 10)).containsExactly(2, 3, 1);
+        assertThat(index.search("BUY milk", 0, 10)).containsExactly(3, 1);
+        assertThat(index.search("milk", 1, 1)).containsExactly(3);
+        assertThat(index.search("milk cheese", 0, 10)).isEmpty();
+        assertThat(index.search("  ", 0, 10)).isEmpty();
+
+        index.index(2, "oat drink");
+        index.remove(3);
+        assertThat(index.search("milk", 0, 10)).containsExactly(1);
+        assertThat(index.search("drink", 0, 10)).containsExactly(2);
+    }
+
+    @Test
+    @DisplayName("Should keep compressed postings exact across out-of-order inserts and removals")
+    void shouldKeepPostingsExact() {
+        final var index = new TodoSearchIndex();
+        final var todoCount = 20_000;
+        IntStream.rangeClosed(1, todoCount).filter(todoId -> todoId % 2 == 1).forEach(todoId -> index.index(todoId, "task " + (todoId % 7)));
+        IntStream.rangeClosed(1, todoCount).filter(todoId -> todoId % 2 == 0).forEach(todoId -> index.index(todoId, "task " + (todoId % 7)));
+        IntStream.rangeClosed(1, todoCount).filter(todoId -> todoId % 5 == 0).forEach(index::remove);
+
+        final var expected = IntStream.rangeClosed(1, todoCount)
+                .filter(todoId -> todoId % 7 == 3 && todoId % 5 != 0)
+                .boxed()
+                .collect(Collectors.toList());
+        assertThat(index.search("task 3", 0, todoCount)).containsExactlyElementsOf(expected);
+        assertThat(index.search("task", 0, todoCount)).hasSize(todoCount - todoCount / 5);
+        assertThat(index.size()).isEqualTo(todoCount - todoCount / 5);
+    }
+
+    @Test
+    @DisplayName("Should follow every write of the todo service and rebuild from the repository")
+    void shouldFollowServiceWritesAndRebuild() {
+        final var milk = service.addTodo(DEFAULT_LIST_ID, new TodoItemModel("buy milk", false, 1));
+        final var bread = service.addTodo(DEFAULT_LIST_ID, new TodoItemModel("buy bread", false, 2));
+        awaitSearch("buy", List.of(milk.getId(), bread.getId()));
+
+        service.updateAllFieldsOfTodo(DEFAULT_LIST_ID, milk.getId(), "buy oat drink", false, 1, null);
+        awaitSearch("milk", List.of());
+        awaitSearch("oat drink", List.of(milk.getId()));
+
+        service.removeTodo(DEFAULT_LIST_ID, bread.getId(), null);
+        awaitSearch("bread", List.of());
+
+        searchIndexer.rebuild();
+        assertThat(service.searchTodos(DEFAULT_LIST_ID, "buy", 0, 10)).extracting(TodoItemView::getId).containsExactly(milk.getId());
+    }
+
+    private void awaitSearch(String query, List<Integer> expectedIds) {
+        await().atMost(Duration.ofSeconds(10)).untilAsserted(() ->
+                assertThat(service.searchTodos(DEFAULT_LIST_ID, query, 0, 10)).extracting(TodoItemView::getId).containsExactlyInAnyOrderElementsOf(expectedIds));
+    }
+}
@@ -1,34 +1,91 @@
 package com.kevin.todo.spring.todolist;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.fge.jsonpatch.JsonPatchException;
+import com.kevin.todo.spring.todolist.exceptions.TodoInvalidQueryException;
 import com.kevin.todo.spring.todolist.exceptions.TodoNotFoundException;
+import com.kevin.todo.spring.todolist.exceptions.TodoQuotaExceededException;
+import com.kevin.todo.spring.todolist.exceptions.TodoVersionConflictException;
+import com.kevin.todo.spring.todolist.model.TodoItemBatchUpdateModel;
 import com.kevin.todo.spring.todolist.model.TodoItemDao;
 import com.kevin.todo.spring.todolist.model.TodoItemModel;
+import com.kevin.todo.spring.todolist.model.TodoMoveModel;
 import com.kevin.todo.spring.todolist.repository.TodoRepository;
+import com.kevin.todo.spring.todolist.service.TodoChangeLog;
+import com.kevin.todo.spring.todolist.service.TodoListQuotas;
 import com.kevin.todo.spring.todolist.service.TodoListService;
+import com.kevin.todo.spring.todolist.service.TodoListStats;
+import com.kevin.todo.spring.todolist.service.TodoOrderRebalancer;
+import com.kevin.todo.spring.todolist.service.TodoReadCoalescer;
+import com.kevin.todo.spring.todolist.service.TodoSearchIndexer;
+import com.kevin.todo.spring.todolist.service.TodoWriteBehindLog;
+import com.kevin.todo.spring.todolist.view.TodoBatchResultView;
+import com.kevin.todo.spring.todolist.view.TodoChangeView;
 import com.kevin.todo.spring.todolist.view.TodoItemView;
+import com.kevin.todo.spring.todolist.view.TodoStatsView;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
 
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 public class TodolistServiceTest {
 
     private final static String EMPTY_URL_STRING = "";
+    private final static String LIST_ID = "team-a";
     @InjectMocks
     private TodoListService service;
     @Mock
     private TodoRepository repository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    @Mock
+    private TodoChangeLog changeLog;
+    @Mock
+    private TodoWriteBehindLog writeBehindLog;
+    @Mock
+    private TodoSearchIndexer searchIndexer;
+    @Mock
+    private TodoListQuotas quotas;
+    @Mock
+    private TodoOrderRebalancer orderRebalancer;
+    @Mock
+    private TodoListStats stats;
+    @Spy
+    private TodoReadCoalescer readCoalescer = new TodoReadCoalescer(new TodoChangeLog(Runnable::run, Runnable::run, Duration.ofSeconds(1)), new SimpleMeterRegistry());
+    @Spy
+    private ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
 
     @Test
     @DisplayName("Should be able to create a todo")
@@ -37,32 +94,48 @@ public class TodolistServiceTest {
         when(repository.save(any(TodoItemDao.class))).thenReturn(new TodoItemDao(1, "dump todo", false, 15));
 
         // Act
-        final var actual = service.addTodo(new TodoItemModel());
+        final var actual = service.addTodo(LIST_ID, new TodoItemModel());
 
         // Assert
         assertThat(actual)
                 .usingRecursiveComparison()
-                .isEqualTo(new TodoItemView(1, "dump todo", false, 15, EMPTY_URL_STRING));
+                .isEqualTo(new TodoItemView(1, "dump todo", false, 15, EMPTY_URL_STRING, 0L));
 
         verify(repository).save(any(TodoItemDao.class));
         verifyNoMoreInteractions(repository);
+        verify(stats).created(eq(LIST_ID), eq(false), any(LocalDateTime.class));
+        verify(changeLog).record(TodoChangeView.Type.CREATED, LIST_ID, 1, actual);
+    }
+
+    @Test
+    @DisplayName("Should Not be able to create a todo in a list that reached its quota")
+    void shouldNotBeAbleToAddATodoToAFullList() {
+        // Arrange
+        doThrow(new TodoQuotaExceededException("full")).when(quotas).reserve(LIST_ID, 1);
+
+        // Act
+        // Assert
+        Assertions.assertThrows(TodoQuotaExceededException.class, () -> service.addTodo(LIST_ID, new TodoItemModel()));
+
+        verifyNoInteractions(repository);
+        verifyNoInteractions(changeLog);
     }
 
     @Test
     @DisplayName("Should be able to retrieve an existing todo")
     void shouldBeAbleToRetrieveOneTodo() {
         // Arrange
-        when(repository.findById(anyInt())).thenReturn(Optional.of(new TodoItemDao(1, "dump todo", false, 15)));
+        when(repository.findByListIdAndId(eq(LIST_ID), anyInt())).thenReturn(Optional.of(new TodoItemDao(1, "dump todo", false, 15)));
 
         // Act
-        final var actual = service.retrieveOneTodo(1);
+        final var actual = service.retrieveOneTodo(LIST_ID, 1);
 
         // Assert
         assertThat(actual)
                 .usingRecursiveComparison()
-                .isEqualTo(new TodoItemView(1, "dump todo", false, 15, EMPTY_URL_STRING));
+                .isEqualTo(new TodoItemView(1, "dump todo", false, 15, EMPTY_URL_STRING, 0L));
 
-        verify(repository).findById(anyInt());
+        verify(repository).findByListIdAndId(eq(LIST_ID), anyInt());
         verifyNoMoreInteractions(repository);
     }
 
@@ -70,13 +143,13 @@ public class TodolistServiceTest {
     @DisplayName("Should Not be able to retrieve a todo that doesn't exist")
     void shouldNotBeAbleToRetrieveATodoThatNotExist() {
         // Arrange
-        when(repository.findById(anyInt())).thenReturn(Optional.empty());
+        when(repository.findByListIdAndId(eq(LIST_ID), anyInt())).thenReturn(Optional.empty());
 
         // Act
         // Assert
-        Assertions.assertThrows(TodoNotFoundException.class, () -> service.retrieveOneTodo(1));
+        Assertions.assertThrows(TodoNotFoundException.class, () -> service.retrieveOneTodo(LIST_ID, 1));
 
-        verify(repository).findById(anyInt());
+        verify(repository).findByListIdAndId(eq(LIST_ID), anyInt());
         verifyNoMoreInteractions(repository);
     }
 
@@ -90,17 +163,141 @@ public class TodolistServiceTest {
         );
 
         // Act
-        when(repository.findAll()).thenReturn(todos);
+        when(repository.findByListId(LIST_ID, Sort.by("id"))).thenReturn(todos);
+
+        // Assert
+        assertThat(service.retrieveAllTodos(LIST_ID))
+                .usingRecursiveComparison()
+                .isEqualTo(List.of(
+                        new TodoItemView(1, "dump todo 1", false, 11, EMPTY_URL_STRING, 0L),
+                        new TodoItemView(2, "dump todo 2", false, 12, EMPTY_URL_STRING, 0L)
+                ));
+
+        verify(repository).findByListId(LIST_ID, Sort.by("id"));
+        verifyNoMoreInteractions(repository);
+    }
+
+    @Test
+    @DisplayName("Should be able to retrieve a page of todos after a cursor")
+    void shouldBeAbleToRetrieveTodosAfterCursor() {
+        // Arrange
+        when(repository.findByListIdAndIdGreaterThanOrderByIdAsc(eq(LIST_ID), eq(1), any(Pageable.class))).thenReturn(List.of(
+                new TodoItemDao(2, "dump todo 2", false, 12),
+                new TodoItemDao(3, "dump todo 3", true, 13)
+        ));
+
+        // Act
+        final var actual = service.retrieveTodosAfter(LIST_ID, 1, 2);
+
+        // Assert
+        assertThat(actual)
+                .usingRecursiveComparison()
+                .isEqualTo(List.of(
+                        new TodoItemView(2, "dump todo 2", false, 12, EMPTY_URL_STRING, 0L),
+                        new TodoItemView(3, "dump todo 3", true, 13, EMPTY_URL_STRING, 0L)
+                ));
+
+        verify(repository).findByListIdAndIdGreaterThanOrderByIdAsc(LIST_ID, 1, PageRequest.of(0, 2));
+        verifyNoMoreInteractions(repository);
+    }
+
+    @Test
+    @DisplayName("Should be able to search todos in the ranked order of the search index")
+    void shouldBeAbleToSearchTodosInRankedOrder() {
+        // Arrange
+        when(searchIndexer.search(LIST_ID, "milk", 0, 2)).thenReturn(List.of(3, 2));
+        when(repository.findByListIdAndIdIn(eq(LIST_ID), any())).thenReturn(List.of(
+                new TodoItemDao(2, "buy milk and eggs", false, 12),
+                new TodoItemDao(3, "milk", true, 13)
+        ));
+
+        // Act
+        final var actual = service.searchTodos(LIST_ID, "milk", 0, 2);
+
+        // Assert
+        assertThat(actual)
+                .usingRecursiveComparison()
+                .isEqualTo(List.of(
+                        new TodoItemView(3, "milk", true, 13, EMPTY_URL_STRING, 0L),
+                        new TodoItemView(2, "buy milk and eggs", false, 12, EMPTY_URL_STRING, 0L)
+                ));
+
+        verify(repository).findByListIdAndIdIn(eq(LIST_ID), any());
+        verifyNoMoreInteractions(repository);
+    }
+
+    @Test
+    @DisplayName("Should be able to retrieve the todos matching the filters sorted by order")
+    void shouldBeAbleToRetrieveFilteredTodosSortedByOrder() {
+        // Arrange
+        when(repository.findByListIdAndCompletedAndTitleStartingWith(LIST_ID, true, "dump", Sort.by(Sort.Order.desc("orders")))).thenReturn(List.of(
+                new TodoItemDao(2, "dump todo 2", true, 12),
+                new TodoItemDao(1, "dump todo 1", true, 11)
+        ));
+
+        // Act
+        final var actual = service.retrieveTodos(LIST_ID, true, "dump", Sort.by(Sort.Order.desc("order")));
+
+        // Assert
+        assertThat(actual)
+                .usingRecursiveComparison()
+                .isEqualTo(List.of(
+                        new TodoItemView(2, "dump todo 2", true, 12, EMPTY_URL_STRING, 0L),
+                        new TodoItemView(1, "dump todo 1", true, 11, EMPTY_URL_STRING, 0L)
+                ));
+
+        verify(repository).findByListIdAndCompletedAndTitleStartingWith(LIST_ID, true, "dump", Sort.by(Sort.Order.desc("orders")));
+        verifyNoMoreInteractions(repository);
+    }
+
+    @Test
+    @DisplayName("Should be able to retrieve the completed todos sorted by id by default")
+    void shouldBeAbleToRetrieveCompletedTodosSortedByIdByDefault() {
+        // Arrange
+        when(repository.findByListIdAndCompleted(LIST_ID, false, Sort.by("id"))).thenReturn(List.of(new TodoItemDao(1, "dump todo 1", false, 11)));
+
+        // Act
+        final var actual = service.retrieveTodos(LIST_ID, false, null, Sort.unsorted());
+
+        // Assert
+        assertThat(actual).hasSize(1);
+
+        verify(repository).findByListIdAndCompleted(LIST_ID, false, Sort.by("id"));
+        verifyNoMoreInteractions(repository);
+    }
+
+    @Test
+    @DisplayName("Should Not be able to sort todos by an unknown property")
+    void shouldNotBeAbleToSortTodosByUnknownProperty() {
+        // Act
+        // Assert
+        Assertions.assertThrows(TodoInvalidQueryException.class, () -> service.retrieveTodos(LIST_ID, null, null, Sort.by("creationDate")));
+
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    @DisplayName("Should be able to stream all todos")
+    void shouldBeAbleToStreamAllTodos() {
+        // Arrange
+        when(repository.streamByListIdOrderByIdAsc(LIST_ID)).thenReturn(Stream.of(
+                new TodoItemDao(1, "dump todo 1", false, 11),
+                new TodoItemDao(2, "dump todo 2", false, 12)
+        ));
+        final var streamed = new ArrayList<TodoItemView>();
+
+        // Act
+        service.streamAllTodos(LIST_ID, streamed::add);
 
         // Assert
-        assertThat(service.retrieveAllTodos())
+        assertThat(streamed)
                 .usingRecursiveComparison()
                 .isEqualTo(List.of(
-                        new TodoItemView(1, "dump todo 1", false, 11, EMPTY_URL_STRING),
-                        new TodoItemView(2, "dump todo 2", false, 12, EMPTY_URL_STRING)
+                        new TodoItemView(1, "dump todo 1", false, 11, EMPTY_URL_STRING, 0L),
+                        new TodoItemView(2, "dump todo 2", false, 12, EMPTY_URL_STRING, 0L)
                 ));
 
-        verify(repository).findAll();
+        verify(repository).streamByListIdOrderByIdAsc(LIST_ID);
         verifyNoMoreInteractions(repository);
     }
 
@@ -108,33 +305,317 @@ public class TodolistServiceTest {
     @DisplayName("Should be able to update one todo")
     void shouldBeAbleToUpdateTodo() {
         // Arrange
-        when(repository.findById(anyInt())).thenReturn(Optional.of(new TodoItemDao(1, "dump todo", false, 15)));
+        when(repository.updateAllFieldsByListIdAndIdAndCompleted(LIST_ID, 1, false, "dump updated", false, 5))
+                .thenReturn(Optional.of(new TodoItemDao(1, "dump updated", false, 5, 4L)));
 
         // Act
-        final var actual = service.updateAllFieldsOfTodo(1, "dump updated", false, 5);
+        final var actual = service.updateAllFieldsOfTodo(LIST_ID, 1, "dump updated", false, 5, null);
 
         // Assert
         assertThat(actual)
                 .usingRecursiveComparison()
-                .isEqualTo(new TodoItemView(1, "dump updated", false, 5, EMPTY_URL_STRING));
+                .isEqualTo(new TodoItemView(1, "dump updated", false, 5, EMPTY_URL_STRING, 4L));
 
-        verify(repository).findById(anyInt());
-        verify(repository).save(any(TodoItemDao.class));
+        verify(repository).updateAllFieldsByListIdAndIdAndCompleted(LIST_ID, 1, false, "dump updated", false, 5);
+        verifyNoMoreInteractions(repository);
+        verify(stats).updated(LIST_ID, false, false);
+    }
+
+    @Test
+    @DisplayName("Should count a todo completed by an update as no longer pending")
+    void shouldBeAbleToCompleteTodoByUpdate() {
+        // Arrange
+        when(repository.updateAllFieldsByListIdAndIdAndCompleted(LIST_ID, 1, true, "dump updated", true, 5)).thenReturn(Optional.empty());
+        when(repository.updateAllFieldsByListIdAndIdAndCompleted(LIST_ID, 1, false, "dump updated", true, 5))
+                .thenReturn(Optional.of(new TodoItemDao(1, "dump updated", true, 5, 4L)));
+
+        // Act
+        final var actual = service.updateAllFieldsOfTodo(LIST_ID, 1, "dump updated", true, 5, null);
+
+        // Assert
+        assertThat(actual.getVersion()).isEqualTo(4L);
+        verify(repository).updateAllFieldsByListIdAndIdAndCompleted(LIST_ID, 1, true, "dump updated", true, 5);
+        verify(repository).updateAllFieldsByListIdAndIdAndCompleted(LIST_ID, 1, false, "dump updated", true, 5);
+        verifyNoMoreInteractions(repository);
+        verify(stats).updated(LIST_ID, false, true);
+    }
+
+    @Test
+    @DisplayName("Should Not be able to update a todo that doesn't exist")
+    void shouldNotBeAbleToUpdateATodoThatNotExist() {
+        // Arrange
+        when(repository.updateAllFieldsByListIdAndIdAndCompleted(eq(LIST_ID), anyInt(), anyBoolean(), any(), anyBoolean(), anyInt()))
+                .thenReturn(Optional.empty());
+        when(repository.existsByListIdAndId(LIST_ID, 1)).thenReturn(false);
+
+        // Act
+        // Assert
+        Assertions.assertThrows(TodoNotFoundException.class, () -> service.updateAllFieldsOfTodo(LIST_ID, 1, "dump updated", false, 5, null));
+
+        verify(repository).updateAllFieldsByListIdAndIdAndCompleted(LIST_ID, 1, false, "dump updated", false, 5);
+        verify(repository).updateAllFieldsByListIdAndIdAndCompleted(LIST_ID, 1, true, "dump updated", false, 5);
+        verify(repository).existsByListIdAndId(LIST_ID, 1);
+        verifyNoMoreInteractions(repository);
+        verifyNoInteractions(stats);
+    }
+
+    @Test
+    @DisplayName("Should be able to update one todo at the expected version")
+    void shouldBeAbleToUpdateTodoAtExpectedVersion() {
+        // Arrange
+        when(repository.updateAllFieldsByListIdAndIdAndVersionAndCompleted(LIST_ID, 1, 3L, false, "dump updated", false, 5)).thenReturn(1);
+
+        // Act
+        final var actual = service.updateAllFieldsOfTodo(LIST_ID, 1, "dump updated", false, 5, 3L);
+
+        // Assert
+        assertThat(actual)
+                .usingRecursiveComparison()
+                .isEqualTo(new TodoItemView(1, "dump updated", false, 5, EMPTY_URL_STRING, 4L));
+
+        verify(repository).updateAllFieldsByListIdAndIdAndVersionAndCompleted(LIST_ID, 1, 3L, false, "dump updated", false, 5);
+        verifyNoMoreInteractions(repository);
+        verify(stats).updated(LIST_ID, false, false);
+    }
+
+    @Test
+    @DisplayName("Should Not be able to update a todo modified since the expected version")
+    void shouldNotBeAbleToUpdateATodoModifiedConcurrently() {
+        // Arrange
+        when(repository.updateAllFieldsByListIdAndIdAndVersionAndCompleted(eq(LIST_ID), anyInt(), anyLong(), anyBoolean(), any(), anyBoolean(), anyInt()))
+                .thenReturn(0);
+        when(repository.existsByListIdAndId(LIST_ID, 1)).thenReturn(true);
+
+        // Act
+        // Assert
+        Assertions.assertThrows(TodoVersionConflictException.class, () -> service.updateAllFieldsOfTodo(LIST_ID, 1, "dump updated", false, 5, 3L));
+
+        verify(repository).updateAllFieldsByListIdAndIdAndVersionAndCompleted(LIST_ID, 1, 3L, false, "dump updated", false, 5);
+        verify(repository).updateAllFieldsByListIdAndIdAndVersionAndCompleted(LIST_ID, 1, 3L, true, "dump updated", false, 5);
+        verify(repository).existsByListIdAndId(LIST_ID, 1);
+        verifyNoMoreInteractions(repository);
+        verifyNoInteractions(stats);
+    }
+
+    @Test
+    @DisplayName("Should be able to patch known fields of one todo")
+    void shouldBeAbleToPatchKnownFieldsOfTodo() throws Exception {
+        // Arrange
+        final var todo = new TodoItemDao(1, "dump todo", false, 15);
+        when(repository.findByListIdAndId(eq(LIST_ID), anyInt())).thenReturn(Optional.of(todo));
+        when(repository.updateAllFieldsByListIdAndIdAndVersion(eq(LIST_ID), anyInt(), anyLong(), any(), anyBoolean(), anyInt())).thenReturn(1);
+
+        // Act
+        final var actual = service.patchOneFieldOfTodo(LIST_ID, 1, objectMapper.readTree(
+                "[{\"op\":\"test\",\"path\":\"/title\",\"value\":\"dump todo\"}," +
+                "{\"op\":\"replace\",\"path\":\"/completed\",\"value\":true}," +
+                "{\"op\":\"replace\",\"path\":\"/order\",\"value\":101}]"), null);
+
+        // Assert
+        assertThat(actual)
+                .usingRecursiveComparison()
+                .isEqualTo(new TodoItemView(1, "dump todo", true, 101, EMPTY_URL_STRING, 1L));
+
+        verify(repository).findByListIdAndId(eq(LIST_ID), anyInt());
+        verify(repository).updateAllFieldsByListIdAndIdAndVersion(LIST_ID, 1, 0L, "dump todo", true, 101);
+        verifyNoMoreInteractions(repository);
+        verify(stats).updated(LIST_ID, false, true);
+        verify(objectMapper, never()).convertValue(any(), eq(JsonNode.class));
+    }
+
+    @Test
+    @DisplayName("Should not patch one todo when a test operation fails")
+    void shouldNotPatchTodoWhenTestOperationFails() throws Exception {
+        // Arrange
+        final var todo = new TodoItemDao(1, "dump todo", false, 15);
+        when(repository.findByListIdAndId(eq(LIST_ID), anyInt())).thenReturn(Optional.of(todo));
+        final var patch = objectMapper.readTree(
+                "[{\"op\":\"replace\",\"path\":\"/title\",\"value\":\"patched\"}," +
+                "{\"op\":\"test\",\"path\":\"/completed\",\"value\":true}]");
+
+        // Act
+        // Assert
+        Assertions.assertThrows(JsonPatchException.class, () -> service.patchOneFieldOfTodo(LIST_ID, 1, patch, null));
+        assertThat(todo.getTitle()).isEqualTo("dump todo");
+
+        verify(repository).findByListIdAndId(eq(LIST_ID), anyInt());
         verifyNoMoreInteractions(repository);
     }
 
+    @Test
+    @DisplayName("Should fall back to the generic json patch for unknown paths")
+    void shouldFallBackToGenericJsonPatchForUnknownPaths() throws Exception {
+        // Arrange
+        when(repository.findByListIdAndId(eq(LIST_ID), anyInt())).thenReturn(Optional.of(new TodoItemDao(1, "dump todo", false, 15)));
+        when(repository.updateAllFieldsByListIdAndIdAndVersion(eq(LIST_ID), anyInt(), anyLong(), any(), anyBoolean(), anyInt())).thenReturn(1);
+
+        // Act
+        final var actual = service.patchOneFieldOfTodo(LIST_ID, 1, objectMapper.readTree(
+                "[{\"op\":\"copy\",\"from\":\"/title\",\"path\":\"/title\"}," +
+                "{\"op\":\"replace\",\"path\":\"/completed\",\"value\":true}]"), null);
+
+        // Assert
+        assertThat(actual)
+                .usingRecursiveComparison()
+                .isEqualTo(new TodoItemView(1, "dump todo", true, 15, EMPTY_URL_STRING, 1L));
+
+        verify(repository).findByListIdAndId(eq(LIST_ID), anyInt());
+        verify(repository).updateAllFieldsByListIdAndIdAndVersion(LIST_ID, 1, 0L, "dump todo", true, 15);
+        verifyNoMoreInteractions(repository);
+    }
+
+    @Test
+    @DisplayName("Should be able to merge patch one todo")
+    void shouldBeAbleToMergePatchTodo() throws Exception {
+        // Arrange
+        final var todo = new TodoItemDao(1, "dump todo", false, 15);
+        when(repository.findByListIdAndId(eq(LIST_ID), anyInt())).thenReturn(Optional.of(todo));
+        when(repository.updateAllFieldsByListIdAndIdAndVersion(eq(LIST_ID), anyInt(), anyLong(), any(), anyBoolean(), anyInt())).thenReturn(1);
+
+        // Act
+        final var actual = service.mergePatchOneFieldOfTodo(LIST_ID, 1, objectMapper.readTree("{\"title\":null,\"completed\":true}"), null);
+
+        // Assert
+        assertThat(actual)
+                .usingRecursiveComparison()
+                .isEqualTo(new TodoItemView(1, null, true, 15, EMPTY_URL_STRING, 1L));
+
+        verify(repository).findByListIdAndId(eq(LIST_ID), anyInt());
+        verify(repository).updateAllFieldsByListIdAndIdAndVersion(LIST_ID, 1, 0L, null, true, 15);
+        verifyNoMoreInteractions(repository);
+    }
+
+    @Test
+    @DisplayName("Should Not be able to patch a todo whose version differs from the expected one")
+    void shouldNotBeAbleToPatchTodoAtStaleVersion() throws Exception {
+        // Arrange
+        when(repository.findByListIdAndId(eq(LIST_ID), anyInt())).thenReturn(Optional.of(new TodoItemDao(1, "dump todo", false, 15, 4L)));
+        final var patch = objectMapper.readTree("[{\"op\":\"replace\",\"path\":\"/completed\",\"value\":true}]");
+
+        // Act
+        // Assert
+        Assertions.assertThrows(TodoVersionConflictException.class, () -> service.patchOneFieldOfTodo(LIST_ID, 1, patch, 3L));
+
+        verify(repository).findByListIdAndId(eq(LIST_ID), anyInt());
+        verifyNoMoreInteractions(repository);
+    }
+
+    @Test
+    @DisplayName("Should move a todo between its new neighbours by writing only its own row")
+    void shouldMoveTodoBetweenNeighbours() {
+        // Arrange
+        final var gap = TodoOrderRebalancer.ORDER_GAP;
+        when(repository.findByListIdAndId(LIST_ID, 1)).thenReturn(Optional.of(new TodoItemDao(1, "dump todo", false, gap)));
+        when(repository.findByListIdAndId(LIST_ID, 2)).thenReturn(Optional.of(new TodoItemDao(2, "anchor todo", false, 2 * gap)));
+        when(repository.findFollowingByListIdInOrder(LIST_ID, 2 * gap, 2, 1, PageRequest.of(0, 1)))
+                .thenReturn(List.of(new TodoItemDao(3, "next todo", false, 3 * gap)));
+        when(repository.updateOrdersByListIdAndId(LIST_ID, 1, 5 * gap / 2)).thenReturn(1);
+
+        // Act
+        final var actual = service.moveTodo(LIST_ID, 1, new TodoMoveModel(null, 2), null);
+
+        // Assert
+        assertThat(actual)
+                .usingRecursiveComparison()
+                .isEqualTo(new TodoItemView(1, "dump todo", false, 5 * gap / 2, EMPTY_URL_STRING));
+
+        verify(repository).updateOrdersByListIdAndId(LIST_ID, 1, 5 * gap / 2);
+        verify(repository, never()).updateAllFieldsByListIdAndIdAndVersion(any(), anyInt(), anyLong(), any(), anyBoolean(), anyInt());
+        verify(changeLog).record(TodoChangeView.Type.UPDATED, LIST_ID, 1, actual);
+        verifyNoInteractions(orderRebalancer);
+    }
+
+    @Test
+    @DisplayName("Should rebalance the list first when no order is left between the neighbours")
+    void shouldRebalanceWhenNeighboursAreAdjacent() {
+        // Arrange
+        final var gap = TodoOrderRebalancer.ORDER_GAP;
+        when(repository.findByListIdAndId(LIST_ID, 3)).thenReturn(
+                Optional.of(new TodoItemDao(3, "dump todo", false, 3)),
+                Optional.of(new TodoItemDao(3, "dump todo", false, 3 * gap, 1L)));
+        when(repository.findByListIdAndId(LIST_ID, 2)).thenReturn(
+                Optional.of(new TodoItemDao(2, "anchor todo", false, 2)),
+                Optional.of(new TodoItemDao(2, "anchor todo", false, 2 * gap, 1L)));
+        when(repository.findPrecedingByListIdInOrder(eq(LIST_ID), anyInt(), eq(2), eq(3), any(Pageable.class))).thenReturn(
+                List.of(new TodoItemDao(1, "first todo", false, 1)),
+                List.of(new TodoItemDao(1, "first todo", false, gap, 1L)));
+        when(repository.updateAllFieldsByListIdAndIdAndVersion(LIST_ID, 3, 1L, "dump todo", false, 3 * gap / 2)).thenReturn(1);
+
+        // Act
+        final var actual = service.moveTodo(LIST_ID, 3, new TodoMoveModel(2, null), 0L);
+
+        // Assert
+        assertThat(actual.getOrder()).isEqualTo(3 * gap / 2);
+        assertThat(actual.getVersion()).isEqualTo(2L);
+
+        verify(orderRebalancer).rebalance(LIST_ID);
+        verify(repository).updateAllFieldsByListIdAndIdAndVersion(LIST_ID, 3, 1L, "dump todo", false, 3 * gap / 2);
+    }
+
+    @Test
+    @DisplayName("Should schedule a background rebalance when a move leaves the neighbours crowded")
+    void shouldRebalanceLaterWhenNeighboursAreCrowded() {
+        // Arrange
+        when(repository.findByListIdAndId(LIST_ID, 1)).thenReturn(Optional.of(new TodoItemDao(1, "dump todo", false, 100)));
+        when(repository.findByListIdAndId(LIST_ID, 2)).thenReturn(Optional.of(new TodoItemDao(2, "anchor todo", false, 10)));
+        when(repository.findPrecedingByListIdInOrder(LIST_ID, 10, 2, 1, PageRequest.of(0, 1)))
+                .thenReturn(List.of(new TodoItemDao(3, "previous todo", false, 4)));
+        when(repository.updateOrdersByListIdAndId(LIST_ID, 1, 7)).thenReturn(1);
+
+        // Act
+        final var actual = service.moveTodo(LIST_ID, 1, new TodoMoveModel(2, null), null);
+
+        // Assert
+        assertThat(actual.getOrder()).isEqualTo(7);
+
+        verify(orderRebalancer).rebalanceLater(LIST_ID);
+        verify(orderRebalancer, never()).rebalance(any());
+    }
+
+    @Test
+    @DisplayName("Should Not be able to move a todo without exactly one other todo to move next to")
+    void shouldNotBeAbleToMoveTodoWithoutOneAnchor() {
+        // Act
+        // Assert
+        Assertions.assertThrows(TodoInvalidQueryException.class, () -> service.moveTodo(LIST_ID, 1, new TodoMoveModel(null, null), null));
+        Assertions.assertThrows(TodoInvalidQueryException.class, () -> service.moveTodo(LIST_ID, 1, new TodoMoveModel(2, 3), null));
+        Assertions.assertThrows(TodoInvalidQueryException.class, () -> service.moveTodo(LIST_ID, 1, new TodoMoveModel(1, null), null));
+
+        verifyNoInteractions(repository);
+    }
+
     @Test
     @DisplayName("Should be able to delete one todo")
     void shouldBeAbleToRemoveTodo() {
         // Arrange
-        when(repository.findById(anyInt())).thenReturn(Optional.of(new TodoItemDao(1, "dump todo", false, 15)));
+        final var creationDate = LocalDateTime.now().minusDays(1);
+        when(repository.softDeleteTodoByListIdAndId(eq(LIST_ID), anyInt(), any(LocalDateTime.class)))
+                .thenReturn(Optional.of(new TodoItemDao(1, "dump todo", true, 15, 1L, creationDate)));
 
         // Act
-        service.removeTodo(1);
+        service.removeTodo(LIST_ID, 1, null);
+
+        // Assert
+        verify(repository).softDeleteTodoByListIdAndId(eq(LIST_ID), eq(1), any(LocalDateTime.class));
+        verifyNoMoreInteractions(repository);
+        verify(quotas).release(LIST_ID, 1);
+        verify(stats).removed(LIST_ID, true, creationDate);
+        verify(changeLog).record(TodoChangeView.Type.DELETED, LIST_ID, 1, null);
+    }
+
+    @Test
+    @DisplayName("Should Not be able to delete a todo that doesn't exist")
+    void shouldNotBeAbleToRemoveATodoThatNotExist() {
+        // Arrange
+        when(repository.softDeleteTodoByListIdAndId(eq(LIST_ID), anyInt(), any(LocalDateTime.class))).thenReturn(Optional.empty());
 
+        // Act
         // Assert
-        verify(repository).delete(any(TodoItemDao.class));
+        Assertions.assertThrows(TodoNotFoundException.class, () -> service.removeTodo(LIST_ID, 1, null));
+
+        verify(repository).softDeleteTodoByListIdAndId(eq(LIST_ID), eq(1), any(LocalDateTime.class));
         verifyNoMoreInteractions(repository);
+        verifyNoInteractions(changeLog);
     }
 
     @Test
@@ -143,10 +624,141 @@ public class TodolistServiceTest {
         // Arrange
 
         // Act
-        service.removeAllTodos();
+        service.removeAllTodos(LIST_ID);
 
         // Assert
-        verify(repository).deleteAll();
+        verify(repository).softDeleteTodosByListId(eq(LIST_ID), any(LocalDateTime.class));
+        verifyNoMoreInteractions(repository);
+        verify(quotas).reset(LIST_ID);
+        verify(stats).cleared(LIST_ID);
+        verify(changeLog).record(TodoChangeView.Type.CLEARED, LIST_ID, null, null);
+    }
+
+    @Test
+    @DisplayName("Should be able to create todos in batch and report each result")
+    void shouldBeAbleToAddTodosInBatch() {
+        // Arrange
+        when(quotas.reserveAvailable(LIST_ID, 2)).thenReturn(2);
+        when(repository.saveAll(anyList())).thenReturn(List.of(
+                new TodoItemDao(1, "dump todo 1", false, 11),
+                new TodoItemDao(2, "dump todo 2", false, 12)
+        ));
+
+        // Act
+        final var actual = service.addTodos(LIST_ID, List.of(
+                new TodoItemModel("dump todo 1", false, 11),
+                new TodoItemModel(null, false, 0),
+                new TodoItemModel("dump todo 2", false, 12)
+        ));
+
+        // Assert
+        assertThat(actual)
+                .usingRecursiveComparison()
+                .isEqualTo(List.of(
+                        new TodoBatchResultView(1, 201, null, new TodoItemView(1, "dump todo 1", false, 11, EMPTY_URL_STRING, 0L)),
+                        new TodoBatchResultView(null, 400, "Title cannot be null", null),
+                        new TodoBatchResultView(2, 201, null, new TodoItemView(2, "dump todo 2", false, 12, EMPTY_URL_STRING, 0L))
+                ));
+
+        verify(repository).saveAll(anyList());
+        verify(transactionManager).commit(any());
+        verifyNoMoreInteractions(repository);
+    }
+
+    @Test
+    @DisplayName("Should be able to update todos in batch and report the unknown ones")
+    void shouldBeAbleToUpdateTodosInBatch() {
+        // Arrange
+        when(repository.findByListIdAndIdIn(eq(LIST_ID), any())).thenReturn(List.of(new TodoItemDao(1, "dump todo", false, 15)));
+        when(repository.saveAll(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        final var actual = service.updateTodos(LIST_ID, List.of(
+                new TodoItemBatchUpdateModel(1, null, true, null),
+                new TodoItemBatchUpdateModel(2, "unknown", false, 3)
+        ));
+
+        // Assert
+        assertThat(actual)
+                .usingRecursiveComparison()
+                .isEqualTo(List.of(
+                        new TodoBatchResultView(1, 200, null, new TodoItemView(1, "dump todo", true, 15, EMPTY_URL_STRING, 0L)),
+                        new TodoBatchResultView(2, 404, "Sorry, Todo Not founded with id : 2", null)
+                ));
+
+        verify(repository).findByListIdAndIdIn(eq(LIST_ID), any());
+        verify(repository).saveAll(any());
+        verify(repository).flush();
         verifyNoMoreInteractions(repository);
+        verify(stats).updated(LIST_ID, false, true);
+    }
+
+    @Test
+    @DisplayName("Should report the todos of a batch update chunk that lost an optimistic lock race as conflicts")
+    void shouldReportConflictsWhenBatchUpdateLosesOptimisticLock() {
+        // Arrange
+        when(repository.findByListIdAndIdIn(eq(LIST_ID), any())).thenReturn(List.of(new TodoItemDao(1, "dump todo", false, 15)));
+        when(repository.saveAll(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        doThrow(new ObjectOptimisticLockingFailureException(TodoItemDao.class, 1)).when(repository).flush();
+
+        // Act
+        final var actual = service.updateTodos(LIST_ID, List.of(
+                new TodoItemBatchUpdateModel(1, "renamed", null, null),
+                new TodoItemBatchUpdateModel(2, "unknown", false, 3)
+        ));
+
+        // Assert
+        assertThat(actual)
+                .usingRecursiveComparison()
+                .isEqualTo(List.of(
+                        new TodoBatchResultView(1, 409, "Sorry, Todo was modified concurrently, id : 1", null),
+                        new TodoBatchResultView(2, 404, "Sorry, Todo Not founded with id : 2", null)
+                ));
+
+        verify(repository, times(2)).findByListIdAndIdIn(eq(LIST_ID), any());
+        verify(repository).saveAll(any());
+        verify(repository).flush();
+        verifyNoMoreInteractions(repository);
+        verify(transactionManager).rollback(any());
+        verifyNoInteractions(changeLog);
+    }
+
+    @Test
+    @DisplayName("Should be able to delete todos in batch and report the unknown ones")
+    void shouldBeAbleToRemoveTodosInBatch() {
+        // Arrange
+        when(repository.findByListIdAndIdIn(eq(LIST_ID), any())).thenReturn(List.of(new TodoItemDao(1, "dump todo", false, 15)));
+
+        // Act
+        final var actual = service.removeTodos(LIST_ID, List.of(1, 2));
+
+        // Assert
+        assertThat(actual)
+                .usingRecursiveComparison()
+                .isEqualTo(List.of(
+                        new TodoBatchResultView(1, 204, null, null),
+                        new TodoBatchResultView(2, 404, "Sorry, Todo Not founded with id : 2", null)
+                ));
+
+        verify(repository).findByListIdAndIdIn(eq(LIST_ID), any());
+        verify(repository).softDeleteTodosByListIdAndIdIn(eq(LIST_ID), eq(Set.of(1)), any(LocalDateTime.class));
+        verifyNoMoreInteractions(repository);
+        verify(stats).removed(eq(LIST_ID), eq(false), any(LocalDateTime.class));
+    }
+
+    @Test
+    @DisplayName("Should serve the statistics of a list from its incremental aggregates")
+    void shouldRetrieveStatsFromAggregates() {
+        // Arrange
+        final var expected = new TodoStatsView(3, 1, new TreeMap<>(Map.of(LocalDate.now(), 3L)));
+        when(stats.stats(LIST_ID, LocalDate.now().minusDays(6))).thenReturn(expected);
+
+        // Act
+        final var actual = service.retrieveStats(LIST_ID, 7);
+
+        // Assert
+        assertThat(actual).isSameAs(expected);
+        assertThat(actual.getPending()).isEqualTo(2);
+        verifyNoInteractions(repository);
     }
 }
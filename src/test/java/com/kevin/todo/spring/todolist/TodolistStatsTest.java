@@ -0,0 +1,111 @@
+package com.kevin.todo.spring.todolist;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kevin.todo.spring.todolist.model.TodoItemBatchUpdateModel;
+import com.kevin.todo.spring.todolist.model.TodoItemModel;
+import com.kevin.todo.spring.todolist.service.TodoListService;
+import com.kevin.todo.spring.todolist.service.TodoListStats;
+import com.kevin.todo.spring.todolist.view.TodoBatchResultView;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Stats Test")
+@SpringBootTest
+public class TodolistStatsTest {
+
+    private static final String LIST_ID = "stats-test";
+    private static final int DAYS = 7;
+
+    @Autowired
+    private TodoListService service;
+
+    @Autowired
+    private TodoListStats stats;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    @AfterEach
+    void clearTodos() {
+        service.removeAllTodos(LIST_ID);
+    }
+
+    @Test
+    @DisplayName("Should keep the statistics up to date on each write without recounting the list")
+    void shouldMaintainStatsIncrementally() throws Exception {
+        assertThat(service.retrieveStats(LIST_ID, DAYS).getTotal()).isZero();
+
+        final var ids = addTodos(4);
+        service.mergePatchOneFieldOfTodo(LIST_ID, ids.get(0), objectMapper.readTree("{\"completed\":true}"), null);
+        assertThat(service.updateTodos(LIST_ID, List.of(new TodoItemBatchUpdateModel(ids.get(1), null, true, null))))
+                .extracting(result -> result.getTodo().getVersion())
+                .containsExactly(1L);
+        service.removeTodos(LIST_ID, List.of(ids.get(1), ids.get(2)));
+
+        final var actual = service.retrieveStats(LIST_ID, DAYS);
+        assertThat(actual.getTotal()).isEqualTo(2);
+        assertThat(actual.getCompleted()).isEqualTo(1);
+        assertThat(actual.getPending()).isEqualTo(1);
+        assertThat(actual.getCreatedPerDay()).containsExactlyEntriesOf(Map.of(LocalDate.now(), 2L));
+        assertThat(stats.reconcile(LIST_ID)).isZero();
+    }
+
+    @Test
+    @DisplayName("Should apply exact deltas for writes by id without waiting for a recount")
+    void shouldApplyExactDeltasForWritesById() {
+        service.retrieveStats(LIST_ID, DAYS);
+        final var ids = addTodos(4);
+
+        assertThat(service.updateAllFieldsOfTodo(LIST_ID, ids.get(0), "done", true, 0, null).getVersion()).isEqualTo(1L);
+        assertThat(service.updateAllFieldsOfTodo(LIST_ID, ids.get(0), "done again", true, 0, null).getVersion()).isEqualTo(2L);
+        service.updateAllFieldsOfTodo(LIST_ID, ids.get(1), "done", true, 1, 0L);
+        service.removeTodo(LIST_ID, ids.get(1), null);
+        service.removeTodo(LIST_ID, ids.get(2), 0L);
+
+        final var actual = service.retrieveStats(LIST_ID, DAYS);
+        assertThat(actual.getTotal()).isEqualTo(2);
+        assertThat(actual.getCompleted()).isEqualTo(1);
+        assertThat(actual.getPending()).isEqualTo(1);
+        assertThat(actual.getCreatedPerDay()).containsExactlyEntriesOf(Map.of(LocalDate.now(), 2L));
+        assertThat(stats.reconcile(LIST_ID)).isZero();
+    }
+
+    @Test
+    @DisplayName("Should correct the drift left by writes that bypass the service")
+    void shouldCorrectDrift() {
+        service.retrieveStats(LIST_ID, DAYS);
+        addTodos(3);
+        jdbcTemplate.update("update TODOS set completed = true where list_id = ? and deleted_at is null", LIST_ID);
+
+        assertThat(service.retrieveStats(LIST_ID, DAYS).getCompleted()).isZero();
+        assertThat(stats.reconcile(LIST_ID)).isEqualTo(3);
+
+        final var actual = service.retrieveStats(LIST_ID, DAYS);
+        assertThat(actual.getTotal()).isEqualTo(3);
+        assertThat(actual.getCompleted()).isEqualTo(3);
+        assertThat(actual.getPending()).isZero();
+    }
+
+    private List<Integer> addTodos(int count) {
+        return service.addTodos(LIST_ID, IntStream.range(0, count).mapToObj(order -> new TodoItemModel("stats " + order, false, order)).toList())
+                .stream()
+                .map(TodoBatchResultView::getId)
+                .toList();
+    }
+}
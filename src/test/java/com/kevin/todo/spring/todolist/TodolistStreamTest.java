@@ -0,0 +1,46 @@
+package com.kevin.todo.spring.todolist;
+
+import com.kevin.todo.spring.todolist.model.TodoItemModel;
+import com.kevin.todo.spring.todolist.service.TodoListService;
+import com.kevin.todo.spring.todolist.view.TodoItemView;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Stream Test")
+@SpringBootTest
+public class TodolistStreamTest {
+
+    private static final String LIST_ID = "stream-test";
+
+    @Autowired
+    private TodoListService service;
+
+    @BeforeEach
+    @AfterEach
+    void clearTodos() {
+        service.removeAllTodos(LIST_ID);
+    }
+
+    @Test
+    @DisplayName("Should stream each todo with the version its ETag is built from")
+    void shouldStreamTodosWithTheirVersion() {
+        final var todo = service.addTodo(LIST_ID, new TodoItemModel("streamed", false, 1));
+        service.updateAllFieldsOfTodo(LIST_ID, todo.getId(), "streamed twice", true, 1, 0L);
+        service.updateAllFieldsOfTodo(LIST_ID, todo.getId(), "streamed thrice", true, 1, 1L);
+
+        final var streamed = new ArrayList<TodoItemView>();
+        service.streamAllTodos(LIST_ID, streamed::add);
+
+        assertThat(streamed).extracting(TodoItemView::getVersion)
+                .containsExactly(service.retrieveOneTodo(LIST_ID, todo.getId()).getVersion());
+        assertThat(streamed.get(0).getVersion()).isEqualTo(2L);
+    }
+}
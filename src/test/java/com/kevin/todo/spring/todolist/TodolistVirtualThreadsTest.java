@@ -0,0 +1,71 @@
+package com.kevin.todo.spring.todolist;
+
+import com.kevin.todo.spring.todolist.config.ConcurrencyLimitedDataSource;
+import com.kevin.todo.spring.todolist.model.TodoItemModel;
+import com.kevin.todo.spring.todolist.service.TodoListService;
+import org.h2.Driver;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.jdbc.datasource.SimpleDriverDataSource;
+
+import javax.sql.DataSource;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+import static com.kevin.todo.spring.todolist.model.TodoItemDao.DEFAULT_LIST_ID;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Virtual Threads Test")
+@SpringBootTest(properties = {"spring.threads.virtual.enabled=true", "todos.datasource.concurrency-limit=4"})
+public class TodolistVirtualThreadsTest {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private TaskExecutor taskExecutor;
+
+    @Autowired
+    private TodoListService service;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Test
+    @DisplayName("Should run tasks on virtual threads behind a bounded datasource")
+    void shouldRunOnVirtualThreadsBehindBoundedDataSource() throws Exception {
+        final var isVirtual = new CompletableFuture<Boolean>();
+        taskExecutor.execute(() -> isVirtual.complete(Thread.currentThread().isVirtual()));
+
+        assertThat(isVirtual.get()).isTrue();
+        assertThat(dataSource).isInstanceOf(ConcurrencyLimitedDataSource.class);
+
+        final var created = service.addTodo(DEFAULT_LIST_ID, new TodoItemModel("dump todo", false, 15));
+        assertThat(service.retrieveOneTodo(DEFAULT_LIST_ID, created.getId()).getTitle()).isEqualTo("dump todo");
+        assertThat(((ConcurrencyLimitedDataSource) dataSource).getAvailablePermits()).isEqualTo(4);
+        assertThat(((CaffeineCache) cacheManager.getCache("todos")).getAsyncCache().synchronous().asMap())
+                .containsKey(TodoListService.cacheKey(DEFAULT_LIST_ID, created.getId()));
+    }
+
+    @Test
+    @DisplayName("Should hand out at most the permitted connections and release them on close")
+    void shouldHandOutAtMostPermittedConnections() throws Exception {
+        final var limited = new ConcurrencyLimitedDataSource(
+                new SimpleDriverDataSource(new Driver(), "jdbc:h2:mem:limitedDB"), 1, Duration.ofMillis(50));
+
+        final var connection = limited.getConnection();
+        Assertions.assertThrows(SQLTransientConnectionException.class, limited::getConnection);
+
+        connection.close();
+        connection.close();
+        assertThat(limited.getAvailablePermits()).isEqualTo(1);
+        limited.getConnection().close();
+    }
+}
@@ -0,0 +1,169 @@
+package com.kevin.todo.spring.todolist;
+
+import com.kevin.todo.spring.todolist.model.TodoItemDao;
+import com.kevin.todo.spring.todolist.model.TodoItemModel;
+import com.kevin.todo.spring.todolist.repository.TodoRepository;
+import com.kevin.todo.spring.todolist.service.TodoListService;
+import com.kevin.todo.spring.todolist.service.TodoOrderRebalancer;
+import com.kevin.todo.spring.todolist.service.TodoWriteBehindLog;
+import com.kevin.todo.spring.todolist.view.TodoItemView;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static com.kevin.todo.spring.todolist.model.TodoItemDao.DEFAULT_LIST_ID;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Write-Behind Test")
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:todoWriteBehindDB;DB_CLOSE_DELAY=-1",
+        "todos.write-behind.enabled=true",
+        "todos.write-behind.flush-interval=1h"
+})
+public class TodolistWriteBehindTest {
+
+    private static final String SELECT_TITLE = "select title from TODOS where id = ?";
+    private static final String REBALANCED_LIST_ID = "write-behind-rebalanced";
+
+    @Autowired
+    private TodoListService service;
+
+    @Autowired
+    private TodoRepository repository;
+
+    @Autowired
+    private TodoWriteBehindLog writeBehindLog;
+
+    @Autowired
+    private TodoOrderRebalancer orderRebalancer;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    @DisplayName("Should acknowledge writes from the log and read them back before they are flushed")
+    void shouldReadOwnWritesBeforeFlush() {
+        final var created = service.addTodo(DEFAULT_LIST_ID, new TodoItemModel("write behind", false, 3));
+        assertThat(repository.existsById(created.getId())).isFalse();
+        assertThat(service.retrieveOneTodo(DEFAULT_LIST_ID, created.getId()).getTitle()).isEqualTo("write behind");
+
+        assertThat(service.updateAllFieldsOfTodo(DEFAULT_LIST_ID, created.getId(), "written behind", true, 4, null).getVersion()).isEqualTo(1L);
+        final var pending = service.retrieveOneTodo(DEFAULT_LIST_ID, created.getId());
+        assertThat(pending.isCompleted()).isTrue();
+        assertThat(pending.getVersion()).isEqualTo(1L);
+        assertThat(repository.existsById(created.getId())).isFalse();
+
+        writeBehindLog.drain();
+
+        final var flushed = repository.findById(created.getId()).orElseThrow();
+        assertThat(flushed.getTitle()).isEqualTo("written behind");
+        assertThat(flushed.isCompleted()).isTrue();
+        assertThat(flushed.getOrders()).isEqualTo(4);
+        assertThat(flushed.getVersion()).isEqualTo(1L);
+        assertThat(service.retrieveAllTodos(DEFAULT_LIST_ID)).anyMatch(todo -> todo.getId() == created.getId());
+    }
+
+    @Test
+    @DisplayName("Should replay unflushed mutations from the log on startup")
+    void shouldReplayUnflushedMutationsOnStartup(@TempDir Path logDirectory) throws Exception {
+        final var logFile = logDirectory.resolve("todos-write-behind.log");
+        final var crashedLog = openLog(logFile);
+        final var created = crashedLog.appendCreate(DEFAULT_LIST_ID, "replayed", 1);
+        crashedLog.appendUpdate(DEFAULT_LIST_ID, created, "replayed", true, 2);
+        assertThat(repository.existsById(created.getId())).isFalse();
+
+        openLog(logFile).close();
+
+        final var replayed = repository.findById(created.getId()).orElseThrow();
+        assertThat(replayed.isCompleted()).isTrue();
+        assertThat(replayed.getOrders()).isEqualTo(2);
+        assertThat(replayed.getVersion()).isEqualTo(1L);
+
+        final var restartedLog = openLog(logFile);
+        assertThat(restartedLog.pending(DEFAULT_LIST_ID, created.getId())).isNull();
+        assertThat(restartedLog.appendCreate(DEFAULT_LIST_ID, "after replay", 3).getId()).isGreaterThan(created.getId());
+        restartedLog.close();
+    }
+
+    @Test
+    @DisplayName("Should replay mutations already flushed before a crash without bumping the version twice")
+    void shouldReplayFlushedMutationsIdempotently(@TempDir Path logDirectory) throws Exception {
+        final var logFile = logDirectory.resolve("todos-write-behind.log");
+        final var todo = repository.save(new TodoItemDao(DEFAULT_LIST_ID, "replayed twice", 1));
+        final var crashedLog = openLog(logFile);
+        crashedLog.appendUpdate(DEFAULT_LIST_ID, viewOf(todo), "replayed twice", true, 2);
+        final var unflushedLog = Files.readAllBytes(logFile);
+        crashedLog.drain();
+        crashedLog.close();
+        assertThat(repository.findById(todo.getId()).orElseThrow().getVersion()).isEqualTo(1L);
+
+        Files.write(logFile, unflushedLog);
+        openLog(logFile).close();
+
+        final var replayed = repository.findById(todo.getId()).orElseThrow();
+        assertThat(replayed.isCompleted()).isTrue();
+        assertThat(replayed.getOrders()).isEqualTo(2);
+        assertThat(replayed.getVersion()).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("Should not flush buffered updates into deleted todos or other lists")
+    void shouldNotFlushUpdatesIntoDeletedTodosOrOtherLists(@TempDir Path logDirectory) throws Exception {
+        final var deleted = repository.save(new TodoItemDao(DEFAULT_LIST_ID, "deleted before flush", 1));
+        final var otherList = repository.save(new TodoItemDao(DEFAULT_LIST_ID, "kept in its list", 1));
+        final var log = openLog(logDirectory.resolve("todos-write-behind.log"));
+        log.appendUpdate(DEFAULT_LIST_ID, viewOf(deleted), "resurrected", true, 2);
+        log.appendUpdate("other-list", viewOf(otherList), "moved across lists", true, 2);
+        jdbcTemplate.update("update TODOS set deleted_at = current_timestamp where id = ?", deleted.getId());
+
+        log.drain();
+        log.close();
+
+        assertThat(jdbcTemplate.queryForObject(SELECT_TITLE, String.class, deleted.getId())).isEqualTo("deleted before flush");
+        assertThat(jdbcTemplate.queryForObject(SELECT_TITLE, String.class, otherList.getId())).isEqualTo("kept in its list");
+        assertThat(repository.findById(otherList.getId()).orElseThrow().getVersion()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should not lose a buffered update when a rebalance commits before the flush")
+    void shouldKeepBufferedUpdateAcrossRebalance() {
+        final var todo = repository.save(new TodoItemDao(REBALANCED_LIST_ID, "before rebalance", 7));
+        service.updateAllFieldsOfTodo(REBALANCED_LIST_ID, todo.getId(), "after rebalance", true, 5, null);
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> orderRebalancer.rebalance(REBALANCED_LIST_ID));
+        assertThat(repository.findById(todo.getId()).orElseThrow().getVersion()).isEqualTo(1L);
+        writeBehindLog.drain();
+
+        final var flushed = repository.findById(todo.getId()).orElseThrow();
+        assertThat(flushed.getTitle()).isEqualTo("after rebalance");
+        assertThat(flushed.isCompleted()).isTrue();
+        assertThat(flushed.getOrders()).isEqualTo(5);
+        assertThat(flushed.getVersion()).isEqualTo(2L);
+    }
+
+    private static TodoItemView viewOf(TodoItemDao todo) {
+        return new TodoItemView(todo.getId(), todo.getTitle(), todo.isCompleted(), todo.getOrders(), "", todo.getVersion());
+    }
+
+    private TodoWriteBehindLog openLog(Path logFile) throws Exception {
+        return new TodoWriteBehindLog(true, logFile, DataSize.ofKilobytes(64), Duration.ofHours(1),
+                jdbcTemplate, transactionManager, entityManagerFactory);
+    }
+}